@@ -0,0 +1,71 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (BenchmarkRunner.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * <p>Starts JMH with the usual command line options and always adds the GC profiler
+ * so that allocation rates are reported alongside the timings. </p>
+ *
+ * <pre>
+ *  cd benchmarks
+ *  mvn package
+ *  java -jar target/benchmarks.jar LoadBenchmark -p version=bundled,2016h
+ * </pre>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+public final class BenchmarkRunner {
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private BenchmarkRunner() {
+        // no instantiation
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Runs the benchmarks. </p>
+     *
+     * @param   args    JMH command line options
+     * @throws  Exception if JMH fails
+     */
+    public static void main(String... args) throws Exception {
+
+        Options options =
+            new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (BenchmarkSupport.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import java.io.File;
+
+
+/**
+ * <p>Configures the system properties evaluated by {@code TimezoneRepositoryProviderSPI}. </p>
+ *
+ * <p>The historical repository files are expected in the directory given by the system
+ * property &quot;benchmark.tzrepo.dir&quot; (default: {@code ../src/test/resources/tzrepo},
+ * relative to the benchmarks directory). </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class BenchmarkSupport {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    /**
+     * Denotes the repository bundled with the jar of time4j-tzdata.
+     */
+    static final String BUNDLED = "bundled";
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private BenchmarkSupport() {
+        // no instantiation
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Selects the repository version and discards all shared repositories. </p>
+     *
+     * @param   version     {@link #BUNDLED} or the version of a historical repository file like &quot;2016h&quot;
+     * @param   cache       cache mode like &quot;none&quot; or &quot;soft&quot;
+     * @throws  IllegalStateException if the directory of historical repository files cannot be found
+     */
+    static void configure(
+        String version,
+        String cache
+    ) {
+
+        if (BUNDLED.equals(version)) {
+            System.clearProperty("net.time4j.tz.repository.path");
+            System.clearProperty("net.time4j.tz.repository.version");
+        } else {
+            File dir = new File(System.getProperty("benchmark.tzrepo.dir", "../src/test/resources/tzrepo"));
+            if (!dir.isDirectory()) {
+                throw new IllegalStateException("Directory of tz-repositories not found: " + dir.getAbsolutePath());
+            }
+            System.setProperty("net.time4j.tz.repository.path", dir.getAbsolutePath());
+            System.setProperty("net.time4j.tz.repository.version", version);
+        }
+
+        System.setProperty("net.time4j.tz.repository.cache", cache);
+        RepositoryRegistry.clear();
+
+    }
+
+}
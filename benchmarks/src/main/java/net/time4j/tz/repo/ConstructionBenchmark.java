@@ -0,0 +1,86 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (ConstructionBenchmark.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * <p>Measures the construction of {@code TimezoneRepositoryProviderSPI}. </p>
+ *
+ * <p>The benchmark {@code parse} discards all shared repositories before every invocation
+ * and hence measures the full parsing of the repository file while {@code shared} measures
+ * the construction of a provider whose repository has already been parsed. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConstructionBenchmark {
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    @Param({BenchmarkSupport.BUNDLED, "2026b", "2020a", "2016h", "2015a", "2012c"})
+    public String version;
+
+    //~ Methoden ----------------------------------------------------------
+
+    @Setup
+    public void setUp() {
+
+        BenchmarkSupport.configure(this.version, "soft");
+
+    }
+
+    @Benchmark
+    public TimezoneRepositoryProviderSPI parse() {
+
+        RepositoryRegistry.clear();
+        return new TimezoneRepositoryProviderSPI();
+
+    }
+
+    @Benchmark
+    public TimezoneRepositoryProviderSPI shared() {
+
+        return new TimezoneRepositoryProviderSPI();
+
+    }
+
+}
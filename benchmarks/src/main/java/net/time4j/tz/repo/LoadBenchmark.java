@@ -0,0 +1,134 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (LoadBenchmark.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import net.time4j.base.GregorianDate;
+import net.time4j.tz.TransitionHistory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * <p>Measures the access to zone data, aliases and leap seconds. </p>
+ *
+ * <p>With the cache mode {@code none} every call of {@code load()} decodes the zone payload
+ * again while the mode {@code soft} measures the cached path. The selected zones represent
+ * a fixed offset zone ({@code Africa/Abidjan}) and rule-heavy zones ({@code Europe/London}
+ * and {@code Africa/Casablanca}). </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LoadBenchmark {
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    @Param({BenchmarkSupport.BUNDLED, "2026b", "2020a", "2016h", "2015a", "2012c"})
+    public String version;
+
+    @Param({"none", "soft"})
+    public String cache;
+
+    private TimezoneRepositoryProviderSPI provider;
+    private String[] zoneIDs;
+    private String[] aliases;
+
+    //~ Methoden ----------------------------------------------------------
+
+    @Setup
+    public void setUp() {
+
+        BenchmarkSupport.configure(this.version, this.cache);
+        this.provider = new TimezoneRepositoryProviderSPI();
+        this.zoneIDs = this.provider.getAvailableIDs().toArray(new String[0]);
+        this.aliases = this.provider.getAliases().keySet().toArray(new String[0]);
+
+    }
+
+    @Benchmark
+    public TransitionHistory loadFixedOffsetZone() {
+
+        return this.provider.load("Africa/Abidjan");
+
+    }
+
+    @Benchmark
+    public TransitionHistory loadLondon() {
+
+        return this.provider.load("Europe/London");
+
+    }
+
+    @Benchmark
+    public TransitionHistory loadCasablanca() {
+
+        return this.provider.load("Africa/Casablanca");
+
+    }
+
+    @Benchmark
+    public void loadAll(Blackhole bh) {
+
+        for (String zoneID : this.zoneIDs) {
+            bh.consume(this.provider.load(zoneID));
+        }
+
+    }
+
+    @Benchmark
+    public void resolveAliases(Blackhole bh) {
+
+        Map<String, String> map = this.provider.getAliases();
+
+        for (String alias : this.aliases) {
+            bh.consume(map.get(alias));
+        }
+
+    }
+
+    @Benchmark
+    public Map<GregorianDate, Integer> leapSecondTable() {
+
+        return this.provider.getLeapSecondTable();
+
+    }
+
+}
@@ -0,0 +1,777 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (AliasIndex.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * <p>Precomputed index for resolving timezone aliases and enumerating equivalent ids. </p>
+ *
+ * <p>All zone ids and aliases are stored in one array, together with the position of the
+ * canonical zone of every id and the aliases of every canonical zone in a compact reverse
+ * table. Lookups use an open-addressing hash table of int-positions and hence need constant
+ * time without any map or object allocation (except for the list view of aliases). Alias
+ * chains are fully resolved when the index is built. Aliases whose chain ends in an unknown
+ * zone or in a cycle are not included. </p>
+ *
+ * <p>Every id has a small integer handle (its position in the index, canonical zones first)
+ * which can be obtained from a {@code CharSequence}, from a range of UTF-8-bytes or from a
+ * {@code ByteBuffer} without creating a string, optionally ignoring the case of ASCII letters.
+ * Since all ids of the tz-database consist of ASCII characters only, bytes outside of the
+ * ASCII range never match. Handles are only valid for the same index instance. </p>
+ *
+ * <p>Instances are immutable and thread-safe. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ * @see     TimezoneRepositoryProviderSPI#getAliasIndex()
+ */
+/*[deutsch]
+ * <p>Vorberechneter Index zum Aufl&ouml;sen von Zeitzonen-Aliasnamen und zum Aufz&auml;hlen
+ * gleichwertiger Kennungen. </p>
+ *
+ * <p>Alle Zeitzonenkennungen und Aliasnamen werden in einem Array gespeichert, zusammen mit der
+ * Position der kanonischen Zeitzone jeder Kennung und den Aliasnamen jeder kanonischen Zeitzone
+ * in einer kompakten R&uuml;ckw&auml;rtstabelle. Abfragen nutzen eine Hash-Tabelle mit offener
+ * Adressierung &uuml;ber int-Positionen und brauchen deshalb konstante Zeit ohne {@code Map} oder
+ * Objekterzeugung (au&szlig;er f&uuml;r die Listenansicht der Aliasnamen). Alias-Ketten werden
+ * beim Bauen des Index vollst&auml;ndig aufgel&ouml;st. Aliasnamen, deren Kette in einer
+ * unbekannten Zeitzone oder in einem Zyklus endet, werden nicht aufgenommen. </p>
+ *
+ * <p>Jede Kennung hat eine kleine ganzzahlige Referenz (ihre Position im Index, kanonische
+ * Zeitzonen zuerst), die aus einer {@code CharSequence}, aus einem Bereich von UTF-8-Bytes oder
+ * aus einem {@code ByteBuffer} ohne Erzeugung eines {@code String} ermittelt werden kann, optional
+ * ohne Beachtung der Gro&szlig;-/Kleinschreibung von ASCII-Buchstaben. Weil alle Kennungen der
+ * tz-Datenbank nur aus ASCII-Zeichen bestehen, passen Bytes au&szlig;erhalb des ASCII-Bereichs nie.
+ * Die Referenzen gelten nur f&uuml;r dieselbe Index-Instanz. </p>
+ *
+ * <p>Instanzen sind unver&auml;nderlich und thread-sicher. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ * @see     TimezoneRepositoryProviderSPI#getAliasIndex()
+ */
+public final class AliasIndex {
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final String[] ids; // canonical zones first, then aliases
+    private final int zoneCount;
+    private final int[] canonical; // position of canonical zone for every id
+    private final int[] aliasStart; // per zone: start position in aliasPositions (plus end marker)
+    private final int[] aliasPositions; // positions of aliases grouped by zone
+    private final int[] slots; // hash table with position + 1 (0 = empty)
+    private final int[] foldedSlots; // same for case-insensitive hashes
+    private final int[] sorted; // all positions in lexicographical order of ids
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private AliasIndex(
+        String[] ids,
+        int zoneCount,
+        int[] canonical
+    ) {
+        super();
+
+        int n = ids.length;
+
+        this.ids = ids;
+        this.zoneCount = zoneCount;
+        this.canonical = canonical;
+        this.aliasStart = new int[zoneCount + 1];
+        this.aliasPositions = new int[n - zoneCount];
+
+        for (int i = zoneCount; i < n; i++) {
+            this.aliasStart[canonical[i] + 1]++;
+        }
+
+        for (int z = 0; z < zoneCount; z++) {
+            this.aliasStart[z + 1] += this.aliasStart[z];
+        }
+
+        int[] fill = new int[zoneCount];
+
+        for (int i = zoneCount; i < n; i++) { // aliases are sorted so every group is sorted, too
+            int z = canonical[i];
+            this.aliasPositions[this.aliasStart[z] + fill[z]++] = i;
+        }
+
+        this.slots = new int[Integer.highestOneBit(Math.max(1, n) * 2) << 1];
+        this.foldedSlots = new int[this.slots.length];
+        int mask = this.slots.length - 1;
+
+        for (int i = 0; i < n; i++) {
+            insert(this.slots, mix(ids[i].hashCode()) & mask, i);
+            insert(this.foldedSlots, mix(hash(ids[i], 0, ids[i].length(), true)) & mask, i);
+        }
+
+        Integer[] order = new Integer[n];
+
+        for (int i = 0; i < n; i++) {
+            order[i] = Integer.valueOf(i);
+        }
+
+        Arrays.sort(order, (a, b) -> ids[a.intValue()].compareTo(ids[b.intValue()]));
+        this.sorted = new int[n];
+
+        for (int k = 0; k < n; k++) {
+            this.sorted[k] = order[k].intValue();
+        }
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Builds the index from given zone ids and alias table. </p>
+     *
+     * @param   zoneIDs     canonical zone ids
+     * @param   aliases     map from alias to target (zone id or another alias)
+     * @return  new index
+     */
+    static AliasIndex of(
+        Set<String> zoneIDs,
+        Map<String, String> aliases
+    ) {
+
+        List<String> zones = new ArrayList<>(zoneIDs);
+        Collections.sort(zones);
+        List<String> links = new ArrayList<>();
+        List<String> targets = new ArrayList<>();
+
+        for (String alias : aliases.keySet()) {
+            if (zoneIDs.contains(alias)) {
+                continue; // zones always take precedence
+            }
+
+            String target = aliases.get(alias);
+
+            for (int hops = 0; (target != null) && !zoneIDs.contains(target); hops++) {
+                target = ((hops < aliases.size()) ? aliases.get(target) : null); // null if cycle
+            }
+
+            if (target != null) {
+                links.add(alias);
+            }
+        }
+
+        Collections.sort(links);
+
+        for (String alias : links) {
+            String target = aliases.get(alias);
+            while (!zoneIDs.contains(target)) {
+                target = aliases.get(target);
+            }
+            targets.add(target);
+        }
+
+        int zoneCount = zones.size();
+        String[] ids = new String[zoneCount + links.size()];
+        int[] canonical = new int[ids.length];
+
+        for (int z = 0; z < zoneCount; z++) {
+            ids[z] = zones.get(z);
+            canonical[z] = z;
+        }
+
+        for (int k = 0; k < links.size(); k++) {
+            ids[zoneCount + k] = links.get(k);
+            canonical[zoneCount + k] = Collections.binarySearch(zones, targets.get(k));
+        }
+
+        return new AliasIndex(ids, zoneCount, canonical);
+
+    }
+
+    /**
+     * <p>Resolves given id to its canonical zone id. </p>
+     *
+     * @param   id      zone id or alias
+     * @return  canonical zone id (the argument itself if it is already canonical)
+     *          or {@code null} if the id is unknown
+     */
+    /*[deutsch]
+     * <p>L&ouml;st die angegebene Kennung zu ihrer kanonischen Zeitzonenkennung auf. </p>
+     *
+     * @param   id      zone id or alias
+     * @return  canonical zone id (the argument itself if it is already canonical)
+     *          or {@code null} if the id is unknown
+     */
+    public String resolve(String id) {
+
+        int pos = this.positionOf(id);
+        return ((pos < 0) ? null : this.ids[this.canonical[pos]]);
+
+    }
+
+    /**
+     * <p>Determines if given id is an alias of another zone. </p>
+     *
+     * @param   id      zone id or alias
+     * @return  {@code true} if given id is a known alias else {@code false}
+     */
+    /*[deutsch]
+     * <p>Ermittelt, ob die angegebene Kennung ein Aliasname einer anderen Zeitzone ist. </p>
+     *
+     * @param   id      zone id or alias
+     * @return  {@code true} if given id is a known alias else {@code false}
+     */
+    public boolean isAlias(String id) {
+
+        return (this.positionOf(id) >= this.zoneCount);
+
+    }
+
+    /**
+     * <p>Yields all aliases which resolve to the same canonical zone as given id. </p>
+     *
+     * @param   id      zone id or alias
+     * @return  unmodifiable sorted list of aliases (empty if there are none or if the id is unknown)
+     */
+    /*[deutsch]
+     * <p>Liefert alle Aliasnamen, die zur selben kanonischen Zeitzone wie die angegebene
+     * Kennung aufgel&ouml;st werden. </p>
+     *
+     * @param   id      zone id or alias
+     * @return  unmodifiable sorted list of aliases (empty if there are none or if the id is unknown)
+     */
+    public List<String> getAliases(String id) {
+
+        int pos = this.positionOf(id);
+
+        if (pos < 0) {
+            return Collections.emptyList();
+        }
+
+        int zone = this.canonical[pos];
+        int start = this.aliasStart[zone];
+        int end = this.aliasStart[zone + 1];
+
+        if (start == end) {
+            return Collections.emptyList();
+        }
+
+        return new AliasList(start, end);
+
+    }
+
+    /**
+     * <p>Finds the handle of given id. </p>
+     *
+     * @param   text    zone id or alias
+     * @return  handle or {@code -1} if not found
+     * @see     #getID(int)
+     */
+    /*[deutsch]
+     * <p>Findet die Referenz der angegebenen Kennung. </p>
+     *
+     * @param   text    zone id or alias
+     * @return  handle or {@code -1} if not found
+     * @see     #getID(int)
+     */
+    public int lookup(CharSequence text) {
+
+        return this.find(text, 0, text.length(), false);
+
+    }
+
+    /**
+     * <p>Finds the handle of the id given as section of a character sequence. </p>
+     *
+     * @param   text        character sequence containing a zone id or alias
+     * @param   start       start index (inclusive)
+     * @param   end         end index (exclusive)
+     * @param   ignoreCase  shall the case of ASCII letters be ignored?
+     * @return  handle or {@code -1} if not found
+     * @throws  IndexOutOfBoundsException if the section is not within the sequence
+     */
+    /*[deutsch]
+     * <p>Findet die Referenz der als Abschnitt einer Zeichenfolge angegebenen Kennung. </p>
+     *
+     * @param   text        character sequence containing a zone id or alias
+     * @param   start       start index (inclusive)
+     * @param   end         end index (exclusive)
+     * @param   ignoreCase  shall the case of ASCII letters be ignored?
+     * @return  handle or {@code -1} if not found
+     * @throws  IndexOutOfBoundsException if the section is not within the sequence
+     */
+    public int lookup(
+        CharSequence text,
+        int start,
+        int end,
+        boolean ignoreCase
+    ) {
+
+        checkRange(start, end, text.length());
+        return this.find(text, start, end, ignoreCase);
+
+    }
+
+    /**
+     * <p>Finds the handle of the id given as UTF-8-encoded bytes. </p>
+     *
+     * @param   utf8        byte array containing a zone id or alias
+     * @param   offset      start index
+     * @param   length      count of bytes
+     * @param   ignoreCase  shall the case of ASCII letters be ignored?
+     * @return  handle or {@code -1} if not found
+     * @throws  IndexOutOfBoundsException if the range is not within the array
+     */
+    /*[deutsch]
+     * <p>Findet die Referenz der als UTF-8-Bytes angegebenen Kennung. </p>
+     *
+     * @param   utf8        byte array containing a zone id or alias
+     * @param   offset      start index
+     * @param   length      count of bytes
+     * @param   ignoreCase  shall the case of ASCII letters be ignored?
+     * @return  handle or {@code -1} if not found
+     * @throws  IndexOutOfBoundsException if the range is not within the array
+     */
+    public int lookup(
+        byte[] utf8,
+        int offset,
+        int length,
+        boolean ignoreCase
+    ) {
+
+        checkRange(offset, offset + length, utf8.length);
+        return this.find(utf8, offset, offset + length, ignoreCase);
+
+    }
+
+    /**
+     * <p>Finds the handle of the id given as remaining UTF-8-encoded bytes of a buffer. </p>
+     *
+     * <p>The position of the buffer will not be changed. </p>
+     *
+     * @param   utf8        buffer whose remaining bytes contain a zone id or alias
+     * @param   ignoreCase  shall the case of ASCII letters be ignored?
+     * @return  handle or {@code -1} if not found
+     */
+    /*[deutsch]
+     * <p>Findet die Referenz der als verbleibende UTF-8-Bytes eines Puffers angegebenen Kennung. </p>
+     *
+     * <p>Die Position des Puffers wird nicht ver&auml;ndert. </p>
+     *
+     * @param   utf8        buffer whose remaining bytes contain a zone id or alias
+     * @param   ignoreCase  shall the case of ASCII letters be ignored?
+     * @return  handle or {@code -1} if not found
+     */
+    public int lookup(
+        ByteBuffer utf8,
+        boolean ignoreCase
+    ) {
+
+        return this.find(utf8, utf8.position(), utf8.limit(), ignoreCase);
+
+    }
+
+    /**
+     * <p>Yields the id belonging to given handle. </p>
+     *
+     * @param   handle  handle obtained by one of the {@code lookup}-methods
+     * @return  zone id or alias (exactly as stored in the repository)
+     * @throws  IndexOutOfBoundsException if the handle is invalid
+     */
+    /*[deutsch]
+     * <p>Liefert die zur angegebenen Referenz geh&ouml;rige Kennung. </p>
+     *
+     * @param   handle  handle obtained by one of the {@code lookup}-methods
+     * @return  zone id or alias (exactly as stored in the repository)
+     * @throws  IndexOutOfBoundsException if the handle is invalid
+     */
+    public String getID(int handle) {
+
+        return this.ids[handle];
+
+    }
+
+    /**
+     * <p>Yields the handle of the canonical zone of given handle. </p>
+     *
+     * <p>Handles of canonical zones are always smaller than {@link #getZoneCount()}. </p>
+     *
+     * @param   handle  handle obtained by one of the {@code lookup}-methods
+     * @return  handle of canonical zone (the argument itself if it already denotes a canonical zone)
+     * @throws  IndexOutOfBoundsException if the handle is invalid
+     */
+    /*[deutsch]
+     * <p>Liefert die Referenz der kanonischen Zeitzone der angegebenen Referenz. </p>
+     *
+     * <p>Referenzen kanonischer Zeitzonen sind immer kleiner als {@link #getZoneCount()}. </p>
+     *
+     * @param   handle  handle obtained by one of the {@code lookup}-methods
+     * @return  handle of canonical zone (the argument itself if it already denotes a canonical zone)
+     * @throws  IndexOutOfBoundsException if the handle is invalid
+     */
+    public int getCanonicalHandle(int handle) {
+
+        return this.canonical[handle];
+
+    }
+
+    /**
+     * <p>Yields all zone ids and aliases starting with given prefix. </p>
+     *
+     * @param   prefix  case-sensitive prefix like &quot;America/&quot;
+     * @return  unmodifiable list view in lexicographical order
+     */
+    /*[deutsch]
+     * <p>Liefert alle Zeitzonenkennungen und Aliasnamen, die mit dem angegebenen Pr&auml;fix
+     * beginnen. </p>
+     *
+     * @param   prefix  case-sensitive prefix like &quot;America/&quot;
+     * @return  unmodifiable list view in lexicographical order
+     */
+    public List<String> getIDsWithPrefix(CharSequence prefix) {
+
+        int low = 0;
+        int high = this.sorted.length;
+
+        while (low < high) { // lower bound
+            int middle = (low + high) >>> 1;
+            if (compare(this.ids[this.sorted[middle]], prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        int from = low;
+        high = this.sorted.length;
+
+        while (low < high) { // end of prefix range
+            int middle = (low + high) >>> 1;
+            if (compare(this.ids[this.sorted[middle]], prefix) == 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return new SortedList(from, low);
+
+    }
+
+    /**
+     * <p>Yields the count of canonical zones. </p>
+     *
+     * @return  int
+     */
+    /*[deutsch]
+     * <p>Liefert die Anzahl der kanonischen Zeitzonen. </p>
+     *
+     * @return  int
+     */
+    public int getZoneCount() {
+
+        return this.zoneCount;
+
+    }
+
+    /**
+     * <p>Yields the count of resolvable aliases. </p>
+     *
+     * @return  int
+     */
+    /*[deutsch]
+     * <p>Liefert die Anzahl der aufl&ouml;sbaren Aliasnamen. </p>
+     *
+     * @return  int
+     */
+    public int getAliasCount() {
+
+        return this.ids.length - this.zoneCount;
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "AliasIndex[zones=" + this.zoneCount + ", aliases=" + this.getAliasCount() + "]";
+
+    }
+
+    private int positionOf(String id) {
+
+        if (id == null) {
+            return -1;
+        }
+
+        int mask = this.slots.length - 1;
+        int slot = mix(id.hashCode()) & mask;
+        int entry;
+
+        while ((entry = this.slots[slot]) != 0) {
+            if (this.ids[entry - 1].equals(id)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+
+    }
+
+    // source is either a CharSequence, a byte array or a ByteBuffer
+    private int find(
+        Object source,
+        int start,
+        int end,
+        boolean ignoreCase
+    ) {
+
+        int[] table = (ignoreCase ? this.foldedSlots : this.slots);
+        int mask = table.length - 1;
+        int slot = mix(hash(source, start, end, ignoreCase)) & mask;
+        int entry;
+
+        while ((entry = table[slot]) != 0) {
+            if (matches(this.ids[entry - 1], source, start, end, ignoreCase)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+
+    }
+
+    private static void insert(
+        int[] table,
+        int slot,
+        int position
+    ) {
+
+        int mask = table.length - 1;
+
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        table[slot] = position + 1;
+
+    }
+
+    // same as String.hashCode() if the case is not ignored
+    private static int hash(
+        Object source,
+        int start,
+        int end,
+        boolean ignoreCase
+    ) {
+
+        int h = 0;
+
+        for (int i = start; i < end; i++) {
+            int c = charAt(source, i);
+            h = 31 * h + (ignoreCase ? fold(c) : c);
+        }
+
+        return h;
+
+    }
+
+    private static boolean matches(
+        String id,
+        Object source,
+        int start,
+        int end,
+        boolean ignoreCase
+    ) {
+
+        if (id.length() != end - start) {
+            return false;
+        }
+
+        for (int i = start; i < end; i++) {
+            int c = charAt(source, i);
+            int expected = id.charAt(i - start);
+            if (ignoreCase ? (fold(c) != fold(expected)) : (c != expected)) {
+                return false;
+            }
+        }
+
+        return true;
+
+    }
+
+    // bytes outside of ASCII are mapped to -1 which never matches
+    private static int charAt(
+        Object source,
+        int index
+    ) {
+
+        if (source instanceof byte[]) {
+            byte b = ((byte[]) source)[index];
+            return ((b < 0) ? -1 : b);
+        } else if (source instanceof ByteBuffer) {
+            byte b = ((ByteBuffer) source).get(index);
+            return ((b < 0) ? -1 : b);
+        } else {
+            return ((CharSequence) source).charAt(index);
+        }
+
+    }
+
+    private static int fold(int c) {
+
+        return (((c >= 'A') && (c <= 'Z')) ? c + ('a' - 'A') : c);
+
+    }
+
+    // compares only the first characters of id up to the length of prefix
+    private static int compare(
+        String id,
+        CharSequence prefix
+    ) {
+
+        int n = Math.min(id.length(), prefix.length());
+
+        for (int i = 0; i < n; i++) {
+            int diff = id.charAt(i) - prefix.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+
+        return ((id.length() < prefix.length()) ? -1 : 0);
+
+    }
+
+    private static void checkRange(
+        int start,
+        int end,
+        int length
+    ) {
+
+        if ((start < 0) || (end < start) || (end > length)) {
+            throw new IndexOutOfBoundsException("Invalid range: [" + start + ", " + end + ") of " + length);
+        }
+
+    }
+
+    // spreads the bits of string hashes which often differ only in the last characters
+    private static int mix(int h) {
+
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+
+    }
+
+    //~ Innere Klassen ----------------------------------------------------
+
+    private class AliasList
+        extends AbstractList<String> {
+
+        //~ Instanzvariablen ----------------------------------------------
+
+        private final int start;
+        private final int end;
+
+        //~ Konstruktoren -------------------------------------------------
+
+        AliasList(
+            int start,
+            int end
+        ) {
+            super();
+
+            this.start = start;
+            this.end = end;
+
+        }
+
+        //~ Methoden ------------------------------------------------------
+
+        @Override
+        public String get(int index) {
+
+            if ((index < 0) || (index >= this.end - this.start)) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+
+            return AliasIndex.this.ids[AliasIndex.this.aliasPositions[this.start + index]];
+
+        }
+
+        @Override
+        public int size() {
+
+            return this.end - this.start;
+
+        }
+
+    }
+
+    private class SortedList
+        extends AbstractList<String> {
+
+        //~ Instanzvariablen ----------------------------------------------
+
+        private final int from;
+        private final int to;
+
+        //~ Konstruktoren -------------------------------------------------
+
+        SortedList(
+            int from,
+            int to
+        ) {
+            super();
+
+            this.from = from;
+            this.to = to;
+
+        }
+
+        //~ Methoden ------------------------------------------------------
+
+        @Override
+        public String get(int index) {
+
+            if ((index < 0) || (index >= this.to - this.from)) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+
+            return AliasIndex.this.ids[AliasIndex.this.sorted[this.from + index]];
+
+        }
+
+        @Override
+        public int size() {
+
+            return this.to - this.from;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (ArenaPayloadStore.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * <p>Keeps all zone payloads in one contiguous buffer. </p>
+ *
+ * <p>Instead of one byte array and one map node per zone, this store only needs a sorted
+ * array of zone identifiers, two int arrays for offsets and lengths and the buffer itself
+ * which might also live outside of the heap. Lookups are done by binary search. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class ArenaPayloadStore
+    implements PayloadStore {
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final String[] ids;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final ByteBuffer arena;
+    private final Set<String> zoneIDs;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    /**
+     * <p>Creates a new store. </p>
+     *
+     * @param   zones       zone ids in file order
+     * @param   payloads    concatenated payloads in file order
+     * @param   size        count of valid bytes in payloads
+     * @param   starts      start offsets of all payloads in file order
+     * @param   direct      shall the arena be allocated outside of the heap?
+     */
+    ArenaPayloadStore(
+        List<String> zones,
+        byte[] payloads,
+        int size,
+        int[] starts,
+        boolean direct
+    ) {
+        super();
+
+        int n = zones.size();
+        Integer[] order = new Integer[n];
+
+        for (int i = 0; i < n; i++) {
+            order[i] = Integer.valueOf(i);
+        }
+
+        Arrays.sort(order, (i, j) -> zones.get(i.intValue()).compareTo(zones.get(j.intValue())));
+
+        this.ids = new String[n];
+        this.offsets = new int[n];
+        this.lengths = new int[n];
+
+        for (int k = 0; k < n; k++) {
+            int i = order[k].intValue();
+            this.ids[k] = zones.get(i);
+            this.offsets[k] = starts[i];
+            this.lengths[k] = ((i + 1 < n) ? starts[i + 1] : size) - starts[i];
+        }
+
+        if (direct) {
+            this.arena = ByteBuffer.allocateDirect(size);
+            this.arena.put(payloads, 0, size);
+            this.arena.clear();
+        } else {
+            this.arena = ByteBuffer.wrap(Arrays.copyOf(payloads, size));
+        }
+
+        this.zoneIDs = new ZoneSet();
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    @Override
+    public Set<String> getZoneIDs() {
+
+        return this.zoneIDs;
+
+    }
+
+    @Override
+    public byte[] get(String zoneID) {
+
+        int k = this.indexOf(zoneID);
+
+        if (k < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[this.lengths[k]];
+        ByteBuffer view = this.arena.duplicate(); // the shared buffer position must not be touched
+        view.position(this.offsets[k]);
+        view.get(bytes);
+        return bytes;
+
+    }
+
+    private int indexOf(Object zoneID) {
+
+        return ((zoneID instanceof String) ? Arrays.binarySearch(this.ids, zoneID) : -1);
+
+    }
+
+    //~ Innere Klassen ----------------------------------------------------
+
+    private class ZoneSet
+        extends AbstractSet<String> {
+
+        //~ Methoden ------------------------------------------------------
+
+        @Override
+        public boolean contains(Object o) {
+
+            return (ArenaPayloadStore.this.indexOf(o) >= 0);
+
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+
+            return Arrays.asList(ArenaPayloadStore.this.ids).iterator();
+
+        }
+
+        @Override
+        public int size() {
+
+            return ArenaPayloadStore.this.ids.length;
+
+        }
+
+    }
+
+}
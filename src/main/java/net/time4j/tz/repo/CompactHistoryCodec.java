@@ -0,0 +1,497 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (CompactHistoryCodec.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import net.time4j.Month;
+import net.time4j.PlainTime;
+import net.time4j.Weekday;
+import net.time4j.tz.TransitionHistory;
+import net.time4j.tz.ZonalOffset;
+import net.time4j.tz.ZonalTransition;
+import net.time4j.tz.model.DaylightSavingRule;
+import net.time4j.tz.model.GregorianTimezoneRule;
+import net.time4j.tz.model.OffsetIndicator;
+import net.time4j.tz.model.TransitionModel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * <p>Serialization-free binary codec for zone payloads of repository format v3. </p>
+ *
+ * <p>Every payload starts with a kind byte followed by primitive records: </p>
+ *
+ * <ul>
+ *     <li>{@code FIXED}: total offset</li>
+ *     <li>{@code ARRAY}: transition table</li>
+ *     <li>{@code RULES}: initial offset, rule table</li>
+ *     <li>{@code COMPOSITE}: transition table, rule table</li>
+ *     <li>{@code SERIALIZED}: embedded Java-serialized history as fallback</li>
+ * </ul>
+ *
+ * <p>A transition table consists of the count of transitions, the initial offset and
+ * then for each transition the distance in seconds to the previous transition, the change
+ * of the total offset and the new daylight saving offset. A rule table consists of the count
+ * of rules and for each rule the pattern type, month, day-of-month, day-of-week, the
+ * after-flag, the time of day in seconds (including any day overflow), the offset indicator
+ * and the savings. </p>
+ *
+ * <p>All amounts of seconds are written as variable-length integers in zig-zag-encoding.
+ * If an amount is a multiple of a quarter of an hour (almost always) then it is stored in
+ * quarter hours which needs only one up to three bytes in most cases. </p>
+ *
+ * <p>Decoding only uses the public factory methods of {@code TransitionModel} and
+ * {@code GregorianTimezoneRule}. Encoding needs to inspect the internal state of
+ * the models because Time4J does not publish the rules of a history. It is therefore
+ * only done by the tools {@link RepositoryConverter} and {@link RepositoryWriter} and
+ * never at runtime. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class CompactHistoryCodec {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    private static final int KIND_SERIALIZED = 0;
+    private static final int KIND_FIXED = 1;
+    private static final int KIND_ARRAY = 2;
+    private static final int KIND_RULES = 3;
+    private static final int KIND_COMPOSITE = 4;
+
+    private static final int FIXED_DAY_PATTERN = 1;
+    private static final int DAY_OF_WEEK_IN_MONTH_PATTERN = 2;
+    private static final int LAST_WEEKDAY_PATTERN = 3;
+
+    private static final OffsetIndicator[] INDICATORS = OffsetIndicator.values();
+    private static final int QUARTER_HOUR = 900;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private CompactHistoryCodec() {
+        // no instantiation
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Decodes given compact payload. </p>
+     *
+     * @param   payload     compact zone payload
+     * @return  transition history
+     * @throws  IOException if the payload is not valid
+     */
+    static TransitionHistory decode(byte[] payload) throws IOException {
+
+        Input in = new Input(payload);
+        int kind = in.readByte();
+
+        try {
+            switch (kind) {
+                case KIND_FIXED:
+                    ZonalOffset fixed = ZonalOffset.ofTotalSeconds((int) in.readSeconds());
+                    return TransitionModel.of(fixed, Collections.emptyList());
+                case KIND_ARRAY:
+                    return TransitionModel.of(readTransitions(in));
+                case KIND_RULES:
+                    ZonalOffset initial = ZonalOffset.ofTotalSeconds((int) in.readSeconds());
+                    return TransitionModel.of(initial, readRules(in));
+                case KIND_COMPOSITE:
+                    List<ZonalTransition> transitions = readTransitions(in);
+                    ZonalOffset offset = ZonalOffset.ofTotalSeconds(transitions.get(0).getPreviousOffset());
+                    return TransitionModel.of(offset, transitions, readRules(in));
+                case KIND_SERIALIZED:
+                    ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1));
+                    return (TransitionHistory) ois.readObject();
+                default:
+                    throw new IOException("Unknown kind of compact zone payload: " + kind);
+            }
+        } catch (ClassNotFoundException | RuntimeException ex) {
+            throw new IOException("Invalid compact zone payload.", ex);
+        }
+
+    }
+
+    /**
+     * <p>Encodes given history in compact form. </p>
+     *
+     * <p>If the history cannot be reconstructed exactly from the compact form then the
+     * original serialized form will be embedded instead. </p>
+     *
+     * @param   history     transition history to be encoded
+     * @param   serialized  Java-serialized form of the history (fallback)
+     * @return  compact zone payload
+     * @throws  IOException in case of any I/O-errors
+     */
+    static byte[] encode(
+        TransitionHistory history,
+        byte[] serialized
+    ) throws IOException {
+
+        byte[] compact = null;
+
+        try {
+            compact = encodeModel(history);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            // unknown model or internal state not accessible => use the fallback
+        }
+
+        if ((compact != null) && history.equals(decode(compact))) {
+            return compact;
+        }
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(serialized.length + 1);
+        baos.write(KIND_SERIALIZED);
+        baos.write(serialized);
+        return baos.toByteArray();
+
+    }
+
+    /**
+     * <p>Determines if given compact payload only embeds the serialized form. </p>
+     *
+     * @param   payload     compact zone payload
+     * @return  {@code true} if the encoder had to use the serialization fallback else {@code false}
+     */
+    static boolean isFallback(byte[] payload) {
+
+        return ((payload.length > 0) && (payload[0] == KIND_SERIALIZED));
+
+    }
+
+    private static byte[] encodeModel(TransitionHistory history)
+        throws IOException, ReflectiveOperationException {
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(baos);
+        String type = history.getClass().getName();
+
+        switch (type) {
+            case "net.time4j.tz.model.EmptyTransitionModel":
+                if (history.getInitialOffset().getFractionalAmount() != 0) {
+                    return null;
+                }
+                dos.writeByte(KIND_FIXED);
+                writeSeconds(history.getInitialOffset().getIntegralAmount(), dos);
+                break;
+            case "net.time4j.tz.model.ArrayTransitionModel":
+                dos.writeByte(KIND_ARRAY);
+                writeTransitions(getTransitions(history, -1), dos);
+                break;
+            case "net.time4j.tz.model.RuleBasedTransitionModel":
+                dos.writeByte(KIND_RULES);
+                writeSeconds(history.getInitialOffset().getIntegralAmount(), dos);
+                writeRules(getRules(history), dos);
+                break;
+            case "net.time4j.tz.model.CompositeTransitionModel":
+                dos.writeByte(KIND_COMPOSITE);
+                Object arrayModel = getField(history, "arrayModel");
+                int size = ((Integer) getField(history, "size")).intValue();
+                writeTransitions(getTransitions(arrayModel, size), dos);
+                writeRules(getRules(history), dos);
+                break;
+            default:
+                return null;
+        }
+
+        dos.flush();
+        return baos.toByteArray();
+
+    }
+
+    private static void writeTransitions(
+        List<ZonalTransition> transitions,
+        DataOutputStream dos
+    ) throws IOException {
+
+        int previous = (transitions.isEmpty() ? 0 : transitions.get(0).getPreviousOffset());
+        long time = 0;
+        writeVarLong(transitions.size(), dos);
+        writeSeconds(previous, dos);
+
+        for (ZonalTransition t : transitions) {
+            writeSeconds(t.getPosixTime() - time, dos);
+            writeSeconds(t.getTotalOffset() - previous, dos);
+            writeSeconds(t.getDaylightSavingOffset(), dos);
+            time = t.getPosixTime();
+            previous = t.getTotalOffset();
+        }
+
+    }
+
+    private static List<ZonalTransition> readTransitions(Input in) throws IOException {
+
+        int n = (int) in.readVarLong();
+        int previous = (int) in.readSeconds();
+        long time = 0;
+        List<ZonalTransition> transitions = new ArrayList<>(n);
+
+        for (int i = 0; i < n; i++) {
+            time += in.readSeconds();
+            int total = previous + (int) in.readSeconds();
+            int dst = (int) in.readSeconds();
+            transitions.add(new ZonalTransition(time, previous, total, dst));
+            previous = total;
+        }
+
+        return transitions;
+
+    }
+
+    private static void writeRules(
+        List<DaylightSavingRule> rules,
+        DataOutputStream dos
+    ) throws IOException, ReflectiveOperationException {
+
+        dos.writeByte(rules.size());
+
+        for (DaylightSavingRule rule : rules) {
+            if (!(rule instanceof GregorianTimezoneRule)) {
+                throw new IllegalArgumentException("Unsupported rule: " + rule);
+            }
+
+            GregorianTimezoneRule gtr = (GregorianTimezoneRule) rule;
+            int type;
+            int dom = 0;
+            int dow = 0;
+            boolean after = false;
+
+            switch (rule.getClass().getName()) {
+                case "net.time4j.tz.model.FixedDayPattern":
+                    type = FIXED_DAY_PATTERN;
+                    dom = ((Integer) invoke(gtr, "getDayOfMonth")).intValue();
+                    break;
+                case "net.time4j.tz.model.DayOfWeekInMonthPattern":
+                    type = DAY_OF_WEEK_IN_MONTH_PATTERN;
+                    dom = ((Integer) invoke(gtr, "getDayOfMonth")).intValue();
+                    dow = ((Byte) invoke(gtr, "getDayOfWeek")).intValue();
+                    after = ((Boolean) invoke(gtr, "isAfter")).booleanValue();
+                    break;
+                case "net.time4j.tz.model.LastWeekdayPattern":
+                    type = LAST_WEEKDAY_PATTERN;
+                    dow = ((Byte) invoke(gtr, "getDayOfWeek")).intValue();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported rule: " + rule);
+            }
+
+            long overflow = ((Long) invoke(gtr, "getDayOverflow")).longValue();
+            long timeOfDay = overflow * 86400 + gtr.getTimeOfDay().get(PlainTime.SECOND_OF_DAY).intValue();
+
+            dos.writeByte(type);
+            dos.writeByte(gtr.getMonth().getValue());
+            dos.writeByte(dom);
+            dos.writeByte(dow);
+            dos.writeBoolean(after);
+            writeSeconds(Math.toIntExact(timeOfDay), dos);
+            dos.writeByte(gtr.getIndicator().ordinal());
+            writeSeconds(gtr.getSavings(), dos);
+        }
+
+    }
+
+    private static List<DaylightSavingRule> readRules(Input in) throws IOException {
+
+        int n = in.readByte();
+        List<DaylightSavingRule> rules = new ArrayList<>(n);
+
+        for (int i = 0; i < n; i++) {
+            int type = in.readByte();
+            Month month = Month.valueOf(in.readByte());
+            int dom = in.readByte();
+            int dow = in.readByte();
+            boolean after = (in.readByte() != 0);
+            int timeOfDay = (int) in.readSeconds();
+            OffsetIndicator indicator = INDICATORS[in.readByte()];
+            int savings = (int) in.readSeconds();
+
+            switch (type) {
+                case FIXED_DAY_PATTERN:
+                    rules.add(GregorianTimezoneRule.ofFixedDay(month, dom, timeOfDay, indicator, savings));
+                    break;
+                case DAY_OF_WEEK_IN_MONTH_PATTERN:
+                    Weekday weekday = Weekday.valueOf(dow);
+                    rules.add(
+                        after
+                        ? GregorianTimezoneRule.ofWeekdayAfterDate(month, dom, weekday, timeOfDay, indicator, savings)
+                        : GregorianTimezoneRule.ofWeekdayBeforeDate(month, dom, weekday, timeOfDay, indicator, savings));
+                    break;
+                case LAST_WEEKDAY_PATTERN:
+                    rules.add(GregorianTimezoneRule.ofLastWeekday(month, Weekday.valueOf(dow), timeOfDay, indicator, savings));
+                    break;
+                default:
+                    throw new IOException("Unknown rule pattern: " + type);
+            }
+        }
+
+        return rules;
+
+    }
+
+    private static void writeSeconds(
+        long seconds,
+        DataOutputStream dos
+    ) throws IOException {
+
+        boolean quarters = ((seconds % QUARTER_HOUR) == 0);
+        long amount = (quarters ? seconds / QUARTER_HOUR : seconds);
+        long zigzag = (amount << 1) ^ (amount >> 63);
+        writeVarLong((zigzag << 1) | (quarters ? 0 : 1), dos);
+
+    }
+
+    private static void writeVarLong(
+        long value,
+        DataOutputStream dos
+    ) throws IOException {
+
+        long v = value;
+
+        while ((v & ~0x7FL) != 0) {
+            dos.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+
+        dos.writeByte((int) v);
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<DaylightSavingRule> getRules(Object model) throws ReflectiveOperationException {
+
+        return (List<DaylightSavingRule>) invoke(model, "getRules");
+
+    }
+
+    private static List<ZonalTransition> getTransitions(
+        Object arrayModel,
+        int size
+    ) throws ReflectiveOperationException {
+
+        ZonalTransition[] transitions = (ZonalTransition[]) getField(arrayModel, "transitions");
+        int n = ((size < 0) ? transitions.length : size);
+        return Arrays.asList(transitions).subList(0, n);
+
+    }
+
+    private static Object invoke(
+        Object obj,
+        String name
+    ) throws ReflectiveOperationException {
+
+        for (Class<?> c = obj.getClass(); c != null; c = c.getSuperclass()) {
+            for (Method m : c.getDeclaredMethods()) {
+                if (m.getName().equals(name) && (m.getParameterCount() == 0)) {
+                    m.setAccessible(true);
+                    return m.invoke(obj);
+                }
+            }
+        }
+
+        throw new NoSuchMethodException(name);
+
+    }
+
+    private static Object getField(
+        Object obj,
+        String name
+    ) throws ReflectiveOperationException {
+
+        Field f = obj.getClass().getDeclaredField(name);
+        f.setAccessible(true);
+        return f.get(obj);
+
+    }
+
+    //~ Innere Klassen ----------------------------------------------------
+
+    /**
+     * <p>Reads directly from a byte array without any synchronization or stream overhead. </p>
+     */
+    private static class Input {
+
+        //~ Instanzvariablen ----------------------------------------------
+
+        private final byte[] buffer;
+        private int pos;
+
+        //~ Konstruktoren -------------------------------------------------
+
+        Input(byte[] buffer) {
+            super();
+
+            this.buffer = buffer;
+            this.pos = 0;
+
+        }
+
+        //~ Methoden ------------------------------------------------------
+
+        int readByte() throws IOException {
+
+            if (this.pos >= this.buffer.length) {
+                throw new EOFException();
+            }
+
+            return this.buffer[this.pos++];
+
+        }
+
+        long readVarLong() throws IOException {
+
+            long value = 0;
+
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = this.readByte();
+                value |= ((long) (b & 0x7F)) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+
+            throw new IOException("Malformed variable-length integer.");
+
+        }
+
+        long readSeconds() throws IOException {
+
+            long code = this.readVarLong();
+            long zigzag = code >>> 1;
+            long amount = (zigzag >>> 1) ^ -(zigzag & 1);
+            return (((code & 1) == 0) ? amount * QUARTER_HOUR : amount);
+
+        }
+
+    }
+
+}
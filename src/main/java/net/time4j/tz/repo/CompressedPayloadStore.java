@@ -0,0 +1,179 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (CompressedPayloadStore.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import net.time4j.tz.TransitionHistory;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+
+/**
+ * <p>Decorates a store of deflated zone blocks and inflates every block only on access. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class CompressedPayloadStore
+    implements PayloadStore {
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final PayloadStore blocks;
+    private final Map<String, Integer> rawLengths;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    /**
+     * <p>Creates a new store. </p>
+     *
+     * @param   blocks      store of deflated blocks
+     * @param   rawLengths  map from zone id to the length of the inflated payload
+     */
+    CompressedPayloadStore(
+        PayloadStore blocks,
+        Map<String, Integer> rawLengths
+    ) {
+        super();
+
+        this.blocks = blocks;
+        this.rawLengths = rawLengths;
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    @Override
+    public Set<String> getZoneIDs() {
+
+        return this.blocks.getZoneIDs();
+
+    }
+
+    @Override
+    public byte[] get(String zoneID) {
+
+        byte[] block = this.blocks.get(zoneID);
+
+        if (block == null) {
+            return null;
+        }
+
+        return inflate(zoneID, block, this.rawLengths.get(zoneID).intValue());
+
+    }
+
+    @Override
+    public TransitionHistory decode(
+        String zoneID,
+        Function<byte[], TransitionHistory> decoder
+    ) {
+
+        Integer rawLength = this.rawLengths.get(zoneID);
+
+        if (rawLength == null) {
+            return null;
+        }
+
+        return this.blocks.decode(zoneID, block -> decoder.apply(inflate(zoneID, block, rawLength.intValue())));
+
+    }
+
+    @Override
+    public void release(String zoneID) {
+
+        this.blocks.release(zoneID);
+
+    }
+
+    /**
+     * <p>Compresses given payload. </p>
+     *
+     * @param   payload     raw payload
+     * @return  deflated block
+     */
+    static byte[] deflate(byte[] payload) {
+
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+
+    }
+
+    /**
+     * <p>Decompresses given block. </p>
+     *
+     * @param   zoneID      timezone id (only for error messages)
+     * @param   block       deflated block
+     * @param   rawLength   expected length of the inflated payload
+     * @return  raw payload
+     * @throws  IllegalStateException if the block is corrupt
+     */
+    static byte[] inflate(
+        String zoneID,
+        byte[] block,
+        int rawLength
+    ) {
+
+        Inflater inflater = new Inflater();
+
+        try {
+            inflater.setInput(block);
+            byte[] payload = new byte[rawLength];
+            int n = 0;
+            while ((n < payload.length) && !inflater.finished()) {
+                int count = inflater.inflate(payload, n, payload.length - n);
+                if ((count == 0) && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += count;
+            }
+            if ((n != payload.length) || !inflater.finished()) {
+                throw new IllegalStateException("Corrupt compressed zone data: " + zoneID);
+            }
+            return payload;
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt compressed zone data: " + zoneID, ex);
+        } finally {
+            inflater.end();
+        }
+
+    }
+
+}
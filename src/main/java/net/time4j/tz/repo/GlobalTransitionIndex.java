@@ -0,0 +1,549 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (GlobalTransitionIndex.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+
+package net.time4j.tz.repo;
+
+import net.time4j.Moment;
+import net.time4j.PlainDate;
+import net.time4j.scale.TimeScale;
+import net.time4j.tz.TransitionHistory;
+import net.time4j.tz.ZonalTransition;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+
+/**
+ * <p>Time-ordered index of the transitions of all zones of a repository. </p>
+ *
+ * <p>The transitions of all zones are merged into parallel primitive arrays sorted by their
+ * posix time (and by zone for simultaneous transitions). Transitions defined by rules are expanded
+ * from 1800 until the start of the horizon year. Every entry refers to its zone by a handle which
+ * is the position of the zone in the alphabetically sorted list of zone ids, the same handle as
+ * in the {@link AliasIndex} and the {@link ZoneSummaryTable} of the same repository. </p>
+ *
+ * <p>A range query finds the first position by binary search and then iterates over the
+ * matching entries, that is in O(log n + k) without any object allocation: </p>
+ *
+ * <pre>
+ *  GlobalTransitionIndex index = provider.getTransitionIndex();
+ *  for (int i = index.indexOf(t1), end = index.indexOf(t2); i &lt; end; i++) {
+ *      invalidate(index.getZoneHandle(i), index.getPosixTime(i), index.getTotalOffset(i));
+ *  }
+ * </pre>
+ *
+ * <p>Instances are immutable and thread-safe. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ * @see     TimezoneRepositoryProviderSPI#getTransitionIndex()
+ */
+/*[deutsch]
+ * <p>Zeitlich geordneter Index der &Uuml;berg&auml;nge aller Zeitzonen einer Datenbank. </p>
+ *
+ * <p>Die &Uuml;berg&auml;nge aller Zeitzonen werden in parallele primitive Arrays einsortiert,
+ * geordnet nach ihrer POSIX-Zeit (und nach Zeitzone bei gleichzeitigen &Uuml;berg&auml;ngen).
+ * Regelbasierte &Uuml;berg&auml;nge werden von 1800 bis zum Beginn des Horizontjahres expandiert.
+ * Jeder Eintrag verweist auf seine Zeitzone mit einer Referenz, die die Position der Zeitzone in
+ * der alphabetisch sortierten Liste der Zeitzonenkennungen ist, dieselbe Referenz wie im
+ * {@link AliasIndex} und in der {@link ZoneSummaryTable} derselben Zeitzonendatenbank. </p>
+ *
+ * <p>Eine Bereichsabfrage findet die erste Position durch bin&auml;re Suche und durchl&auml;uft
+ * dann die passenden Eintr&auml;ge, also in O(log n + k) ohne jede Objekterzeugung: </p>
+ *
+ * <pre>
+ *  GlobalTransitionIndex index = provider.getTransitionIndex();
+ *  for (int i = index.indexOf(t1), end = index.indexOf(t2); i &lt; end; i++) {
+ *      invalidate(index.getZoneHandle(i), index.getPosixTime(i), index.getTotalOffset(i));
+ *  }
+ * </pre>
+ *
+ * <p>Instanzen sind unver&auml;nderlich und thread-sicher. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ * @see     TimezoneRepositoryProviderSPI#getTransitionIndex()
+ */
+public final class GlobalTransitionIndex {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    // 38 bits for seconds since 1800 cover the maximum horizon year 9999
+    private static final int SEQUENCE_BITS = 25;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final String[] ids;
+    private final int horizonYear;
+    private final long[] instants;
+    private final int[] zones;
+    private final int[] previousOffsets;
+    private final int[] totalOffsets;
+    private final int[] dstOffsets;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private GlobalTransitionIndex(
+        String[] ids,
+        int horizonYear,
+        long[] instants,
+        int[] zones,
+        int[] previousOffsets,
+        int[] totalOffsets,
+        int[] dstOffsets
+    ) {
+        super();
+
+        this.ids = ids;
+        this.horizonYear = horizonYear;
+        this.instants = instants;
+        this.zones = zones;
+        this.previousOffsets = previousOffsets;
+        this.totalOffsets = totalOffsets;
+        this.dstOffsets = dstOffsets;
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Builds the index for given zones. </p>
+     *
+     * @param   zoneIDs         timezone ids
+     * @param   loader          loads the transition history of a zone ({@code null} if unknown)
+     * @param   horizonYear     year until which rule-based transitions are expanded (exclusive)
+     * @return  new index
+     */
+    static GlobalTransitionIndex of(
+        Collection<String> zoneIDs,
+        Function<String, TransitionHistory> loader,
+        int horizonYear
+    ) {
+
+        String[] ids = zoneIDs.toArray(new String[zoneIDs.size()]);
+        Arrays.sort(ids);
+
+        Moment from = Moment.of(ZoneOffsetIndex.LOWER_BOUND, TimeScale.POSIX);
+        Moment end = PlainDate.of(horizonYear, 1, 1).atStartOfDay().atUTC();
+        int capacity = ids.length * 64; // rough estimate, grows if needed
+        long[] times = new long[capacity];
+        int[] handles = new int[capacity];
+        int[] previous = new int[capacity];
+        int[] total = new int[capacity];
+        int[] dst = new int[capacity];
+        int size = 0;
+
+        for (int z = 0; z < ids.length; z++) {
+            TransitionHistory history = loader.apply(ids[z]);
+
+            if (history == null) { // removed concurrently
+                continue;
+            }
+
+            List<ZonalTransition> transitions = history.getTransitions(from, end);
+
+            if (size + transitions.size() > capacity) {
+                capacity = Math.max(capacity * 2, size + transitions.size());
+                times = Arrays.copyOf(times, capacity);
+                handles = Arrays.copyOf(handles, capacity);
+                previous = Arrays.copyOf(previous, capacity);
+                total = Arrays.copyOf(total, capacity);
+                dst = Arrays.copyOf(dst, capacity);
+            }
+
+            for (ZonalTransition t : transitions) {
+                times[size] = t.getPosixTime();
+                handles[size] = z;
+                previous[size] = t.getPreviousOffset();
+                total[size] = t.getTotalOffset();
+                dst[size] = t.getDaylightSavingOffset();
+                size++;
+            }
+        }
+
+        if (size > SEQUENCE_MASK + 1) {
+            throw new IllegalStateException("Too many transitions for global index: " + size);
+        }
+
+        // sort key = (posix time relative to lower bound, sequence), the sequence keeps zone order on ties
+        long[] order = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            order[i] = ((times[i] - ZoneOffsetIndex.LOWER_BOUND) << SEQUENCE_BITS) | i;
+        }
+
+        Arrays.sort(order);
+
+        long[] instants = new long[size];
+        int[] sortedZones = new int[size];
+        int[] previousOffsets = new int[size];
+        int[] totalOffsets = new int[size];
+        int[] dstOffsets = new int[size];
+
+        for (int k = 0; k < size; k++) {
+            int i = (int) (order[k] & SEQUENCE_MASK);
+            instants[k] = times[i];
+            sortedZones[k] = handles[i];
+            previousOffsets[k] = previous[i];
+            totalOffsets[k] = total[i];
+            dstOffsets[k] = dst[i];
+        }
+
+        return new GlobalTransitionIndex(
+            ids,
+            horizonYear,
+            instants,
+            sortedZones,
+            previousOffsets,
+            totalOffsets,
+            dstOffsets);
+
+    }
+
+    /**
+     * <p>Evaluates the system property &quot;net.time4j.tz.repository.horizon&quot;. </p>
+     *
+     * @return  configured horizon year, {@link ZoneOffsetIndex#HORIZON_YEAR} if not specified
+     * @throws  IllegalArgumentException if the property value is not a valid year
+     */
+    static int horizonFromSystemProperties() {
+
+        String value = System.getProperty("net.time4j.tz.repository.horizon");
+
+        if ((value == null) || value.isEmpty()) {
+            return ZoneOffsetIndex.HORIZON_YEAR;
+        }
+
+        return checkHorizon(Integer.parseInt(value.trim()));
+
+    }
+
+    /**
+     * <p>Checks if given horizon year is within the supported range 1900-9999. </p>
+     *
+     * @param   horizonYear     year until which rule-based transitions are expanded (exclusive)
+     * @return  horizon year
+     * @throws  IllegalArgumentException if the year is out of range
+     */
+    static int checkHorizon(int horizonYear) {
+
+        if ((horizonYear < 1900) || (horizonYear > 9999)) {
+            throw new IllegalArgumentException("Horizon year out of range 1900-9999: " + horizonYear);
+        }
+
+        return horizonYear;
+
+    }
+
+    /**
+     * <p>Yields the count of indexed transitions. </p>
+     *
+     * @return  int
+     */
+    /*[deutsch]
+     * <p>Liefert die Anzahl der indizierten &Uuml;berg&auml;nge. </p>
+     *
+     * @return  int
+     */
+    public int size() {
+
+        return this.instants.length;
+
+    }
+
+    /**
+     * <p>Yields the year until which rule-based transitions are expanded (exclusive). </p>
+     *
+     * @return  int
+     */
+    /*[deutsch]
+     * <p>Liefert das Jahr, bis zu dem regelbasierte &Uuml;berg&auml;nge expandiert werden (exklusiv). </p>
+     *
+     * @return  int
+     */
+    public int getHorizonYear() {
+
+        return this.horizonYear;
+
+    }
+
+    /**
+     * <p>Finds the position of the first transition at or after given posix time. </p>
+     *
+     * <p>The entries of the half-open range {@code [t1, t2)} are hence found at the positions
+     * from {@code indexOf(t1)} (inclusive) until {@code indexOf(t2)} (exclusive). Posix times
+     * at or after the start of the horizon year yield {@link #size()}. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  position between {@code 0} and {@link #size()} (inclusive)
+     */
+    /*[deutsch]
+     * <p>Findet die Position des ersten &Uuml;bergangs zur oder nach der angegebenen POSIX-Zeit. </p>
+     *
+     * <p>Die Eintr&auml;ge des halboffenen Bereichs {@code [t1, t2)} liegen also an den Positionen
+     * von {@code indexOf(t1)} (inklusive) bis {@code indexOf(t2)} (exklusive). POSIX-Zeiten zum oder
+     * nach dem Beginn des Horizontjahres ergeben {@link #size()}. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  position between {@code 0} and {@link #size()} (inclusive)
+     */
+    public int indexOf(long posixTime) {
+
+        int low = 0;
+        int high = this.instants.length - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (this.instants[middle] < posixTime) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return low;
+
+    }
+
+    /**
+     * <p>Yields the posix time of the transition at given position. </p>
+     *
+     * @param   index   position of transition
+     * @return  elapsed seconds since UNIX epoch without leap seconds
+     * @throws  IndexOutOfBoundsException if the position is out of range
+     */
+    /*[deutsch]
+     * <p>Liefert die POSIX-Zeit des &Uuml;bergangs an der angegebenen Position. </p>
+     *
+     * @param   index   position of transition
+     * @return  elapsed seconds since UNIX epoch without leap seconds
+     * @throws  IndexOutOfBoundsException if the position is out of range
+     */
+    public long getPosixTime(int index) {
+
+        return this.instants[index];
+
+    }
+
+    /**
+     * <p>Yields the handle of the zone of the transition at given position. </p>
+     *
+     * @param   index   position of transition
+     * @return  zone handle (see {@link #getZoneID(int)})
+     * @throws  IndexOutOfBoundsException if the position is out of range
+     */
+    /*[deutsch]
+     * <p>Liefert die Referenz der Zeitzone des &Uuml;bergangs an der angegebenen Position. </p>
+     *
+     * @param   index   position of transition
+     * @return  zone handle (see {@link #getZoneID(int)})
+     * @throws  IndexOutOfBoundsException if the position is out of range
+     */
+    public int getZoneHandle(int index) {
+
+        return this.zones[index];
+
+    }
+
+    /**
+     * <p>Yields the zone id of given zone handle. </p>
+     *
+     * @param   handle  zone handle
+     * @return  timezone id
+     * @throws  IndexOutOfBoundsException if the handle is out of range
+     */
+    /*[deutsch]
+     * <p>Liefert die Zeitzonenkennung zur angegebenen Referenz. </p>
+     *
+     * @param   handle  zone handle
+     * @return  timezone id
+     * @throws  IndexOutOfBoundsException if the handle is out of range
+     */
+    public String getZoneID(int handle) {
+
+        return this.ids[handle];
+
+    }
+
+    /**
+     * <p>Yields the total offset before the transition at given position. </p>
+     *
+     * @param   index   position of transition
+     * @return  total offset in seconds
+     * @throws  IndexOutOfBoundsException if the position is out of range
+     */
+    /*[deutsch]
+     * <p>Liefert die Gesamtverschiebung vor dem &Uuml;bergang an der angegebenen Position. </p>
+     *
+     * @param   index   position of transition
+     * @return  total offset in seconds
+     * @throws  IndexOutOfBoundsException if the position is out of range
+     */
+    public int getPreviousOffset(int index) {
+
+        return this.previousOffsets[index];
+
+    }
+
+    /**
+     * <p>Yields the total offset after the transition at given position. </p>
+     *
+     * @param   index   position of transition
+     * @return  total offset in seconds
+     * @throws  IndexOutOfBoundsException if the position is out of range
+     */
+    /*[deutsch]
+     * <p>Liefert die Gesamtverschiebung nach dem &Uuml;bergang an der angegebenen Position. </p>
+     *
+     * @param   index   position of transition
+     * @return  total offset in seconds
+     * @throws  IndexOutOfBoundsException if the position is out of range
+     */
+    public int getTotalOffset(int index) {
+
+        return this.totalOffsets[index];
+
+    }
+
+    /**
+     * <p>Yields the daylight saving offset after the transition at given position. </p>
+     *
+     * @param   index   position of transition
+     * @return  daylight saving offset in seconds
+     * @throws  IndexOutOfBoundsException if the position is out of range
+     */
+    /*[deutsch]
+     * <p>Liefert die Sommerzeitverschiebung nach dem &Uuml;bergang an der angegebenen Position. </p>
+     *
+     * @param   index   position of transition
+     * @return  daylight saving offset in seconds
+     * @throws  IndexOutOfBoundsException if the position is out of range
+     */
+    public int getDaylightSavingOffset(int index) {
+
+        return this.dstOffsets[index];
+
+    }
+
+    /**
+     * <p>Yields the transition at given position as object. </p>
+     *
+     * @param   index   position of transition
+     * @return  ZonalTransition
+     * @throws  IndexOutOfBoundsException if the position is out of range
+     */
+    /*[deutsch]
+     * <p>Liefert den &Uuml;bergang an der angegebenen Position als Objekt. </p>
+     *
+     * @param   index   position of transition
+     * @return  ZonalTransition
+     * @throws  IndexOutOfBoundsException if the position is out of range
+     */
+    public ZonalTransition getTransition(int index) {
+
+        return new ZonalTransition(
+            this.instants[index],
+            this.previousOffsets[index],
+            this.totalOffsets[index],
+            this.dstOffsets[index]);
+
+    }
+
+    /**
+     * <p>Determines all zones with at least one transition in given range. </p>
+     *
+     * @param   from    start of range as posix time (inclusive)
+     * @param   to      end of range as posix time (exclusive)
+     * @return  unmodifiable sorted list of timezone ids
+     */
+    /*[deutsch]
+     * <p>Bestimmt alle Zeitzonen mit mindestens einem &Uuml;bergang im angegebenen Bereich. </p>
+     *
+     * @param   from    start of range as posix time (inclusive)
+     * @param   to      end of range as posix time (exclusive)
+     * @return  unmodifiable sorted list of timezone ids
+     */
+    public List<String> getZoneIDs(
+        long from,
+        long to
+    ) {
+
+        BitSet affected = new BitSet(this.ids.length);
+
+        for (int i = this.indexOf(from), end = this.indexOf(to); i < end; i++) {
+            affected.set(this.zones[i]);
+        }
+
+        return new ZoneList(affected.stream().toArray());
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "GlobalTransitionIndex[zones=" + this.ids.length + ", size=" + this.instants.length
+            + ", horizon=" + this.horizonYear + "]";
+
+    }
+
+    //~ Innere Klassen ----------------------------------------------------
+
+    private class ZoneList
+        extends AbstractList<String> {
+
+        //~ Instanzvariablen ----------------------------------------------
+
+        private final int[] handles;
+
+        //~ Konstruktoren -------------------------------------------------
+
+        ZoneList(int[] handles) {
+            super();
+
+            this.handles = handles;
+
+        }
+
+        //~ Methoden ------------------------------------------------------
+
+        @Override
+        public String get(int index) {
+
+            return GlobalTransitionIndex.this.ids[this.handles[index]];
+
+        }
+
+        @Override
+        public int size() {
+
+            return this.handles.length;
+
+        }
+
+    }
+
+}
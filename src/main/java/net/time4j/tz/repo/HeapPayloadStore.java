@@ -0,0 +1,87 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (HeapPayloadStore.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * <p>Keeps one byte array per zone on the heap. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class HeapPayloadStore
+    implements PayloadStore {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    private static final byte[] RELEASED = new byte[0];
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final Map<String, byte[]> data;
+    private final Set<String> zoneIDs;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    /**
+     * <p>Creates a new store. </p>
+     *
+     * @param   data        map of raw payloads (will be copied)
+     */
+    HeapPayloadStore(Map<String, byte[]> data) {
+        super();
+
+        this.data = new ConcurrentHashMap<>(data);
+        this.zoneIDs = Collections.unmodifiableSet(this.data.keySet());
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    @Override
+    public Set<String> getZoneIDs() {
+
+        return this.zoneIDs;
+
+    }
+
+    @Override
+    public byte[] get(String zoneID) {
+
+        byte[] bytes = this.data.get(zoneID);
+        return ((bytes == RELEASED) ? null : bytes);
+
+    }
+
+    @Override
+    public void release(String zoneID) {
+
+        this.data.replace(zoneID, RELEASED);
+
+    }
+
+}
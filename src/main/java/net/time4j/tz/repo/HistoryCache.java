@@ -0,0 +1,481 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (HistoryCache.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import net.time4j.tz.TransitionHistory;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+
+/**
+ * <p>Cache for deserialized transition histories. </p>
+ *
+ * <p>Concurrent requests for the same uncached zone are collapsed such that only one thread
+ * deserializes the payload while all other threads wait for its result. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class HistoryCache {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    private static final int DEFAULT_LRU_SIZE = 64;
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final Policy policy;
+    private final boolean release;
+    private final Map<String, TransitionHistory> strong;
+    private final ConcurrentMap<String, Entry> soft;
+    private final ReferenceQueue<TransitionHistory> queue;
+    private final ConcurrentMap<String, FutureTask<TransitionHistory>> pending;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder waits;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    /**
+     * <p>Creates a new cache. </p>
+     *
+     * @param   policy      eviction policy
+     * @param   maxSize     maximum count of entries (only relevant for policy {@code LRU})
+     * @param   release     shall raw payloads be released after first deserialization
+     *                      (only relevant for policy {@code STRONG})?
+     */
+    HistoryCache(
+        Policy policy,
+        int maxSize,
+        boolean release
+    ) {
+        super();
+
+        this.policy = policy;
+        this.release = release && (policy == Policy.STRONG);
+        this.pending = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.waits = new LongAdder();
+
+        switch (policy) {
+            case STRONG:
+                this.strong = new ConcurrentHashMap<>();
+                this.soft = null;
+                this.queue = null;
+                break;
+            case LRU:
+                int limit = ((maxSize > 0) ? maxSize : DEFAULT_LRU_SIZE);
+                this.strong = Collections.synchronizedMap(new LruMap(limit));
+                this.soft = null;
+                this.queue = null;
+                break;
+            case SOFT:
+                this.strong = null;
+                this.soft = new ConcurrentHashMap<>();
+                this.queue = new ReferenceQueue<>();
+                break;
+            default:
+                this.strong = null;
+                this.soft = null;
+                this.queue = null;
+        }
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Shall raw payloads be released after their first deserialization? </p>
+     *
+     * <p>This is only possible if the cached histories are never evicted. </p>
+     *
+     * @return  boolean
+     */
+    boolean isReleasing() {
+
+        return this.release;
+
+    }
+
+    /**
+     * <p>Obtains the cached history or deserializes it by help of given loader. </p>
+     *
+     * @param   zoneID      timezone id
+     * @param   loader      deserializes the history if not cached (may yield {@code null})
+     * @return  transition history or {@code null} if the loader does not know the zone
+     */
+    TransitionHistory get(
+        String zoneID,
+        Function<String, TransitionHistory> loader
+    ) {
+
+        if (this.policy == Policy.NONE) {
+            this.misses.increment();
+            return loader.apply(zoneID);
+        }
+
+        TransitionHistory history = this.lookup(zoneID);
+
+        if (history != null) {
+            this.hits.increment();
+            return history;
+        }
+
+        FutureTask<TransitionHistory> task = new FutureTask<>(() -> loader.apply(zoneID));
+        FutureTask<TransitionHistory> running = this.pending.putIfAbsent(zoneID, task);
+
+        if (running != null) {
+            this.waits.increment(); // another thread is just deserializing the same zone
+            return await(running, zoneID);
+        }
+
+        try {
+            history = this.lookup(zoneID); // double check because another thread might have finished meanwhile
+
+            if (history != null) {
+                this.hits.increment();
+                return history;
+            }
+
+            this.misses.increment();
+            task.run();
+            history = await(task, zoneID);
+
+            if (history != null) {
+                this.store(zoneID, history);
+            }
+
+            return history;
+        } finally {
+            this.pending.remove(zoneID, task);
+        }
+
+    }
+
+    /**
+     * <p>Takes over the cached history of given zone from another cache. </p>
+     *
+     * <p>Used after a hot reload for zones whose payloads have not changed. </p>
+     *
+     * @param   previous    cache of the replaced repository
+     * @param   zoneID      timezone id
+     */
+    void adopt(
+        HistoryCache previous,
+        String zoneID
+    ) {
+
+        TransitionHistory history = previous.lookup(zoneID);
+
+        if (history != null) {
+            this.store(zoneID, history);
+        }
+
+    }
+
+    /**
+     * <p>Counts the requests which could be served without deserialization. </p>
+     *
+     * @return  count of cache hits
+     */
+    long getHitCount() {
+
+        return this.hits.sum();
+
+    }
+
+    /**
+     * <p>Counts the requests which required a deserialization. </p>
+     *
+     * @return  count of cache misses
+     */
+    long getMissCount() {
+
+        return this.misses.sum();
+
+    }
+
+    /**
+     * <p>Counts the requests which waited for the concurrent deserialization by another thread. </p>
+     *
+     * <p>Such requests are neither hits nor misses. </p>
+     *
+     * @return  count of collapsed requests
+     */
+    long getWaitCount() {
+
+        return this.waits.sum();
+
+    }
+
+    private TransitionHistory lookup(String zoneID) {
+
+        if (this.strong != null) {
+            return this.strong.get(zoneID);
+        } else if (this.soft != null) {
+            this.purge();
+            Entry entry = this.soft.get(zoneID);
+            return ((entry == null) ? null : entry.get());
+        }
+
+        return null;
+
+    }
+
+    private void store(
+        String zoneID,
+        TransitionHistory history
+    ) {
+
+        if (this.strong != null) {
+            this.strong.put(zoneID, history);
+        } else if (this.soft != null) {
+            this.soft.put(zoneID, new Entry(zoneID, history, this.queue));
+        }
+
+    }
+
+    private void purge() {
+
+        Object ref;
+
+        while ((ref = this.queue.poll()) != null) {
+            Entry entry = (Entry) ref;
+            this.soft.remove(entry.zoneID, entry);
+        }
+
+    }
+
+    private static TransitionHistory await(
+        FutureTask<TransitionHistory> task,
+        String zoneID
+    ) {
+
+        try {
+            return task.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for zone data: " + zoneID, ie);
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new IllegalStateException(cause);
+            }
+        }
+
+    }
+
+    //~ Innere Klassen ----------------------------------------------------
+
+    /**
+     * <p>Eviction policy of the history cache. </p>
+     */
+    enum Policy {
+
+        /**
+         * No caching at all, every request deserializes the history again.
+         */
+        NONE,
+
+        /**
+         * All histories are cached until the provider itself is garbage-collected.
+         */
+        STRONG,
+
+        /**
+         * Least recently used histories are evicted if the maximum count of entries is exceeded.
+         */
+        LRU,
+
+        /**
+         * Histories are softly referenced and can be evicted under memory pressure.
+         */
+        SOFT
+
+    }
+
+    /**
+     * <p>Immutable cache configuration which creates equally configured caches. </p>
+     */
+    static final class Config {
+
+        //~ Statische Felder/Initialisierungen ----------------------------
+
+        /**
+         * Default configuration if no system property is set (policy {@code soft}).
+         */
+        static final Config DEFAULT = new Config(Policy.SOFT, DEFAULT_LRU_SIZE, false);
+
+        //~ Instanzvariablen ----------------------------------------------
+
+        private final Policy policy;
+        private final int maxSize;
+        private final boolean release;
+
+        //~ Konstruktoren -------------------------------------------------
+
+        private Config(
+            Policy policy,
+            int maxSize,
+            boolean release
+        ) {
+            super();
+
+            this.policy = policy;
+            this.maxSize = maxSize;
+            this.release = release;
+
+        }
+
+        //~ Methoden ------------------------------------------------------
+
+        /**
+         * <p>Reads the configuration given by the system properties
+         * &quot;net.time4j.tz.repository.cache&quot; (one of {@code none|strong|lru|soft},
+         * default is {@code soft}), &quot;net.time4j.tz.repository.cache.size&quot; and
+         * &quot;net.time4j.tz.repository.cache.release&quot;. </p>
+         *
+         * <p>An unknown policy is logged as warning and replaced by the default policy because
+         * the provider must stay discoverable by the service loader. </p>
+         *
+         * @return  cache configuration
+         */
+        static Config fromSystemProperties() {
+
+            String p = System.getProperty("net.time4j.tz.repository.cache");
+            Policy policy = Policy.SOFT;
+
+            if (p != null) {
+                try {
+                    policy = Policy.valueOf(p.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException iae) {
+                    RepositoryLog.warn(
+                        "Unknown cache policy \"" + p + "\" in system property net.time4j.tz.repository.cache, "
+                            + "using the default policy soft instead.",
+                        null);
+                }
+            }
+
+            int maxSize = Integer.getInteger("net.time4j.tz.repository.cache.size", DEFAULT_LRU_SIZE).intValue();
+            boolean release = Boolean.getBoolean("net.time4j.tz.repository.cache.release");
+            return new Config(policy, maxSize, release);
+
+        }
+
+        /**
+         * <p>Creates a new empty cache with this configuration. </p>
+         *
+         * @return  new cache instance
+         */
+        HistoryCache create() {
+
+            return new HistoryCache(this.policy, this.maxSize, this.release);
+
+        }
+
+        /**
+         * <p>Describes this configuration. </p>
+         *
+         * <p>Two caches behave in the same way if the descriptions of their configurations
+         * are equal. </p>
+         *
+         * @return  String
+         */
+        @Override
+        public String toString() {
+
+            return this.policy.name().toLowerCase(Locale.ROOT) + "/" + this.maxSize + "/" + this.release;
+
+        }
+
+    }
+
+    private static class Entry
+        extends SoftReference<TransitionHistory> {
+
+        //~ Instanzvariablen ----------------------------------------------
+
+        private final String zoneID;
+
+        //~ Konstruktoren -------------------------------------------------
+
+        Entry(
+            String zoneID,
+            TransitionHistory history,
+            ReferenceQueue<TransitionHistory> queue
+        ) {
+            super(history, queue);
+
+            this.zoneID = zoneID;
+
+        }
+
+    }
+
+    private static class LruMap
+        extends LinkedHashMap<String, TransitionHistory> {
+
+        //~ Statische Felder/Initialisierungen ----------------------------
+
+        private static final long serialVersionUID = -2694016428513582917L;
+
+        //~ Instanzvariablen ----------------------------------------------
+
+        private final int limit;
+
+        //~ Konstruktoren -------------------------------------------------
+
+        LruMap(int limit) {
+            super(16, 0.75f, true);
+
+            this.limit = limit;
+
+        }
+
+        //~ Methoden ------------------------------------------------------
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TransitionHistory> eldest) {
+
+            return (this.size() > this.limit);
+
+        }
+
+    }
+
+}
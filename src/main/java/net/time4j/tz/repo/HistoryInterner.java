@@ -0,0 +1,81 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (HistoryInterner.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import net.time4j.tz.TransitionHistory;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+
+/**
+ * <p>Process-wide canonicalization of equal transition histories. </p>
+ *
+ * <p>Many zones share the same history, for example {@code Africa/Abidjan} and {@code Etc/GMT}.
+ * All equal histories are replaced by one shared immutable instance. The interned instances are
+ * weakly held and live as long as any cache or caller refers to them. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class HistoryInterner {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    private static final Map<TransitionHistory, WeakReference<TransitionHistory>> POOL = new WeakHashMap<>();
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private HistoryInterner() {
+        // no instantiation
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Yields the canonical instance of given history. </p>
+     *
+     * @param   history     transition history (maybe {@code null})
+     * @return  shared instance equal to given history or {@code null}
+     */
+    static TransitionHistory intern(TransitionHistory history) {
+
+        if (history == null) {
+            return null;
+        }
+
+        synchronized (POOL) {
+            WeakReference<TransitionHistory> ref = POOL.get(history);
+            TransitionHistory canonical = ((ref == null) ? null : ref.get());
+
+            if (canonical == null) {
+                POOL.put(history, new WeakReference<>(history));
+                canonical = history;
+            }
+
+            return canonical;
+        }
+
+    }
+
+}
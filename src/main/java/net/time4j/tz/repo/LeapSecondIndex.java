@@ -0,0 +1,338 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (LeapSecondIndex.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import net.time4j.base.GregorianDate;
+import net.time4j.base.GregorianMath;
+import net.time4j.engine.EpochDays;
+
+import java.util.Arrays;
+import java.util.Map;
+
+
+/**
+ * <p>Primitive leap second table for fast conversions between UTC and TAI. </p>
+ *
+ * <p>The table consists of the epoch days (relative to 1970-01-01) of all leap second events
+ * as {@code long[]} and the cumulative leap second shift valid after every event as {@code int[]}.
+ * All queries are answered by a binary search without any object allocation. Time values are
+ * given as seconds since 1970-01-01T00:00 in one of two variants: </p>
+ *
+ * <ul>
+ *  <li><strong>posix time</strong>: UTC-based count without leap seconds
+ *  (like {@code System.currentTimeMillis() / 1000})</li>
+ *  <li><strong>TAI time</strong>: posix time plus the offset TAI-UTC, that is the reading of a
+ *  TAI-clock with the same epoch (like the clock {@code CLOCK_TAI} on Linux)</li>
+ * </ul>
+ *
+ * <p>The offset TAI-UTC is 10 seconds at 1972-01-01 plus the cumulative shift. Times before
+ * 1972 are treated with this start offset although UTC was differently defined then.
+ * Instances are immutable and thread-safe. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ * @see     TimezoneRepositoryProviderSPI#getLeapSecondIndex()
+ */
+/*[deutsch]
+ * <p>Primitive Schaltsekundentabelle f&uuml;r schnelle Umrechnungen zwischen UTC und TAI. </p>
+ *
+ * <p>Die Tabelle besteht aus den Epochentagen (relativ zu 1970-01-01) aller Schaltsekunden
+ * als {@code long[]} und der kumulativen Verschiebung nach jedem Ereignis als {@code int[]}.
+ * Alle Abfragen werden mit einer bin&auml;ren Suche ohne jede Objekterzeugung beantwortet.
+ * Zeitwerte werden als Sekunden seit 1970-01-01T00:00 in einer von zwei Varianten angegeben: </p>
+ *
+ * <ul>
+ *  <li><strong>POSIX-Zeit</strong>: UTC-basierte Z&auml;hlung ohne Schaltsekunden
+ *  (wie {@code System.currentTimeMillis() / 1000})</li>
+ *  <li><strong>TAI-Zeit</strong>: POSIX-Zeit plus die Differenz TAI-UTC, also die Anzeige einer
+ *  TAI-Uhr mit derselben Epoche (wie die Uhr {@code CLOCK_TAI} unter Linux)</li>
+ * </ul>
+ *
+ * <p>Die Differenz TAI-UTC ist 10 Sekunden am 1972-01-01 plus die kumulative Verschiebung.
+ * Zeitwerte vor 1972 werden mit dieser Anfangsdifferenz behandelt, obwohl UTC damals anders
+ * definiert war. Instanzen sind unver&auml;nderlich und thread-sicher. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ * @see     TimezoneRepositoryProviderSPI#getLeapSecondIndex()
+ */
+public final class LeapSecondIndex {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    private static final int TAI_UTC_1972 = 10;
+    private static final long SECONDS_PER_DAY = 86400L;
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final long[] epochDays;
+    private final int[] shifts;
+    private final long[] taiStarts;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private LeapSecondIndex(
+        long[] epochDays,
+        int[] shifts
+    ) {
+        super();
+
+        this.epochDays = epochDays;
+        this.shifts = shifts;
+        this.taiStarts = new long[epochDays.length];
+
+        for (int i = 0; i < epochDays.length; i++) {
+            this.taiStarts[i] = (epochDays[i] + 1) * SECONDS_PER_DAY + TAI_UTC_1972 + shifts[i];
+        }
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Builds the index from given leap second table. </p>
+     *
+     * @param   table   map from event date to shift (either {@code 1} or {@code -1})
+     * @return  new index
+     * @throws  IllegalArgumentException if any shift is neither {@code 1} nor {@code -1}
+     * @see     TimezoneRepositoryProviderSPI#getLeapSecondTable()
+     */
+    /*[deutsch]
+     * <p>Baut den Index aus der angegebenen Schaltsekundentabelle. </p>
+     *
+     * @param   table   map from event date to shift (either {@code 1} or {@code -1})
+     * @return  new index
+     * @throws  IllegalArgumentException if any shift is neither {@code 1} nor {@code -1}
+     * @see     TimezoneRepositoryProviderSPI#getLeapSecondTable()
+     */
+    public static LeapSecondIndex of(Map<GregorianDate, Integer> table) {
+
+        int n = table.size();
+        long[][] events = new long[n][];
+        int k = 0;
+
+        for (Map.Entry<GregorianDate, Integer> entry : table.entrySet()) {
+            int shift = entry.getValue().intValue();
+            if ((shift != 1) && (shift != -1)) {
+                throw new IllegalArgumentException("Invalid leap second shift: " + entry);
+            }
+            long mjd = GregorianMath.toMJD(entry.getKey());
+            events[k++] = new long[] {EpochDays.UNIX.transform(mjd, EpochDays.MODIFIED_JULIAN_DATE), shift};
+        }
+
+        Arrays.sort(events, (a, b) -> Long.compare(a[0], b[0]));
+
+        long[] epochDays = new long[n];
+        int[] shifts = new int[n];
+        int sum = 0;
+
+        for (int i = 0; i < n; i++) {
+            sum += (int) events[i][1];
+            epochDays[i] = events[i][0];
+            shifts[i] = sum;
+        }
+
+        return new LeapSecondIndex(epochDays, shifts);
+
+    }
+
+    /**
+     * <p>Yields the cumulative leap second shift at given posix time. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  sum of all leap second shifts before given time
+     */
+    /*[deutsch]
+     * <p>Liefert die kumulative Schaltsekundenverschiebung zur angegebenen POSIX-Zeit. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  sum of all leap second shifts before given time
+     */
+    public int getLeapSecondCount(long posixTime) {
+
+        int index = search(this.epochDays, Math.floorDiv(posixTime, SECONDS_PER_DAY) - 1);
+        return ((index < 0) ? 0 : this.shifts[index]);
+
+    }
+
+    /**
+     * <p>Yields the offset TAI-UTC at given posix time. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  offset in seconds (10 seconds plus the cumulative leap second shift)
+     */
+    /*[deutsch]
+     * <p>Liefert die Differenz TAI-UTC zur angegebenen POSIX-Zeit. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  offset in seconds (10 seconds plus the cumulative leap second shift)
+     */
+    public int getTaiUtcOffset(long posixTime) {
+
+        return TAI_UTC_1972 + this.getLeapSecondCount(posixTime);
+
+    }
+
+    /**
+     * <p>Converts given posix time to TAI time. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  TAI-clock reading in seconds since 1970-01-01T00:00
+     */
+    /*[deutsch]
+     * <p>Konvertiert die angegebene POSIX-Zeit zur TAI-Zeit. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  TAI-clock reading in seconds since 1970-01-01T00:00
+     */
+    public long toTAI(long posixTime) {
+
+        return posixTime + this.getTaiUtcOffset(posixTime);
+
+    }
+
+    /**
+     * <p>Converts given TAI time to posix time. </p>
+     *
+     * <p>An inserted leap second is mapped to the posix time of the preceding second
+     * {@code 23:59:59} UTC. </p>
+     *
+     * @param   taiTime     TAI-clock reading in seconds since 1970-01-01T00:00
+     * @return  elapsed seconds since UNIX epoch without leap seconds
+     * @see     #isLeapSecond(long)
+     */
+    /*[deutsch]
+     * <p>Konvertiert die angegebene TAI-Zeit zur POSIX-Zeit. </p>
+     *
+     * <p>Eine eingef&uuml;gte Schaltsekunde wird auf die POSIX-Zeit der vorangehenden Sekunde
+     * {@code 23:59:59} UTC abgebildet. </p>
+     *
+     * @param   taiTime     TAI-clock reading in seconds since 1970-01-01T00:00
+     * @return  elapsed seconds since UNIX epoch without leap seconds
+     * @see     #isLeapSecond(long)
+     */
+    public long toPosix(long taiTime) {
+
+        int index = search(this.taiStarts, taiTime);
+        long posixTime = taiTime - TAI_UTC_1972 - ((index < 0) ? 0 : this.shifts[index]);
+        return (this.isInserted(index + 1, taiTime) ? posixTime - 1 : posixTime);
+
+    }
+
+    /**
+     * <p>Determines if given TAI time denotes an inserted leap second {@code 23:59:60} UTC. </p>
+     *
+     * @param   taiTime     TAI-clock reading in seconds since 1970-01-01T00:00
+     * @return  boolean
+     */
+    /*[deutsch]
+     * <p>Ermittelt, ob die angegebene TAI-Zeit eine eingef&uuml;gte Schaltsekunde
+     * {@code 23:59:60} UTC bezeichnet. </p>
+     *
+     * @param   taiTime     TAI-clock reading in seconds since 1970-01-01T00:00
+     * @return  boolean
+     */
+    public boolean isLeapSecond(long taiTime) {
+
+        return this.isInserted(search(this.taiStarts, taiTime) + 1, taiTime);
+
+    }
+
+    /**
+     * <p>Determines if a leap second event happens at the end of given day. </p>
+     *
+     * @param   epochDay    days since 1970-01-01
+     * @return  boolean
+     */
+    /*[deutsch]
+     * <p>Ermittelt, ob am Ende des angegebenen Tages eine Schaltsekunde stattfindet. </p>
+     *
+     * @param   epochDay    days since 1970-01-01
+     * @return  boolean
+     */
+    public boolean isLeapSecondDay(long epochDay) {
+
+        return (Arrays.binarySearch(this.epochDays, epochDay) >= 0);
+
+    }
+
+    /**
+     * <p>Yields the count of leap second events. </p>
+     *
+     * @return  int
+     */
+    /*[deutsch]
+     * <p>Liefert die Anzahl der Schaltsekundenereignisse. </p>
+     *
+     * @return  int
+     */
+    public int size() {
+
+        return this.epochDays.length;
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "LeapSecondIndex[size=" + this.epochDays.length + "]";
+
+    }
+
+    // is the event at given position positive and given time its inserted second?
+    private boolean isInserted(
+        int index,
+        long taiTime
+    ) {
+
+        if (index >= this.shifts.length) {
+            return false;
+        }
+
+        int previous = ((index == 0) ? 0 : this.shifts[index - 1]);
+        return ((this.shifts[index] > previous) && (taiTime == this.taiStarts[index] - 1));
+
+    }
+
+    // position of last element not greater than given value or -1
+    private static int search(
+        long[] values,
+        long value
+    ) {
+
+        int low = 0;
+        int high = values.length - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return high;
+
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (MappedPayloadStore.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * <p>Reads zone payloads on demand from a memory-mapped repository file. </p>
+ *
+ * <p>Only an index of offsets and lengths is kept on the heap. The operating system
+ * loads the mapped pages when a payload is first requested, and several JVMs on the
+ * same host can share these pages. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class MappedPayloadStore
+    implements PayloadStore {
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final ByteBuffer buffer;
+    private final Map<String, Integer> index;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final Set<String> zoneIDs;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    /**
+     * <p>Creates a new store. </p>
+     *
+     * @param   buffer      read-only mapped repository file
+     * @param   index       maps every zone id to its position in the offset and length arrays
+     * @param   offsets     absolute payload offsets in the buffer
+     * @param   lengths     payload lengths
+     */
+    MappedPayloadStore(
+        ByteBuffer buffer,
+        Map<String, Integer> index,
+        int[] offsets,
+        int[] lengths
+    ) {
+        super();
+
+        this.buffer = buffer;
+        this.index = index;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.zoneIDs = Collections.unmodifiableSet(index.keySet());
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    @Override
+    public Set<String> getZoneIDs() {
+
+        return this.zoneIDs;
+
+    }
+
+    @Override
+    public byte[] get(String zoneID) {
+
+        Integer i = this.index.get(zoneID);
+
+        if (i == null) {
+            return null;
+        }
+
+        int pos = i.intValue();
+        byte[] bytes = new byte[this.lengths[pos]];
+        ByteBuffer view = this.buffer.duplicate(); // the shared buffer position must not be touched
+        view.position(this.offsets[pos]);
+        view.get(bytes);
+        return bytes;
+
+    }
+
+}
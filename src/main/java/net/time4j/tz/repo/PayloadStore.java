@@ -0,0 +1,148 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (PayloadStore.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import net.time4j.tz.TransitionHistory;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+
+/**
+ * <p>Storage of the raw (serialized) zone payloads of a timezone repository. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+interface PayloadStore {
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Yields all stored zone identifiers. </p>
+     *
+     * @return  unmodifiable set of timezone ids
+     */
+    Set<String> getZoneIDs();
+
+    /**
+     * <p>Obtains the raw payload of given zone. </p>
+     *
+     * @param   zoneID      timezone id
+     * @return  serialized transition history or {@code null} if unknown or released
+     */
+    byte[] get(String zoneID);
+
+    /**
+     * <p>Decodes the payload of given zone. </p>
+     *
+     * <p>Stores which share payloads between repositories can override this method
+     * in order to share the decoded histories, too. </p>
+     *
+     * @param   zoneID      timezone id
+     * @param   decoder     converts the raw payload to a transition history
+     * @return  transition history or {@code null} if unknown or released
+     */
+    default TransitionHistory decode(
+        String zoneID,
+        Function<byte[], TransitionHistory> decoder
+    ) {
+
+        byte[] bytes = this.get(zoneID);
+        return ((bytes == null) ? null : decoder.apply(bytes));
+
+    }
+
+    /**
+     * <p>Releases the raw payload of given zone if the store supports this operation. </p>
+     *
+     * <p>The zone id itself stays available. The default implementation does nothing. </p>
+     *
+     * @param   zoneID      timezone id
+     */
+    default void release(String zoneID) {
+        // no-op
+    }
+
+    //~ Innere Klassen ----------------------------------------------------
+
+    /**
+     * <p>Describes how the payloads of a repository read from a stream are stored. </p>
+     */
+    enum Storage {
+
+        //~ Statische Felder/Initialisierungen ----------------------------
+
+        /**
+         * One byte array per zone in a hash map (default).
+         */
+        MAP,
+
+        /**
+         * All payloads in one contiguous heap buffer.
+         */
+        ARENA,
+
+        /**
+         * All payloads in one contiguous direct buffer outside of the heap.
+         */
+        DIRECT,
+
+        /**
+         * One shared byte array per distinct payload in a process-wide pool (for multiple versions).
+         */
+        POOL;
+
+        //~ Methoden ------------------------------------------------------
+
+        /**
+         * <p>Evaluates the system property &quot;net.time4j.tz.repository.storage&quot;. </p>
+         *
+         * <p>An unknown value is logged as warning and replaced by {@code MAP} because the
+         * provider must stay discoverable by the service loader. </p>
+         *
+         * @return  configured storage, {@code MAP} if not specified or not recognized
+         */
+        static Storage fromSystemProperties() {
+
+            String value = System.getProperty("net.time4j.tz.repository.storage");
+
+            if ((value == null) || value.isEmpty()) {
+                return MAP;
+            }
+
+            try {
+                return Storage.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException iae) {
+                RepositoryLog.warn(
+                    "Unknown storage \"" + value + "\" in system property net.time4j.tz.repository.storage, "
+                        + "using the default storage map instead.",
+                    null);
+                return MAP;
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (PooledPayloadStore.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import net.time4j.tz.TransitionHistory;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+
+/**
+ * <p>Keeps the zone payloads in a process-wide pool which is shared by all repositories
+ * using this store. </p>
+ *
+ * <p>Byte-identical payloads of the same format are only stored once, and their decoded
+ * transition histories are attached to the pooled payload so that a zone which did not
+ * change between two tzdb-versions is also only decoded once. Pooled payloads are weakly
+ * held by the pool and live as long as any repository refers to them. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class PooledPayloadStore
+    implements PayloadStore {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    private static final Map<Payload, WeakReference<Payload>> POOL = new WeakHashMap<>();
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final Map<String, Payload> data;
+    private final Set<String> zoneIDs;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    /**
+     * <p>Creates a new store. </p>
+     *
+     * @param   format      repository format which determines how payloads are decoded
+     * @param   data        map of raw payloads (will be copied and interned)
+     */
+    PooledPayloadStore(
+        int format,
+        Map<String, byte[]> data
+    ) {
+        super();
+
+        Map<String, Payload> map = new HashMap<>(data.size() * 4 / 3 + 1);
+
+        synchronized (POOL) {
+            for (Map.Entry<String, byte[]> entry : data.entrySet()) {
+                map.put(entry.getKey(), intern(new Payload(format, entry.getValue())));
+            }
+        }
+
+        this.data = map;
+        this.zoneIDs = Collections.unmodifiableSet(map.keySet());
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    @Override
+    public Set<String> getZoneIDs() {
+
+        return this.zoneIDs;
+
+    }
+
+    @Override
+    public byte[] get(String zoneID) {
+
+        Payload payload = this.data.get(zoneID);
+        return ((payload == null) ? null : payload.bytes);
+
+    }
+
+    @Override
+    public TransitionHistory decode(
+        String zoneID,
+        Function<byte[], TransitionHistory> decoder
+    ) {
+
+        Payload payload = this.data.get(zoneID);
+        return ((payload == null) ? null : payload.decode(decoder));
+
+    }
+
+    /**
+     * <p>Counts the distinct payloads currently held in the process-wide pool (for testing). </p>
+     *
+     * @return  int
+     */
+    static int getPoolSize() {
+
+        synchronized (POOL) {
+            return POOL.size();
+        }
+
+    }
+
+    // must be called under the lock of the pool
+    private static Payload intern(Payload candidate) {
+
+        WeakReference<Payload> ref = POOL.get(candidate);
+        Payload pooled = ((ref == null) ? null : ref.get());
+
+        if (pooled == null) {
+            POOL.put(candidate, new WeakReference<>(candidate));
+            pooled = candidate;
+        }
+
+        return pooled;
+
+    }
+
+    //~ Innere Klassen ----------------------------------------------------
+
+    private static class Payload {
+
+        //~ Instanzvariablen ----------------------------------------------
+
+        private final int format;
+        private final byte[] bytes;
+        private final int hash;
+        private volatile SoftReference<TransitionHistory> history;
+
+        //~ Konstruktoren -------------------------------------------------
+
+        Payload(
+            int format,
+            byte[] bytes
+        ) {
+            super();
+
+            this.format = format;
+            this.bytes = bytes;
+            this.hash = 31 * format + Arrays.hashCode(bytes);
+            this.history = null;
+
+        }
+
+        //~ Methoden ------------------------------------------------------
+
+        TransitionHistory decode(Function<byte[], TransitionHistory> decoder) {
+
+            TransitionHistory result = this.cached();
+
+            if (result == null) {
+                synchronized (this) {
+                    result = this.cached();
+                    if (result == null) {
+                        result = decoder.apply(this.bytes);
+                        if (result != null) {
+                            this.history = new SoftReference<>(result);
+                        }
+                    }
+                }
+            }
+
+            return result;
+
+        }
+
+        private TransitionHistory cached() {
+
+            SoftReference<TransitionHistory> ref = this.history;
+            return ((ref == null) ? null : ref.get());
+
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+
+            if (this == obj) {
+                return true;
+            } else if (obj instanceof Payload) {
+                Payload that = (Payload) obj;
+                return (this.format == that.format) && Arrays.equals(this.bytes, that.bytes);
+            } else {
+                return false;
+            }
+
+        }
+
+        @Override
+        public int hashCode() {
+
+            return this.hash;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,1241 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (Repository.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import net.time4j.Moment;
+import net.time4j.PlainDate;
+import net.time4j.base.GregorianDate;
+import net.time4j.scale.TimeScale;
+import net.time4j.tz.TransitionHistory;
+import net.time4j.tz.ZonalTransition;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+
+/**
+ * <p>Immutable content of a parsed timezone repository file. </p>
+ *
+ * <p>Two formats are supported. Format v2 stores every zone as Java-serialized
+ * {@code TransitionHistory}. Format v3 has the same layout but marks itself by an empty
+ * version string directly after the magic label {@code tzrepo}, followed by the format
+ * number and the real version string. Its zone payloads are encoded by the
+ * {@link CompactHistoryCodec}. Format v4 stores the compact payloads of format v3 as separately
+ * deflated blocks behind an uncompressed index of zone ids, raw lengths and block lengths. The
+ * blocks are only inflated when a zone is loaded for the first time. </p>
+ *
+ * <p>Deserialized transition histories are memoized in an attached cache such that
+ * all providers sharing the same repository also share the decoded histories. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class Repository {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    /**
+     * Format with Java-serialized zone payloads.
+     */
+    static final int FORMAT_V2 = 2;
+
+    /**
+     * Format with compact zone payloads.
+     */
+    static final int FORMAT_V3 = 3;
+
+    /**
+     * Format with compact zone payloads which are compressed zone by zone behind an uncompressed index.
+     */
+    static final int FORMAT_V4 = 4;
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final int format;
+    private final String version;
+    private final String location;
+    private final PayloadStore payloads;
+    private final Map<String, String> aliases;
+    private final Map<GregorianDate, Integer> leapsecs;
+    private final LeapSecondIndex leapIndex;
+    private final PlainDate expires;
+    private final HistoryCache cache;
+    private final AtomicReference<CompletableFuture<Void>> warmUpAll = new AtomicReference<>();
+    private final ConcurrentMap<String, TransitionHistory> pinned = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> contentHashes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ZoneOffsetIndex> offsetIndexes = new ConcurrentHashMap<>();
+    private final RepositoryStatistics statistics = new RepositoryStatistics();
+    private volatile AliasIndex aliasIndex;
+    private final Object summaryLock = new Object();
+    private volatile ZoneSummaryTable summaries;
+    private volatile ZoneCandidateIndex candidateIndex;
+    private final Object transitionLock = new Object();
+    private volatile GlobalTransitionIndex transitionIndex;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private Repository(
+        int format,
+        String version,
+        String location,
+        PayloadStore payloads,
+        Map<String, String> aliases,
+        Map<GregorianDate, Integer> leapsecs,
+        PlainDate expires,
+        HistoryCache cache
+    ) {
+        super();
+
+        this.format = format;
+        this.version = version;
+        this.location = location;
+        this.payloads = payloads;
+        this.aliases = Collections.unmodifiableMap(aliases);
+        this.leapsecs = Collections.unmodifiableMap(leapsecs);
+        this.leapIndex = LeapSecondIndex.of(leapsecs);
+        this.expires = expires;
+        this.cache = cache;
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Reads the repository from given stream but keeps only the zones accepted by given filter. </p>
+     *
+     * @param   is          input stream (will not be closed)
+     * @param   location    description of the source
+     * @param   noLeaps     shall the leap second section be ignored?
+     * @param   storage     determines how the zone payloads are kept in memory
+     * @param   filter      determines which zones are kept
+     * @param   cache       empty cache for the deserialized histories of the new repository
+     * @return  parsed repository
+     * @throws  IOException in any case of I/O-errors or if the data are not valid
+     */
+    static Repository read(
+        InputStream is,
+        String location,
+        boolean noLeaps,
+        PayloadStore.Storage storage,
+        ZoneFilter filter,
+        HistoryCache cache
+    ) throws IOException {
+
+        DataInputStream dis = new DataInputStream(is);
+        checkMagicLabel(dis, location);
+        String v = dis.readUTF();
+        int format = readFormat(dis, v, location);
+        v = ((format == FORMAT_V2) ? v : dis.readUTF());
+        int sizeOfZones = dis.readInt();
+
+        List<String> zones = new ArrayList<>(sizeOfZones);
+        BlockIndex index = ((format == FORMAT_V4) ? BlockIndex.read(dis, sizeOfZones) : null);
+        PayloadStore payloads;
+
+        if ((storage == PayloadStore.Storage.MAP) || (storage == PayloadStore.Storage.POOL)) {
+            Map<String, byte[]> data = new HashMap<>();
+
+            for (int i = 0; i < sizeOfZones; i++) {
+                String zoneID = ((index == null) ? dis.readUTF() : index.ids[i]);
+                int dataLen = ((index == null) ? dis.readInt() : index.blockLengths[i]);
+                zones.add(zoneID);
+                if (filter.accepts(zoneID)) {
+                    byte[] dataBuf = new byte[dataLen];
+                    dis.readFully(dataBuf);
+                    data.put(zoneID, dataBuf);
+                } else {
+                    skipFully(dis, dataLen, zoneID);
+                }
+            }
+
+            payloads = createStore(format, data, storage);
+        } else {
+            byte[] arena = new byte[Math.max(sizeOfZones, 16) * 256]; // rough estimate, grows if needed
+            List<String> retained = new ArrayList<>(sizeOfZones);
+            int[] starts = new int[sizeOfZones];
+            int size = 0;
+
+            for (int i = 0; i < sizeOfZones; i++) {
+                String zoneID = ((index == null) ? dis.readUTF() : index.ids[i]);
+                int dataLen = ((index == null) ? dis.readInt() : index.blockLengths[i]);
+                zones.add(zoneID);
+                if (dataLen < 0) {
+                    throw new IOException("Invalid data length: " + zoneID);
+                } else if (!filter.accepts(zoneID)) {
+                    skipFully(dis, dataLen, zoneID);
+                    continue;
+                } else if (size + dataLen > arena.length) {
+                    arena = Arrays.copyOf(arena, Math.max(arena.length * 2, size + dataLen));
+                }
+                dis.readFully(arena, size, dataLen);
+                starts[retained.size()] = size;
+                retained.add(zoneID);
+                size += dataLen;
+            }
+
+            payloads = new ArenaPayloadStore(retained, arena, size, starts, storage == PayloadStore.Storage.DIRECT);
+        }
+
+        return readTail(dis, format, v, location, zones, BlockIndex.wrap(payloads, index), noLeaps, filter, cache);
+
+    }
+
+    /**
+     * <p>Materializes a new repository by applying a delta file to given base repository. </p>
+     *
+     * @param   base        base repository the delta refers to
+     * @param   is          input stream of the delta (will not be closed)
+     * @param   location    description of the source
+     * @param   noLeaps     shall the leap second section be ignored?
+     * @param   storage     determines how the zone payloads are kept in memory
+     * @param   filter      determines which new or changed zones are kept
+     * @param   cache       empty cache for the deserialized histories of the new repository
+     * @return  patched repository
+     * @throws  IOException in any case of I/O-errors or if the delta does not fit to the base
+     */
+    static Repository patch(
+        Repository base,
+        InputStream is,
+        String location,
+        boolean noLeaps,
+        PayloadStore.Storage storage,
+        ZoneFilter filter,
+        HistoryCache cache
+    ) throws IOException {
+
+        DataInputStream dis = new DataInputStream(is);
+        String baseVersion = RepositoryDelta.readHeader(dis, location);
+
+        if (!baseVersion.equals(base.version)) {
+            throw new IOException(
+                "Delta requires base version " + baseVersion + " but found " + base.version + ": " + location);
+        }
+
+        String version = dis.readUTF();
+        int format = dis.readUnsignedByte();
+
+        if (format != base.format) {
+            throw new IOException("Delta and base repository have different formats: " + location);
+        }
+
+        Map<String, byte[]> data = new HashMap<>();
+
+        for (String zoneID : base.payloads.getZoneIDs()) {
+            byte[] bytes = base.payloads.get(zoneID);
+            if (bytes == null) {
+                throw new IOException("Released zone data of base repository cannot be patched: " + zoneID);
+            }
+            data.put(zoneID, bytes);
+        }
+
+        int sizeOfRemoved = dis.readInt();
+
+        for (int i = 0; i < sizeOfRemoved; i++) {
+            data.remove(dis.readUTF());
+        }
+
+        int sizeOfChanged = dis.readInt();
+
+        for (int i = 0; i < sizeOfChanged; i++) {
+            String zoneID = dis.readUTF();
+            int dataLen = dis.readInt();
+            if (filter.accepts(zoneID)) {
+                byte[] bytes = new byte[dataLen];
+                dis.readFully(bytes);
+                data.put(zoneID, bytes);
+            } else {
+                skipFully(dis, dataLen, zoneID);
+            }
+        }
+
+        Map<String, String> aliases = new HashMap<>(base.aliases);
+        int sizeOfRemovedLinks = dis.readInt();
+
+        for (int i = 0; i < sizeOfRemovedLinks; i++) {
+            aliases.remove(dis.readUTF());
+        }
+
+        int sizeOfChangedLinks = dis.readInt();
+
+        for (int i = 0; i < sizeOfChangedLinks; i++) {
+            String alias = dis.readUTF();
+            aliases.put(alias, dis.readUTF());
+        }
+
+        for (Iterator<String> iter = aliases.values().iterator(); iter.hasNext(); ) {
+            String id = iter.next();
+            if (data.containsKey(id)) {
+                continue;
+            } else if (filter.accepts(id)) {
+                throw new IOException("Link target not found: " + id + " in " + location);
+            }
+            iter.remove(); // link into the filtered zones
+        }
+
+        Map<GregorianDate, Integer> leapsecs = base.leapsecs;
+        PlainDate expires = base.expires;
+
+        if (dis.readBoolean()) {
+            Map<GregorianDate, Integer> table = new LinkedHashMap<>(50);
+            PlainDate date = readLeapSeconds(dis, table);
+            if (!noLeaps) {
+                leapsecs = table;
+                expires = date;
+            }
+        }
+
+        PayloadStore payloads = createStore(format, data, storage);
+        return new Repository(format, version, location, payloads, aliases, leapsecs, expires, cache);
+
+    }
+
+    /**
+     * <p>Maps given repository file into memory and only scans the headers of zone payloads. </p>
+     *
+     * @param   file        repository file
+     * @param   location    description of the source
+     * @param   noLeaps     shall the leap second section be ignored?
+     * @param   filter      determines which zones are kept
+     * @param   cache       empty cache for the deserialized histories of the new repository
+     * @return  parsed repository
+     * @throws  IOException in any case of I/O-errors or if the data are not valid
+     */
+    static Repository map(
+        File file,
+        String location,
+        boolean noLeaps,
+        ZoneFilter filter,
+        HistoryCache cache
+    ) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ByteBuffer cursor = buffer.duplicate();
+            DataInputStream dis = new DataInputStream(new BufferInput(cursor));
+            checkMagicLabel(dis, location);
+            String v = dis.readUTF();
+            int format = readFormat(dis, v, location);
+            v = ((format == FORMAT_V2) ? v : dis.readUTF());
+            int sizeOfZones = dis.readInt();
+
+            List<String> zones = new ArrayList<>(sizeOfZones);
+            BlockIndex blocks = ((format == FORMAT_V4) ? BlockIndex.read(dis, sizeOfZones) : null);
+            Map<String, Integer> index = new HashMap<>();
+            int[] offsets = new int[sizeOfZones];
+            int[] lengths = new int[sizeOfZones];
+
+            for (int i = 0; i < sizeOfZones; i++) {
+                String zoneID = ((blocks == null) ? dis.readUTF() : blocks.ids[i]);
+                int dataLen = ((blocks == null) ? dis.readInt() : blocks.blockLengths[i]);
+                int pos = cursor.position();
+                if (dataLen > cursor.remaining()) {
+                    throw new IOException("Incomplete data: " + zoneID);
+                }
+                cursor.position(pos + dataLen);
+                zones.add(zoneID);
+                if (filter.accepts(zoneID)) {
+                    index.put(zoneID, Integer.valueOf(i));
+                }
+                offsets[i] = pos;
+                lengths[i] = dataLen;
+            }
+
+            PayloadStore payloads = new MappedPayloadStore(buffer, index, offsets, lengths);
+            return readTail(dis, format, v, location, zones, BlockIndex.wrap(payloads, blocks), noLeaps, filter, cache);
+        }
+
+    }
+
+    /**
+     * <p>Yields the format of the underlying repository file. </p>
+     *
+     * @return  {@link #FORMAT_V2}, {@link #FORMAT_V3} or {@link #FORMAT_V4}
+     */
+    int getFormat() {
+
+        return this.format;
+
+    }
+
+    /**
+     * <p>Yields the tzdb-version. </p>
+     *
+     * @return  String like &quot;2026b&quot;
+     */
+    String getVersion() {
+
+        return this.version;
+
+    }
+
+    /**
+     * <p>Describes the source of this repository. </p>
+     *
+     * @return  String
+     */
+    String getLocation() {
+
+        return this.location;
+
+    }
+
+    /**
+     * <p>Yields the load and decode metrics of this repository. </p>
+     *
+     * @return  RepositoryStatistics
+     */
+    RepositoryStatistics getStatistics() {
+
+        return this.statistics;
+
+    }
+
+    /**
+     * <p>Yields the raw zone payloads. </p>
+     *
+     * @return  PayloadStore
+     */
+    PayloadStore getPayloads() {
+
+        return this.payloads;
+
+    }
+
+    /**
+     * <p>Loads the transition history of given zone. </p>
+     *
+     * @param   zoneID      timezone id
+     * @return  transition history or {@code null} if the zone is unknown
+     * @throws  IllegalStateException if the zone data cannot be deserialized
+     */
+    TransitionHistory load(String zoneID) {
+
+        if (!this.payloads.getZoneIDs().contains(zoneID)) {
+            return null;
+        }
+
+        this.statistics.recordLoad(zoneID);
+        TransitionHistory warm = this.pinned.get(zoneID);
+
+        if (warm != null) { // warmed up, independent of the cache policy
+            return warm;
+        }
+
+        Object event = RepositoryEvents.beginZoneLoad();
+        TransitionHistory history;
+
+        if (event == null) {
+            history = this.cache.get(zoneID, this::deserialize);
+        } else {
+            int[] payloadSize = {-1};
+            long[] decodeNanos = {-1L}; // remains negative in case of a cache hit
+            history = this.cache.get(
+                zoneID,
+                id -> {
+                    long start = System.nanoTime();
+                    TransitionHistory h = this.deserialize(id, payloadSize);
+                    decodeNanos[0] = System.nanoTime() - start;
+                    return h;
+                });
+            RepositoryEvents.commitZoneLoad(event, zoneID, payloadSize[0], decodeNanos[0]);
+        }
+
+        if (this.cache.isReleasing() && (history != null)) {
+            this.payloads.release(zoneID); // strongly cached from now on
+        }
+
+        return history;
+
+    }
+
+    /**
+     * <p>Yields a stable hash of the content of given zone. </p>
+     *
+     * <p>The hash is the hex-encoded SHA-256-digest of a canonical form which only uses the
+     * public data of the history: the initial offset, all transitions from 1800 until the start
+     * of the year {@link ZoneOffsetIndex#HORIZON_YEAR} and the first transition thereafter. Equal
+     * histories have equal hashes independent of the repository format, the tzdb-version and
+     * the zone id. </p>
+     *
+     * @param   zoneID      timezone id
+     * @return  lower-case hex string with 64 digits or {@code null} if the zone is unknown
+     * @throws  IllegalStateException if the zone data cannot be encoded
+     */
+    String getContentHash(String zoneID) {
+
+        if (!this.payloads.getZoneIDs().contains(zoneID)) {
+            return null;
+        }
+
+        return this.contentHashes.computeIfAbsent(zoneID, this::computeContentHash);
+
+    }
+
+    /**
+     * <p>Yields the primitive offset index of given zone which is built once per repository. </p>
+     *
+     * @param   zoneID      timezone id
+     * @return  ZoneOffsetIndex or {@code null} if the zone is unknown
+     * @throws  IllegalStateException if the zone data cannot be read
+     */
+    ZoneOffsetIndex getOffsetIndex(String zoneID) {
+
+        ZoneOffsetIndex index = this.offsetIndexes.get(zoneID);
+
+        if (index == null) {
+            TransitionHistory history = this.load(zoneID);
+
+            if (history == null) {
+                return null;
+            }
+
+            index = ZoneOffsetIndex.of(history);
+            ZoneOffsetIndex old = this.offsetIndexes.putIfAbsent(zoneID, index);
+
+            if (old != null) {
+                index = old;
+            }
+        }
+
+        return index;
+
+    }
+
+    /**
+     * <p>Loads all given zones in parallel on the common fork-join-pool and pins them. </p>
+     *
+     * <p>Pinned histories are strongly referenced by this repository independent of the
+     * cache policy so that later lookups are just map reads. Unknown zone ids are silently
+     * ignored. If all zones are requested then the warm-up will only be started once for
+     * this repository. </p>
+     *
+     * @param   zoneIDs     timezone ids to be loaded ({@code null} means all zones)
+     * @return  future which completes when all zones are deserialized and pinned
+     */
+    CompletableFuture<Void> warmUp(Collection<String> zoneIDs) {
+
+        if (zoneIDs != null) {
+            return this.loadInParallel(zoneIDs);
+        }
+
+        CompletableFuture<Void> all = this.warmUpAll.get();
+
+        if (all == null) {
+            CompletableFuture<Void> created = new CompletableFuture<>();
+
+            if (this.warmUpAll.compareAndSet(null, created)) {
+                this.loadInParallel(this.payloads.getZoneIDs()).whenComplete(
+                    (result, error) -> {
+                        if (error == null) {
+                            created.complete(null);
+                        } else {
+                            created.completeExceptionally(error);
+                        }
+                    }
+                );
+            }
+
+            all = this.warmUpAll.get();
+        }
+
+        return all;
+
+    }
+
+    /**
+     * <p>Takes over all cached histories of the replaced repository whose zone payloads
+     * are byte-identical in this repository. </p>
+     *
+     * <p>Must be called before this repository is published. The histories of all other zones
+     * are effectively invalidated and will be deserialized again from this repository. </p>
+     *
+     * @param   previous    replaced repository
+     * @return  count of zones which were changed, added or removed
+     */
+    int adopt(Repository previous) {
+
+        int changed = 0;
+
+        for (String zoneID : this.payloads.getZoneIDs()) {
+            byte[] old = previous.payloads.get(zoneID); // null if removed or already released
+
+            if ((old != null) && Arrays.equals(old, this.payloads.get(zoneID))) {
+                this.cache.adopt(previous.cache, zoneID);
+                TransitionHistory warm = previous.pinned.get(zoneID);
+                if (warm != null) {
+                    this.pinned.put(zoneID, warm);
+                }
+            } else {
+                changed++;
+            }
+        }
+
+        for (String zoneID : previous.payloads.getZoneIDs()) {
+            if (!this.payloads.getZoneIDs().contains(zoneID)) {
+                changed++;
+            }
+        }
+
+        return changed;
+
+    }
+
+    /**
+     * <p>Yields the cache of deserialized histories. </p>
+     *
+     * @return  HistoryCache
+     */
+    HistoryCache getCache() {
+
+        return this.cache;
+
+    }
+
+    /**
+     * <p>Yields the unmodifiable alias table. </p>
+     *
+     * @return  map from alias to zone id
+     */
+    Map<String, String> getAliases() {
+
+        return this.aliases;
+
+    }
+
+    /**
+     * <p>Yields the precomputed alias index which is built on first access. </p>
+     *
+     * @return  AliasIndex
+     */
+    AliasIndex getAliasIndex() {
+
+        AliasIndex index = this.aliasIndex;
+
+        if (index == null) { // racy single-check is fine because the index is immutable
+            index = AliasIndex.of(this.payloads.getZoneIDs(), this.aliases);
+            this.aliasIndex = index;
+        }
+
+        return index;
+
+    }
+
+    /**
+     * <p>Yields the summary table of all zones for the period which covers given posix time. </p>
+     *
+     * <p>The table is built on first access and rebuilt as soon as given posix time leaves
+     * its period. Every period starts at midnight UTC. Concurrent requests wait for one
+     * thread building the table. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  ZoneSummaryTable
+     * @throws  IllegalStateException if any zone cannot be read
+     */
+    ZoneSummaryTable getZoneSummaries(long posixTime) {
+
+        ZoneSummaryTable table = this.summaries;
+
+        if ((table == null) || !table.covers(posixTime)) {
+            synchronized (this.summaryLock) {
+                table = this.summaries;
+                if ((table == null) || !table.covers(posixTime)) {
+                    long validFrom = Math.floorDiv(posixTime, 86400L) * 86400L;
+                    table = ZoneSummaryTable.of(this.payloads.getZoneIDs(), this::load, validFrom);
+                    this.summaries = table;
+                }
+            }
+        }
+
+        return table;
+
+    }
+
+    /**
+     * <p>Yields the global transition index of all zones. </p>
+     *
+     * <p>Only the index of the most recently requested horizon year is kept. Concurrent
+     * requests wait for one thread building the index. </p>
+     *
+     * @param   horizonYear     year until which rule-based transitions are expanded (exclusive)
+     * @return  GlobalTransitionIndex
+     * @throws  IllegalArgumentException if the horizon year is out of range
+     * @throws  IllegalStateException if any zone cannot be read
+     */
+    GlobalTransitionIndex getTransitionIndex(int horizonYear) {
+
+        GlobalTransitionIndex.checkHorizon(horizonYear);
+        GlobalTransitionIndex index = this.transitionIndex;
+
+        if ((index == null) || (index.getHorizonYear() != horizonYear)) {
+            synchronized (this.transitionLock) {
+                index = this.transitionIndex;
+                if ((index == null) || (index.getHorizonYear() != horizonYear)) {
+                    index = GlobalTransitionIndex.of(this.payloads.getZoneIDs(), this::load, horizonYear);
+                    this.transitionIndex = index;
+                }
+            }
+        }
+
+        return index;
+
+    }
+
+    /**
+     * <p>Yields the reverse lookup index from observed offsets to zones which is built on first access. </p>
+     *
+     * @return  ZoneCandidateIndex
+     * @throws  IllegalStateException if any zone cannot be read
+     */
+    ZoneCandidateIndex getCandidateIndex() {
+
+        ZoneCandidateIndex index = this.candidateIndex;
+
+        if (index == null) { // racy single-check is fine because the index is immutable
+            index = ZoneCandidateIndex.of(this.payloads.getZoneIDs(), this::getOffsetIndex);
+            this.candidateIndex = index;
+        }
+
+        return index;
+
+    }
+
+    /**
+     * <p>Yields the unmodifiable leap second table. </p>
+     *
+     * @return  map from event date to shift (empty if leap seconds are ignored)
+     */
+    Map<GregorianDate, Integer> getLeapSecondTable() {
+
+        return this.leapsecs;
+
+    }
+
+    /**
+     * <p>Yields the primitive form of the leap second table. </p>
+     *
+     * @return  LeapSecondIndex (empty if leap seconds are ignored)
+     */
+    LeapSecondIndex getLeapSecondIndex() {
+
+        return this.leapIndex;
+
+    }
+
+    /**
+     * <p>Yields the expiration date of the leap second table. </p>
+     *
+     * @return  PlainDate
+     */
+    PlainDate getDateOfExpiration() {
+
+        return this.expires;
+
+    }
+
+    private CompletableFuture<Void> loadInParallel(Collection<String> zoneIDs) {
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(zoneIDs.size());
+
+        for (String zoneID : zoneIDs) {
+            tasks.add(CompletableFuture.runAsync(() -> this.pin(zoneID), ForkJoinPool.commonPool()));
+        }
+
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[tasks.size()]));
+
+    }
+
+    private void pin(String zoneID) {
+
+        TransitionHistory history = this.load(zoneID);
+
+        if (history != null) {
+            this.pinned.putIfAbsent(zoneID, history);
+        }
+
+    }
+
+    private TransitionHistory deserialize(String zoneID) {
+
+        return this.deserialize(zoneID, null);
+
+    }
+
+    // payloadSize: optional sink for the size of the raw payload (untouched if the store shares the history)
+    private TransitionHistory deserialize(
+        String zoneID,
+        int[] payloadSize
+    ) {
+
+        long start = System.nanoTime();
+        Function<byte[], TransitionHistory> decoder = this::decode;
+
+        if (payloadSize != null) {
+            decoder =
+                bytes -> {
+                    payloadSize[0] = bytes.length;
+                    return this.decode(bytes);
+                };
+        }
+
+        TransitionHistory history = HistoryInterner.intern(this.payloads.decode(zoneID, decoder));
+        this.statistics.recordDecode(zoneID, System.nanoTime() - start);
+        return history;
+
+    }
+
+    private String computeContentHash(String zoneID) {
+
+        TransitionHistory history = this.load(zoneID);
+        Moment from = Moment.of(ZoneOffsetIndex.LOWER_BOUND, TimeScale.POSIX);
+        Moment end = PlainDate.of(ZoneOffsetIndex.HORIZON_YEAR, 1, 1).atStartOfDay().atUTC();
+
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            DataOutputStream dos = new DataOutputStream(baos);
+            dos.writeInt(history.getInitialOffset().getIntegralAmount());
+            dos.writeInt(history.getInitialOffset().getFractionalAmount());
+            writeCanonical(history.getStartTransition(from), dos);
+            List<ZonalTransition> transitions = history.getTransitions(from, end);
+            dos.writeInt(transitions.size());
+            for (ZonalTransition t : transitions) {
+                writeCanonical(t, dos);
+            }
+            writeCanonical(history.findNextTransition(end).orElse(null), dos);
+            dos.flush();
+
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(baos.toByteArray());
+            StringBuilder sb = new StringBuilder(64);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+                sb.append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new AssertionError(ex); // SHA-256 is always supported
+        }
+
+    }
+
+    private static void writeCanonical(
+        ZonalTransition transition,
+        DataOutputStream dos
+    ) throws IOException {
+
+        dos.writeBoolean(transition != null);
+
+        if (transition != null) {
+            dos.writeLong(transition.getPosixTime());
+            dos.writeInt(transition.getPreviousOffset());
+            dos.writeInt(transition.getTotalOffset());
+            dos.writeInt(transition.getDaylightSavingOffset());
+        }
+
+    }
+
+    private TransitionHistory decode(byte[] bytes) {
+
+        try {
+            if (this.format != FORMAT_V2) {
+                return CompactHistoryCodec.decode(bytes);
+            }
+            ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes));
+            return (TransitionHistory) ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+
+    }
+
+    private static PayloadStore createStore(
+        int format,
+        Map<String, byte[]> data,
+        PayloadStore.Storage storage
+    ) {
+
+        switch (storage) {
+            case POOL:
+                return new PooledPayloadStore(format, data);
+            case ARENA:
+            case DIRECT:
+                List<String> zones = new ArrayList<>(data.keySet());
+                int[] starts = new int[zones.size()];
+                int size = 0;
+                for (int i = 0; i < starts.length; i++) {
+                    starts[i] = size;
+                    size += data.get(zones.get(i)).length;
+                }
+                byte[] arena = new byte[size];
+                for (int i = 0; i < starts.length; i++) {
+                    byte[] bytes = data.get(zones.get(i));
+                    System.arraycopy(bytes, 0, arena, starts[i], bytes.length);
+                }
+                return new ArenaPayloadStore(zones, arena, size, starts, storage == PayloadStore.Storage.DIRECT);
+            default:
+                return new HeapPayloadStore(data);
+        }
+
+    }
+
+    private static Repository readTail(
+        DataInputStream dis,
+        int format,
+        String version,
+        String location,
+        List<String> zones,
+        PayloadStore payloads,
+        boolean noLeaps,
+        ZoneFilter filter,
+        HistoryCache cache
+    ) throws IOException {
+
+        Map<String, String> aliases = new HashMap<>();
+        int sizeOfLinks = dis.readShort();
+
+        for (int i = 0; i < sizeOfLinks; i++) {
+            String alias = dis.readUTF();
+            String id = zones.get(dis.readShort());
+            if (filter.accepts(id)) {
+                aliases.put(alias, id);
+            }
+        }
+
+        Map<GregorianDate, Integer> leapsecs;
+        PlainDate expires = PlainDate.axis().getMinimum();
+
+        if (noLeaps) {
+            leapsecs = Collections.emptyMap();
+        } else {
+            leapsecs = new LinkedHashMap<>(50);
+            expires = readLeapSeconds(dis, leapsecs);
+        }
+
+        return new Repository(format, version, location, payloads, aliases, leapsecs, expires, cache);
+
+    }
+
+    /**
+     * <p>Skips the payload of a filtered zone without reading it into memory. </p>
+     *
+     * @param   dis         input positioned at the start of the payload
+     * @param   length      length of the payload
+     * @param   zoneID      timezone id (for error messages)
+     * @throws  IOException in any case of I/O-errors or if the length is not valid
+     */
+    static void skipFully(
+        DataInputStream dis,
+        int length,
+        String zoneID
+    ) throws IOException {
+
+        if (length < 0) {
+            throw new IOException("Invalid data length: " + zoneID);
+        }
+
+        int remaining = length;
+
+        while (remaining > 0) {
+            int skipped = dis.skipBytes(remaining);
+            if (skipped <= 0) {
+                dis.readByte(); // throws EOFException at the end of the stream
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+
+    }
+
+    /**
+     * <p>Reads the leap second section including the expiration date. </p>
+     *
+     * @param   dis         input positioned at the start of the leap second section
+     * @param   leapsecs    target map for leap second events
+     * @return  expiration date
+     * @throws  IOException in any case of I/O-errors
+     */
+    static PlainDate readLeapSeconds(
+        DataInputStream dis,
+        Map<GregorianDate, Integer> leapsecs
+    ) throws IOException {
+
+        int sizeOfLeaps = dis.readShort();
+
+        for (int i = 0; i < sizeOfLeaps; i++) {
+            int year = dis.readShort();
+            int month = dis.readByte();
+            int dom = dis.readByte();
+            int shift = dis.readByte();
+
+            leapsecs.put(
+                PlainDate.of(year, month, dom),
+                shift);
+        }
+
+        int year = dis.readShort();
+        int month = dis.readByte();
+        int dom = dis.readByte();
+        return PlainDate.of(year, month, dom);
+
+    }
+
+    /**
+     * <p>Writes the leap second section including the expiration date. </p>
+     *
+     * @param   dos         output positioned at the start of the leap second section
+     * @param   leapsecs    leap second events in chronological order
+     * @param   expires     expiration date
+     * @throws  IOException in any case of I/O-errors
+     */
+    static void writeLeapSeconds(
+        DataOutputStream dos,
+        Map<GregorianDate, Integer> leapsecs,
+        PlainDate expires
+    ) throws IOException {
+
+        dos.writeShort(leapsecs.size());
+
+        for (Map.Entry<GregorianDate, Integer> entry : leapsecs.entrySet()) {
+            GregorianDate date = entry.getKey();
+            dos.writeShort(date.getYear());
+            dos.writeByte(date.getMonth());
+            dos.writeByte(date.getDayOfMonth());
+            dos.writeByte(entry.getValue().intValue());
+        }
+
+        dos.writeShort(expires.getYear());
+        dos.writeByte(expires.getMonth());
+        dos.writeByte(expires.getDayOfMonth());
+
+    }
+
+    /**
+     * <p>Determines the format after the magic label and the first version string
+     * have been read. </p>
+     *
+     * @param   dis         input positioned directly behind the first version string
+     * @param   version     first version string (empty if the format number follows)
+     * @param   location    description of the source
+     * @return  format number
+     * @throws  IOException if the format is not supported
+     */
+    static int readFormat(
+        DataInputStream dis,
+        String version,
+        String location
+    ) throws IOException {
+
+        if (!version.isEmpty()) {
+            return FORMAT_V2;
+        }
+
+        int format = dis.readUnsignedByte();
+
+        if ((format != FORMAT_V3) && (format != FORMAT_V4)) {
+            throw new IOException("Unsupported format of tz-repository (" + format + "): " + location);
+        }
+
+        return format;
+
+    }
+
+    static void checkMagicLabel(
+        DataInputStream dis,
+        String location
+    ) throws IOException {
+
+        int b1 = dis.readByte();
+        int b2 = dis.readByte();
+        int b3 = dis.readByte();
+        int b4 = dis.readByte();
+        int b5 = dis.readByte();
+        int b6 = dis.readByte();
+
+        if (
+            (b1 != 't')
+            || (b2 != 'z')
+            || (b3 != 'r')
+            || (b4 != 'e')
+            || (b5 != 'p')
+            || (b6 != 'o')
+        )  {
+            throw new IOException("Invalid tz-repository: " + location);
+        }
+
+    }
+
+    //~ Innere Klassen ----------------------------------------------------
+
+    /**
+     * <p>Uncompressed index in front of the compressed zone blocks of format v4. </p>
+     */
+    static class BlockIndex {
+
+        //~ Instanzvariablen ----------------------------------------------
+
+        final String[] ids;
+        final int[] rawLengths;
+        final int[] blockLengths;
+
+        //~ Konstruktoren -------------------------------------------------
+
+        private BlockIndex(int size) {
+            super();
+
+            this.ids = new String[size];
+            this.rawLengths = new int[size];
+            this.blockLengths = new int[size];
+
+        }
+
+        //~ Methoden ------------------------------------------------------
+
+        /**
+         * <p>Reads the index. </p>
+         *
+         * @param   dis     input positioned directly behind the count of zones
+         * @param   size    count of zones
+         * @return  BlockIndex
+         * @throws  IOException in any case of I/O-errors or if the data are not valid
+         */
+        static BlockIndex read(
+            DataInputStream dis,
+            int size
+        ) throws IOException {
+
+            BlockIndex index = new BlockIndex(size);
+
+            for (int i = 0; i < size; i++) {
+                index.ids[i] = dis.readUTF();
+                index.rawLengths[i] = dis.readInt();
+                index.blockLengths[i] = dis.readInt();
+                if ((index.rawLengths[i] < 0) || (index.blockLengths[i] < 0)) {
+                    throw new IOException("Invalid data length: " + index.ids[i]);
+                }
+            }
+
+            return index;
+
+        }
+
+        /**
+         * <p>Wraps given store of compressed blocks such that all payloads are inflated on access. </p>
+         *
+         * @param   blocks  store of compressed blocks
+         * @param   index   block index or {@code null} if the payloads are not compressed
+         * @return  PayloadStore
+         */
+        static PayloadStore wrap(
+            PayloadStore blocks,
+            BlockIndex index
+        ) {
+
+            if (index == null) {
+                return blocks;
+            }
+
+            Map<String, Integer> rawLengths = new HashMap<>(index.ids.length * 4 / 3 + 1);
+
+            for (int i = 0; i < index.ids.length; i++) {
+                rawLengths.put(index.ids[i], Integer.valueOf(index.rawLengths[i]));
+            }
+
+            return new CompressedPayloadStore(blocks, rawLengths);
+
+        }
+
+    }
+
+    private static class BufferInput
+        extends InputStream {
+
+        //~ Instanzvariablen ----------------------------------------------
+
+        private final ByteBuffer buffer;
+
+        //~ Konstruktoren -------------------------------------------------
+
+        BufferInput(ByteBuffer buffer) {
+            super();
+
+            this.buffer = buffer;
+
+        }
+
+        //~ Methoden ------------------------------------------------------
+
+        @Override
+        public int read() {
+
+            return (this.buffer.hasRemaining() ? (this.buffer.get() & 0xFF) : -1);
+
+        }
+
+        @Override
+        public int read(
+            byte[] b,
+            int off,
+            int len
+        ) {
+
+            if (len == 0) {
+                return 0;
+            } else if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+
+            int n = Math.min(len, this.buffer.remaining());
+            this.buffer.get(b, off, n);
+            return n;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,331 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (RepositoryConverter.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import net.time4j.tz.TransitionHistory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * <p>Converts timezone repository files of format v2 (Java-serialized zone data) into
+ * the compact format v3 which can be read without Java serialization. </p>
+ *
+ * <p>The converter can be started from the command line with repository files or
+ * directories containing such files as arguments. Every file will be rewritten in place.
+ * Files which are already in format v3 remain unchanged. With the option {@code -compress}
+ * the files will be written in the compressed format v4 instead. Example: </p>
+ *
+ * <pre>
+ *  java -cp time4j-base.jar:time4j-tzdata.jar net.time4j.tz.repo.RepositoryConverter src/test/resources/tzrepo
+ * </pre>
+ *
+ * <p>The conversion is opt-in only. The bundled repository stays in format v2, and format v3
+ * is not necessarily smaller than v2 (the option {@code -compress} is the way to reduce the size).
+ * Zones whose history cannot be stored in compact form keep their serialized form as embedded
+ * fallback which is reported as warning to the logger &quot;net.time4j.tz.repo&quot;. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+/*[deutsch]
+ * <p>Konvertiert Zeitzonendatenbank-Dateien des Formats v2 (mit Java-serialisierten
+ * Zeitzonendaten) in das kompakte Format v3, das ohne Java-Serialisierung gelesen
+ * werden kann. </p>
+ *
+ * <p>Der Konvertierer kann von der Kommandozeile aus mit Dateien oder Verzeichnissen
+ * als Argumenten gestartet werden. Jede Datei wird direkt &uuml;berschrieben. Dateien,
+ * die schon im Format v3 vorliegen, bleiben unver&auml;ndert. Mit der Option {@code -compress}
+ * werden die Dateien stattdessen im komprimierten Format v4 geschrieben. Beispiel: </p>
+ *
+ * <pre>
+ *  java -cp time4j-base.jar:time4j-tzdata.jar net.time4j.tz.repo.RepositoryConverter src/test/resources/tzrepo
+ * </pre>
+ *
+ * <p>Die Konvertierung erfolgt nur auf Wunsch. Die mitgelieferte Zeitzonendatenbank bleibt im
+ * Format v2, und das Format v3 ist nicht unbedingt kleiner als v2 (die Option {@code -compress}
+ * dient dazu, die Gr&ouml;&szlig;e zu verringern). Zeitzonen, deren Historie nicht in kompakter
+ * Form gespeichert werden kann, behalten ihre serialisierte Form als eingebettete Ausweichl&ouml;sung,
+ * was als Warnung an den Logger &quot;net.time4j.tz.repo&quot; gemeldet wird. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+public final class RepositoryConverter {
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private RepositoryConverter() {
+        // no instantiation
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Converts all given repository files or all repository files in given directories. </p>
+     *
+     * @param   args    paths to repository files or directories
+     * @throws  IOException in case of any I/O-errors or if any file is not a valid repository
+     */
+    /*[deutsch]
+     * <p>Konvertiert alle angegebenen Zeitzonendatenbank-Dateien oder alle solchen Dateien in
+     * den angegebenen Verzeichnissen. </p>
+     *
+     * @param   args    paths to repository files or directories
+     * @throws  IOException in case of any I/O-errors or if any file is not a valid repository
+     */
+    public static void main(String... args) throws IOException {
+
+        boolean compress = false;
+        int count = 0;
+
+        for (String arg : args) {
+            if (arg.equals("-compress")) {
+                compress = true;
+                continue;
+            }
+
+            File f = new File(arg);
+            File[] files;
+
+            if (f.isDirectory()) {
+                files = f.listFiles((dir, name) -> name.endsWith(".repository"));
+            } else {
+                files = new File[] {f};
+            }
+
+            if (files != null) {
+                for (File file : files) {
+                    convert(file, compress);
+                    System.out.println("Converted: " + file);
+                    count++;
+                }
+            }
+        }
+
+        if (count == 0) {
+            System.out.println("Usage: RepositoryConverter [-compress] <file-or-directory>...");
+        }
+
+    }
+
+    /**
+     * <p>Reads a repository from given input stream and writes it in format v3 to given output stream. </p>
+     *
+     * <p>Leap seconds, links and all other data behind the zone section are copied unchanged.
+     * Neither stream will be closed. </p>
+     *
+     * @param   in      source repository in format v2, v3 or v4
+     * @param   out     target for repository in format v3
+     * @throws  IOException in case of any I/O-errors or if the source is not a valid repository
+     * @see     #convert(InputStream, OutputStream, boolean)
+     */
+    /*[deutsch]
+     * <p>Liest eine Zeitzonendatenbank vom angegebenen Eingabestrom und schreibt sie im Format v3
+     * in den angegebenen Ausgabestrom. </p>
+     *
+     * <p>Schaltsekunden, Links und alle anderen Daten hinter den Zeitzonen werden
+     * unver&auml;ndert kopiert. Keiner der Str&ouml;me wird geschlossen. </p>
+     *
+     * @param   in      source repository in format v2, v3 or v4
+     * @param   out     target for repository in format v3
+     * @throws  IOException in case of any I/O-errors or if the source is not a valid repository
+     * @see     #convert(InputStream, OutputStream, boolean)
+     */
+    public static void convert(
+        InputStream in,
+        OutputStream out
+    ) throws IOException {
+
+        convert(in, out, false);
+
+    }
+
+    /**
+     * <p>Reads a repository from given input stream and writes it in format v3 or in the
+     * compressed format v4 to given output stream. </p>
+     *
+     * <p>Format v4 stores every compact zone payload as separately deflated block behind an
+     * uncompressed index. Such a file is smaller and cheaper to read at startup, and every
+     * block will only be inflated when its zone is loaded for the first time. Leap seconds,
+     * links and all other data behind the zone section are copied unchanged. Neither stream
+     * will be closed. </p>
+     *
+     * @param   in          source repository in format v2, v3 or v4
+     * @param   out         target for converted repository
+     * @param   compress    shall the target be written in the compressed format v4?
+     * @throws  IOException in case of any I/O-errors or if the source is not a valid repository
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Liest eine Zeitzonendatenbank vom angegebenen Eingabestrom und schreibt sie im Format v3
+     * oder im komprimierten Format v4 in den angegebenen Ausgabestrom. </p>
+     *
+     * <p>Das Format v4 speichert alle kompakten Zeitzonendaten als einzeln komprimierte Bl&ouml;cke
+     * hinter einem unkomprimierten Index. Eine solche Datei ist kleiner und beim Start billiger
+     * zu lesen, und jeder Block wird erst dann dekomprimiert, wenn seine Zeitzone zum ersten Mal
+     * geladen wird. Schaltsekunden, Links und alle anderen Daten hinter den Zeitzonen werden
+     * unver&auml;ndert kopiert. Keiner der Str&ouml;me wird geschlossen. </p>
+     *
+     * @param   in          source repository in format v2, v3 or v4
+     * @param   out         target for converted repository
+     * @param   compress    shall the target be written in the compressed format v4?
+     * @throws  IOException in case of any I/O-errors or if the source is not a valid repository
+     * @since   5.0-2026b
+     */
+    public static void convert(
+        InputStream in,
+        OutputStream out,
+        boolean compress
+    ) throws IOException {
+
+        DataInputStream dis = new DataInputStream(in);
+        DataOutputStream dos = new DataOutputStream(out);
+
+        Repository.checkMagicLabel(dis, "input stream");
+        String v = dis.readUTF();
+        int format = Repository.readFormat(dis, v, "input stream");
+
+        if (format != Repository.FORMAT_V2) {
+            v = dis.readUTF();
+        }
+
+        int sizeOfZones = dis.readInt();
+        Repository.BlockIndex index = (
+            (format == Repository.FORMAT_V4)
+            ? Repository.BlockIndex.read(dis, sizeOfZones)
+            : null);
+        String[] zones = new String[sizeOfZones];
+        byte[][] payloads = new byte[sizeOfZones][];
+        List<String> fallbacks = new ArrayList<>();
+
+        for (int i = 0; i < sizeOfZones; i++) {
+            String zoneID = ((index == null) ? dis.readUTF() : index.ids[i]);
+            byte[] payload = new byte[(index == null) ? dis.readInt() : index.blockLengths[i]];
+            dis.readFully(payload);
+
+            if (format == Repository.FORMAT_V2) {
+                payload = CompactHistoryCodec.encode(deserialize(zoneID, payload), payload);
+                if (CompactHistoryCodec.isFallback(payload)) {
+                    fallbacks.add(zoneID);
+                }
+            } else if (format == Repository.FORMAT_V4) {
+                payload = CompressedPayloadStore.inflate(zoneID, payload, index.rawLengths[i]);
+            }
+
+            zones[i] = zoneID;
+            payloads[i] = payload;
+        }
+
+        dos.writeBytes("tzrepo");
+        dos.writeUTF("");
+        dos.writeByte(compress ? Repository.FORMAT_V4 : Repository.FORMAT_V3);
+        dos.writeUTF(v);
+        dos.writeInt(sizeOfZones);
+
+        if (compress) {
+            byte[][] blocks = new byte[sizeOfZones][];
+
+            for (int i = 0; i < sizeOfZones; i++) {
+                blocks[i] = CompressedPayloadStore.deflate(payloads[i]);
+                dos.writeUTF(zones[i]);
+                dos.writeInt(payloads[i].length);
+                dos.writeInt(blocks[i].length);
+            }
+
+            for (byte[] block : blocks) {
+                dos.write(block);
+            }
+        } else {
+            for (int i = 0; i < sizeOfZones; i++) {
+                dos.writeUTF(zones[i]);
+                dos.writeInt(payloads[i].length);
+                dos.write(payloads[i]);
+            }
+        }
+
+        byte[] buffer = new byte[4096];
+        int n;
+
+        while ((n = dis.read(buffer)) != -1) {
+            dos.write(buffer, 0, n);
+        }
+
+        dos.flush();
+
+        if (!fallbacks.isEmpty()) {
+            RepositoryLog.warn(
+                "Converted tzdb-version " + v + " with serialized fallback for "
+                + fallbacks.size() + " zone(s): " + fallbacks,
+                null);
+        }
+
+    }
+
+    private static void convert(
+        File file,
+        boolean compress
+    ) throws IOException {
+
+        File tmp = new File(file.getPath() + ".tmp");
+
+        try (
+            InputStream in = new BufferedInputStream(new FileInputStream(file));
+            OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp))
+        ) {
+            convert(in, out, compress);
+        }
+
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+    }
+
+    private static TransitionHistory deserialize(
+        String zoneID,
+        byte[] serialized
+    ) throws IOException {
+
+        try {
+            ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serialized));
+            return (TransitionHistory) ois.readObject();
+        } catch (ClassNotFoundException ex) {
+            throw new IOException("Cannot deserialize: " + zoneID, ex);
+        }
+
+    }
+
+}
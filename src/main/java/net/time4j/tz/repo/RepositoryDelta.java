@@ -0,0 +1,280 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (RepositoryDelta.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+
+/**
+ * <p>Creates delta files which describe a timezone repository as patch of an older base repository. </p>
+ *
+ * <p>Most zones do not change between two tzdb-versions. A delta file only contains the removed
+ * zones, the added or changed zone payloads, the changed links and - if changed - the leap second
+ * table. If a repository file {@code tzdata{version}.repository} cannot be found but a delta file
+ * {@code tzdata{version}.delta} then {@code TimezoneRepositoryProviderSPI} will load the base
+ * version named in the delta (which can itself be a delta) and apply the delta. Example for
+ * creating a delta on the command line: </p>
+ *
+ * <pre>
+ *  java -cp time4j-base.jar:time4j-tzdata.jar net.time4j.tz.repo.RepositoryDelta
+ *      tzdata2025a.repository tzdata2026b.repository tzdata2026b.delta
+ * </pre>
+ *
+ * <p>Layout of a delta file: the magic label {@code tzdelt}, the delta format (byte, currently 1),
+ * base version and target version (UTF), the repository format of all payloads (byte), the removed
+ * zones (int count, UTF ids), the added or changed zones (int count, per zone the UTF id and the
+ * payload with int length), the removed links (int count, UTF aliases), the added or changed links
+ * (int count, UTF alias and UTF zone id per link), a boolean flag followed by the complete leap
+ * second section if the leap seconds or their expiration date have changed. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+/*[deutsch]
+ * <p>Erzeugt Delta-Dateien, die eine Zeitzonendatenbank als &Auml;nderung einer &auml;lteren
+ * Basisdatenbank beschreiben. </p>
+ *
+ * <p>Die meisten Zeitzonen &auml;ndern sich zwischen zwei tzdb-Versionen nicht. Eine Delta-Datei
+ * enth&auml;lt nur die entfernten Zeitzonen, die hinzugef&uuml;gten oder ge&auml;nderten Zeitzonendaten,
+ * die ge&auml;nderten Links und - falls ge&auml;ndert - die Schaltsekundentabelle. Kann eine Datei
+ * {@code tzdata{version}.repository} nicht gefunden werden, aber eine Delta-Datei
+ * {@code tzdata{version}.delta}, dann l&auml;dt {@code TimezoneRepositoryProviderSPI} die im Delta
+ * genannte Basisversion (die selbst ein Delta sein kann) und wendet das Delta an. Beispiel f&uuml;r
+ * die Erzeugung eines Deltas auf der Kommandozeile: </p>
+ *
+ * <pre>
+ *  java -cp time4j-base.jar:time4j-tzdata.jar net.time4j.tz.repo.RepositoryDelta
+ *      tzdata2025a.repository tzdata2026b.repository tzdata2026b.delta
+ * </pre>
+ *
+ * <p>Aufbau einer Delta-Datei: das magische Etikett {@code tzdelt}, das Delta-Format (byte, aktuell 1),
+ * Basisversion und Zielversion (UTF), das Datenbankformat aller Zeitzonendaten (byte), die entfernten
+ * Zeitzonen (int-Anzahl, UTF-Kennungen), die hinzugef&uuml;gten oder ge&auml;nderten Zeitzonen
+ * (int-Anzahl, pro Zeitzone die UTF-Kennung und die Daten mit int-L&auml;nge), die entfernten Links
+ * (int-Anzahl, UTF-Aliasnamen), die hinzugef&uuml;gten oder ge&auml;nderten Links (int-Anzahl, UTF-Alias
+ * und UTF-Zeitzonenkennung pro Link), ein boolesches Flag, gefolgt vom vollst&auml;ndigen
+ * Schaltsekundenabschnitt, falls sich die Schaltsekunden oder ihr Verfallsdatum ge&auml;ndert haben. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+public final class RepositoryDelta {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    private static final int DELTA_FORMAT = 1;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private RepositoryDelta() {
+        // no instantiation
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Creates a delta file from a base repository file and a target repository file. </p>
+     *
+     * @param   args    paths to base repository, target repository and delta file to be written
+     * @throws  IOException in case of any I/O-errors or if any file is not a valid repository
+     */
+    /*[deutsch]
+     * <p>Erzeugt eine Delta-Datei aus einer Basisdatenbank und einer Zieldatenbank. </p>
+     *
+     * @param   args    paths to base repository, target repository and delta file to be written
+     * @throws  IOException in case of any I/O-errors or if any file is not a valid repository
+     */
+    public static void main(String... args) throws IOException {
+
+        if (args.length != 3) {
+            System.out.println("Usage: RepositoryDelta <base-repository> <target-repository> <delta-file>");
+            return;
+        }
+
+        try (
+            InputStream base = new BufferedInputStream(new FileInputStream(args[0]));
+            InputStream target = new BufferedInputStream(new FileInputStream(args[1]));
+            OutputStream out = new BufferedOutputStream(new FileOutputStream(args[2]))
+        ) {
+            create(base, target, out);
+        }
+
+        System.out.println("Created: " + args[2]);
+
+    }
+
+    /**
+     * <p>Compares two repositories and writes the delta to given output stream. </p>
+     *
+     * <p>Both repositories must have the same format (see {@link RepositoryConverter}).
+     * No stream will be closed. </p>
+     *
+     * @param   base        base repository
+     * @param   target      target repository
+     * @param   out         target for the delta
+     * @throws  IOException in case of any I/O-errors, if any source is not a valid repository
+     *                      or if the formats of both repositories are different
+     */
+    /*[deutsch]
+     * <p>Vergleicht zwei Zeitzonendatenbanken und schreibt das Delta in den angegebenen Ausgabestrom. </p>
+     *
+     * <p>Beide Datenbanken m&uuml;ssen dasselbe Format haben (siehe {@link RepositoryConverter}).
+     * Kein Strom wird geschlossen. </p>
+     *
+     * @param   base        base repository
+     * @param   target      target repository
+     * @param   out         target for the delta
+     * @throws  IOException in case of any I/O-errors, if any source is not a valid repository
+     *                      or if the formats of both repositories are different
+     */
+    public static void create(
+        InputStream base,
+        InputStream target,
+        OutputStream out
+    ) throws IOException {
+
+        Repository from = read(base, "base");
+        Repository to = read(target, "target");
+
+        if (from.getFormat() != to.getFormat()) {
+            throw new IOException("Repositories must have the same format, please convert them first.");
+        }
+
+        Set<String> removed = new TreeSet<>(from.getPayloads().getZoneIDs());
+        removed.removeAll(to.getPayloads().getZoneIDs());
+        Map<String, byte[]> changed = new TreeMap<>();
+
+        for (String zoneID : to.getPayloads().getZoneIDs()) {
+            byte[] bytes = to.getPayloads().get(zoneID);
+            if (!Arrays.equals(bytes, from.getPayloads().get(zoneID))) {
+                changed.put(zoneID, bytes);
+            }
+        }
+
+        Set<String> removedLinks = new TreeSet<>(from.getAliases().keySet());
+        removedLinks.removeAll(to.getAliases().keySet());
+        Map<String, String> changedLinks = new TreeMap<>();
+
+        for (Map.Entry<String, String> entry : to.getAliases().entrySet()) {
+            if (!entry.getValue().equals(from.getAliases().get(entry.getKey()))) {
+                changedLinks.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        DataOutputStream dos = new DataOutputStream(out);
+        dos.writeBytes("tzdelt");
+        dos.writeByte(DELTA_FORMAT);
+        dos.writeUTF(from.getVersion());
+        dos.writeUTF(to.getVersion());
+        dos.writeByte(to.getFormat());
+
+        dos.writeInt(removed.size());
+        for (String zoneID : removed) {
+            dos.writeUTF(zoneID);
+        }
+
+        dos.writeInt(changed.size());
+        for (Map.Entry<String, byte[]> entry : changed.entrySet()) {
+            dos.writeUTF(entry.getKey());
+            dos.writeInt(entry.getValue().length);
+            dos.write(entry.getValue());
+        }
+
+        dos.writeInt(removedLinks.size());
+        for (String alias : removedLinks) {
+            dos.writeUTF(alias);
+        }
+
+        dos.writeInt(changedLinks.size());
+        for (Map.Entry<String, String> entry : changedLinks.entrySet()) {
+            dos.writeUTF(entry.getKey());
+            dos.writeUTF(entry.getValue());
+        }
+
+        boolean leapsChanged = (
+            !from.getLeapSecondTable().equals(to.getLeapSecondTable())
+            || !from.getDateOfExpiration().equals(to.getDateOfExpiration()));
+        dos.writeBoolean(leapsChanged);
+
+        if (leapsChanged) {
+            Repository.writeLeapSeconds(dos, to.getLeapSecondTable(), to.getDateOfExpiration());
+        }
+
+        dos.flush();
+
+    }
+
+    /**
+     * <p>Checks the magic label and the delta format and reads the base version. </p>
+     *
+     * @param   dis         input positioned at the start of a delta file
+     * @param   location    description of the source
+     * @return  base version
+     * @throws  IOException if the input is not a supported delta
+     */
+    static String readHeader(
+        DataInputStream dis,
+        String location
+    ) throws IOException {
+
+        byte[] label = new byte[6];
+        dis.readFully(label);
+
+        if (!Arrays.equals(label, new byte[] {'t', 'z', 'd', 'e', 'l', 't'})) {
+            throw new IOException("Invalid tz-repository delta: " + location);
+        }
+
+        int format = dis.readUnsignedByte();
+
+        if (format != DELTA_FORMAT) {
+            throw new IOException("Unsupported format of tz-repository delta (" + format + "): " + location);
+        }
+
+        return dis.readUTF();
+
+    }
+
+    // only the payloads are compared, the cache configuration does not matter
+    private static Repository read(
+        InputStream is,
+        String location
+    ) throws IOException {
+
+        return Repository.read(
+            is, location, false, PayloadStore.Storage.MAP, ZoneFilter.ALL, HistoryCache.Config.DEFAULT.create());
+
+    }
+
+}
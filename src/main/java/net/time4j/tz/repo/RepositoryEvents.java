@@ -0,0 +1,195 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (RepositoryEvents.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+
+/**
+ * <p>Facade for emitting Java Flight Recorder events. </p>
+ *
+ * <p>This class does not refer to any type of the package {@code jdk.jfr} so the main sources
+ * can be compiled and run on Java 8. The event classes and their {@link Recorder recorder}
+ * live in the separate source set {@code src/main/java11} which is only compiled on JDK 11
+ * or later. The recorder is instantiated reflectively if both the flight recorder API and the
+ * recorder class are present. </p>
+ *
+ * <p>Without flight recorder the costs are one null check per call. With flight recorder but
+ * without any recording which enables the events the costs are one call of
+ * {@code EventType.isEnabled()} per call and no allocation. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class RepositoryEvents {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    private static final String RECORDER_CLASS = "net.time4j.tz.repo.FlightRecorder";
+    private static final Recorder RECORDER;
+
+    static {
+        Recorder recorder;
+        ClassLoader loader = RepositoryEvents.class.getClassLoader();
+
+        try {
+            Class.forName("jdk.jfr.Event", false, loader);
+            Class<?> type = Class.forName(RECORDER_CLASS, true, loader);
+            recorder = Recorder.class.cast(type.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            recorder = null; // Java 8, JRE without module jdk.jfr or built on JDK 8
+        }
+
+        RECORDER = recorder;
+    }
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private RepositoryEvents() {
+        // no instantiation
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Starts a parse event if enabled. </p>
+     *
+     * @return  opaque event or {@code null} if not enabled
+     */
+    static Object beginParse() {
+
+        return ((RECORDER == null) ? null : RECORDER.beginParse());
+
+    }
+
+    /**
+     * <p>Commits given parse event. </p>
+     *
+     * @param   event       opaque event (maybe {@code null})
+     * @param   repository  parsed repository
+     * @param   bytes       count of bytes read
+     */
+    static void commitParse(
+        Object event,
+        Repository repository,
+        long bytes
+    ) {
+
+        if (event != null) {
+            RECORDER.commitParse(
+                event,
+                repository.getLocation(),
+                repository.getVersion(),
+                repository.getPayloads().getZoneIDs().size(),
+                bytes);
+        }
+
+    }
+
+    /**
+     * <p>Starts a zone load event if enabled. </p>
+     *
+     * @return  opaque event or {@code null} if not enabled
+     */
+    static Object beginZoneLoad() {
+
+        return ((RECORDER == null) ? null : RECORDER.beginZoneLoad());
+
+    }
+
+    /**
+     * <p>Commits given zone load event. </p>
+     *
+     * @param   event       opaque event (maybe {@code null})
+     * @param   zoneID      timezone id
+     * @param   payloadSize count of payload bytes or {@code -1} if not decoded
+     * @param   decodeNanos decode time in nanoseconds or {@code -1} in case of a cache hit
+     */
+    static void commitZoneLoad(
+        Object event,
+        String zoneID,
+        int payloadSize,
+        long decodeNanos
+    ) {
+
+        if (event != null) {
+            RECORDER.commitZoneLoad(event, zoneID, payloadSize, decodeNanos);
+        }
+
+    }
+
+    //~ Innere Klassen ----------------------------------------------------
+
+    /**
+     * <p>Emits the flight recorder events, implemented in the source set for JDK 11+. </p>
+     */
+    interface Recorder {
+
+        //~ Methoden ------------------------------------------------------
+
+        /**
+         * <p>Starts a parse event if enabled. </p>
+         *
+         * @return  opaque event or {@code null} if not enabled
+         */
+        Object beginParse();
+
+        /**
+         * <p>Commits given parse event. </p>
+         *
+         * @param   event       opaque event created by {@link #beginParse()}
+         * @param   location    location of repository
+         * @param   version     tzdb-version
+         * @param   zoneCount   count of zones
+         * @param   bytes       count of bytes read
+         */
+        void commitParse(
+            Object event,
+            String location,
+            String version,
+            int zoneCount,
+            long bytes
+        );
+
+        /**
+         * <p>Starts a zone load event if enabled. </p>
+         *
+         * @return  opaque event or {@code null} if not enabled
+         */
+        Object beginZoneLoad();
+
+        /**
+         * <p>Commits given zone load event. </p>
+         *
+         * @param   event       opaque event created by {@link #beginZoneLoad()}
+         * @param   zoneID      timezone id
+         * @param   payloadSize count of payload bytes or {@code -1} if not decoded
+         * @param   decodeNanos decode time in nanoseconds or {@code -1} in case of a cache hit
+         */
+        void commitZoneLoad(
+            Object event,
+            String zoneID,
+            int payloadSize,
+            long decodeNanos
+        );
+
+    }
+
+}
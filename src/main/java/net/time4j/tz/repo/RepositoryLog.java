@@ -0,0 +1,67 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (RepositoryLog.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+
+package net.time4j.tz.repo;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * <p>Reports problems which do not prevent the repository from working. </p>
+ *
+ * <p>All warnings go to the {@code java.util.logging}-logger &quot;net.time4j.tz.repo&quot;
+ * so that applications can redirect or silence them by their usual logging configuration. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class RepositoryLog {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    private static final Logger LOGGER = Logger.getLogger("net.time4j.tz.repo");
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private RepositoryLog() {
+        // no instantiation
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Logs a warning. </p>
+     *
+     * @param   message     description of the problem
+     * @param   error       optional cause (maybe {@code null})
+     */
+    static void warn(
+        String message,
+        Throwable error
+    ) {
+
+        LOGGER.log(Level.WARNING, message, error);
+
+    }
+
+}
@@ -0,0 +1,310 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (RepositoryMBean.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import net.time4j.PlainDate;
+import net.time4j.engine.EpochDays;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+
+/**
+ * <p>JMX-view on the currently active repository behind a shared reference. </p>
+ *
+ * <p>The shared reference is only weakly held so that a registered MBean does not prevent
+ * the garbage collection of a repository which is no longer used. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class RepositoryMBean
+    implements TimezoneRepositoryMXBean {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    private static final int HOT_ZONES = 10;
+    private static final Map<ObjectName, RepositoryMBean> REGISTERED = new HashMap<>();
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final WeakReference<AtomicReference<Repository>> ref;
+    private final ObjectName name;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private RepositoryMBean(
+        AtomicReference<Repository> ref,
+        ObjectName name
+    ) {
+        super();
+
+        this.ref = new WeakReference<>(ref);
+        this.name = name;
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Registers a new MBean for given shared repository at the platform MBean server. </p>
+     *
+     * <p>An older MBean with the same name (for example left over after clearing the registry)
+     * will be replaced. Failures are only reported as warning because monitoring must not
+     * prevent the usage of the repository. </p>
+     *
+     * @param   key     registry key of the repository
+     * @param   ref     shared reference to the repository
+     * @return  registered MBean or {@code null} if the registration failed
+     */
+    static RepositoryMBean register(
+        String key,
+        AtomicReference<Repository> ref
+    ) {
+
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = getObjectName(key);
+            RepositoryMBean bean = new RepositoryMBean(ref, name);
+
+            synchronized (RepositoryMBean.class) {
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+                server.registerMBean(bean, name);
+                REGISTERED.put(name, bean);
+            }
+
+            return bean;
+        } catch (JMException | RuntimeException ex) {
+            RepositoryLog.warn("Registering TZ-repository-MBean failed: " + key, ex);
+            return null;
+        }
+
+    }
+
+    /**
+     * <p>Determines the object name of the MBean for given repository. </p>
+     *
+     * <p>The name only depends on the registry key, that is on the location and the configuration,
+     * but not on the tzdb-version because the version can change after a hot reload. </p>
+     *
+     * @param   key         registry key of the repository
+     * @return  ObjectName
+     * @throws  JMException if the name is malformed
+     */
+    static ObjectName getObjectName(String key) throws JMException {
+
+        int sep = key.indexOf('|');
+        String location = ((sep == -1) ? key : key.substring(0, sep));
+
+        return new ObjectName(
+            "net.time4j.tz.repo:type=TimezoneRepository,location="
+            + ObjectName.quote(location)
+            + ",id="
+            + Integer.toHexString(key.hashCode()));
+
+    }
+
+    /**
+     * <p>Yields the object name under which this MBean was registered. </p>
+     *
+     * @return  ObjectName
+     */
+    ObjectName getObjectName() {
+
+        return this.name;
+
+    }
+
+    /**
+     * <p>Removes this MBean from the platform MBean server. </p>
+     *
+     * <p>Does nothing if this MBean has already been unregistered or replaced by another MBean
+     * with the same name. </p>
+     */
+    void unregister() {
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        synchronized (RepositoryMBean.class) {
+            if (REGISTERED.get(this.name) == this) {
+                REGISTERED.remove(this.name);
+                try {
+                    server.unregisterMBean(this.name);
+                } catch (JMException ex) {
+                    // already unregistered by someone else
+                }
+            }
+        }
+
+    }
+
+    @Override
+    public String getVersion() {
+
+        return this.current().getVersion();
+
+    }
+
+    @Override
+    public String getLocation() {
+
+        return this.current().getLocation();
+
+    }
+
+    @Override
+    public int getFormat() {
+
+        return this.current().getFormat();
+
+    }
+
+    @Override
+    public int getZoneCount() {
+
+        return this.current().getPayloads().getZoneIDs().size();
+
+    }
+
+    @Override
+    public long getParseTimeMicros() {
+
+        return TimeUnit.NANOSECONDS.toMicros(this.current().getStatistics().getParseNanos());
+
+    }
+
+    @Override
+    public long getBytesRead() {
+
+        return this.current().getStatistics().getBytesRead();
+
+    }
+
+    @Override
+    public long getCacheHitCount() {
+
+        return this.current().getCache().getHitCount();
+
+    }
+
+    @Override
+    public long getCacheMissCount() {
+
+        return this.current().getCache().getMissCount();
+
+    }
+
+    @Override
+    public long getCacheWaitCount() {
+
+        return this.current().getCache().getWaitCount();
+
+    }
+
+    @Override
+    public long getDecodeCount() {
+
+        return this.current().getStatistics().getDecodeCount();
+
+    }
+
+    @Override
+    public long getDecodeTimeMicros() {
+
+        return TimeUnit.NANOSECONDS.toMicros(this.current().getStatistics().getDecodeNanos());
+
+    }
+
+    @Override
+    public long[] getDecodeLatencyHistogram() {
+
+        return this.current().getStatistics().getDecodeHistogram();
+
+    }
+
+    @Override
+    public String[] getHotZones() {
+
+        List<String> zones = this.current().getStatistics().getHotZones(HOT_ZONES);
+        return zones.toArray(new String[zones.size()]);
+
+    }
+
+    @Override
+    public String[] getSlowestZones() {
+
+        List<String> zones = this.current().getStatistics().getSlowestZones(HOT_ZONES);
+        return zones.toArray(new String[zones.size()]);
+
+    }
+
+    @Override
+    public int getLeapSecondCount() {
+
+        return this.current().getLeapSecondIndex().size();
+
+    }
+
+    @Override
+    public String getDateOfExpiration() {
+
+        return this.current().getDateOfExpiration().toString();
+
+    }
+
+    @Override
+    public boolean isLeapSecondTableExpired() {
+
+        Repository repository = this.current();
+
+        if (repository.getLeapSecondIndex().size() == 0) {
+            return false;
+        }
+
+        long epochDay = Math.floorDiv(System.currentTimeMillis(), 86400000L);
+        return PlainDate.of(epochDay, EpochDays.UNIX).isAfter(repository.getDateOfExpiration());
+
+    }
+
+    private Repository current() {
+
+        AtomicReference<Repository> shared = this.ref.get();
+
+        if (shared == null) {
+            throw new IllegalStateException("TZ-repository is no longer in use: " + this.name);
+        }
+
+        return shared.get();
+
+    }
+
+}
@@ -0,0 +1,304 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (RepositoryRegistry.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * <p>Process-wide registry of parsed repositories. </p>
+ *
+ * <p>The same class is registered three times in {@code META-INF/services} (as zone model
+ * provider, zone name provider and leap second provider), and {@code TZDATA.init()}
+ * creates yet another instance. All these instances share the same parsed repository
+ * if they refer to the same resolved location and configuration. </p>
+ *
+ * <p>The repositories are registered as atomic references so that a repository can be
+ * replaced by a newer version (hot reload) for all instances at the same time. </p>
+ *
+ * <p>Every key is first occupied by a placeholder so that parsing and the registration
+ * callbacks happen outside of the map and never block other keys. Nested requests for
+ * other keys (for example the base of a delta file) are possible. The registry only
+ * holds soft references to the shared atomic references, so a repository which is no
+ * longer used by any provider can be garbage collected under memory pressure. The
+ * resources attached by the registration callback (watcher, MBean) are then closed. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class RepositoryRegistry {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    private static final ConcurrentMap<String, Slot> REPOSITORIES = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<AtomicReference<Repository>> QUEUE = new ReferenceQueue<>();
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private RepositoryRegistry() {
+        // no instantiation
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Obtains the registered repository for given key or loads and registers it. </p>
+     *
+     * <p>Concurrent requests for the same key will only load the repository once. </p>
+     *
+     * @param   key         resolved location and configuration of the repository
+     * @param   loader      parses the repository if not yet registered
+     * @return  shared reference to the current repository
+     * @throws  IOException if loading fails
+     */
+    static AtomicReference<Repository> obtain(
+        String key,
+        Loader loader
+    ) throws IOException {
+
+        return obtain(key, loader, null);
+
+    }
+
+    /**
+     * <p>Obtains the registered repository for given key or loads and registers it. </p>
+     *
+     * <p>Concurrent requests for the same key will only load the repository once. The
+     * loader and the listener are called by the first requesting thread while all other
+     * requesting threads wait for the result. If loading fails then the key stays free
+     * for later attempts. </p>
+     *
+     * @param   key         resolved location and configuration of the repository
+     * @param   loader      parses the repository if not yet registered
+     * @param   listener    optional callback which is only invoked if the repository is newly registered
+     * @return  shared reference to the current repository
+     * @throws  IOException if loading fails or if the same key is requested recursively
+     */
+    static AtomicReference<Repository> obtain(
+        String key,
+        Loader loader,
+        Listener listener
+    ) throws IOException {
+
+        expungeStaleEntries();
+
+        while (true) {
+            Slot slot = new Slot();
+            Slot existing = REPOSITORIES.putIfAbsent(key, slot);
+
+            if (existing == null) {
+                return slot.register(key, loader, listener);
+            }
+
+            AtomicReference<Repository> ref = existing.await(key);
+
+            if (ref != null) {
+                return ref;
+            }
+
+            REPOSITORIES.remove(key, existing); // garbage collected in the meantime
+        }
+
+    }
+
+    /**
+     * <p>Removes all registered repositories (mainly for testing purposes). </p>
+     *
+     * <p>Providers already constructed keep their repositories, but the attached resources
+     * like file watchers or MBeans are closed. </p>
+     */
+    static void clear() {
+
+        for (Map.Entry<String, Slot> e : REPOSITORIES.entrySet()) {
+            if (REPOSITORIES.remove(e.getKey(), e.getValue())) {
+                e.getValue().close();
+            }
+        }
+
+        expungeStaleEntries();
+
+    }
+
+    private static void expungeStaleEntries() {
+
+        Reference<? extends AtomicReference<Repository>> stale;
+
+        while ((stale = QUEUE.poll()) != null) {
+            Entry entry = (Entry) stale;
+            REPOSITORIES.remove(entry.key, entry.slot);
+            entry.close();
+        }
+
+    }
+
+    //~ Innere Klassen ----------------------------------------------------
+
+    /**
+     * <p>Parses a repository. </p>
+     */
+    @FunctionalInterface
+    interface Loader {
+
+        /**
+         * <p>Parses the repository. </p>
+         *
+         * @return  parsed repository
+         * @throws  IOException in any case of I/O-errors or if the data are not valid
+         */
+        Repository load() throws IOException;
+
+    }
+
+    /**
+     * <p>Callback for newly registered repositories. </p>
+     */
+    @FunctionalInterface
+    interface Listener {
+
+        /**
+         * <p>Called when a new repository has been registered. </p>
+         *
+         * <p>The returned resource must not refer to the shared reference strongly because
+         * otherwise the registered repository could never be garbage collected. </p>
+         *
+         * @param   ref     shared reference to the registered repository
+         * @return  resource to be closed when the repository is removed from the registry
+         *          or {@code null}
+         * @throws  IOException in any case of I/O-errors
+         */
+        Closeable registered(AtomicReference<Repository> ref) throws IOException;
+
+    }
+
+    /**
+     * <p>Placeholder for a key whose repository is loaded or registered. </p>
+     */
+    private static class Slot {
+
+        //~ Instanzvariablen ----------------------------------------------
+
+        private final Thread owner = Thread.currentThread();
+        private final CompletableFuture<Entry> future = new CompletableFuture<>();
+
+        //~ Methoden ------------------------------------------------------
+
+        AtomicReference<Repository> register(
+            String key,
+            Loader loader,
+            Listener listener
+        ) throws IOException {
+
+            try {
+                AtomicReference<Repository> ref = new AtomicReference<>(loader.load());
+                Closeable resource = ((listener == null) ? null : listener.registered(ref));
+                this.future.complete(new Entry(key, this, ref, resource));
+                return ref;
+            } catch (IOException | RuntimeException | Error ex) {
+                REPOSITORIES.remove(key, this);
+                this.future.completeExceptionally(ex);
+                throw ex;
+            }
+
+        }
+
+        AtomicReference<Repository> await(String key) throws IOException {
+
+            if ((this.owner == Thread.currentThread()) && !this.future.isDone()) {
+                throw new IOException("Recursive loading of tz-repository: " + key);
+            }
+
+            try {
+                return this.future.join().get();
+            } catch (CompletionException ex) {
+                throw new IOException(ex.getCause().getMessage(), ex.getCause());
+            }
+
+        }
+
+        void close() {
+
+            Entry entry = this.future.getNow(null);
+
+            if (entry != null) {
+                entry.close();
+            }
+
+        }
+
+    }
+
+    /**
+     * <p>Softly registered repository together with its attached resource. </p>
+     */
+    private static class Entry
+        extends SoftReference<AtomicReference<Repository>> {
+
+        //~ Instanzvariablen ----------------------------------------------
+
+        private final String key;
+        private final Slot slot;
+        private Closeable resource;
+
+        //~ Konstruktoren -------------------------------------------------
+
+        Entry(
+            String key,
+            Slot slot,
+            AtomicReference<Repository> ref,
+            Closeable resource
+        ) {
+            super(ref, QUEUE);
+
+            this.key = key;
+            this.slot = slot;
+            this.resource = resource;
+
+        }
+
+        //~ Methoden ------------------------------------------------------
+
+        synchronized void close() {
+
+            if (this.resource != null) {
+                try {
+                    this.resource.close();
+                } catch (IOException | RuntimeException ex) {
+                    RepositoryLog.warn("Closing resources of TZ-repository failed: " + this.key, ex);
+                }
+                this.resource = null;
+            }
+
+        }
+
+    }
+
+}
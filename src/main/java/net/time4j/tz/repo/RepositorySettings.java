@@ -0,0 +1,286 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (RepositorySettings.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+
+/**
+ * <p>Snapshot of all system properties which configure the loading of a repository. </p>
+ *
+ * <p>The properties are read exactly once on the calling thread such that asynchronous
+ * loading sees the same configuration as the caller even if the properties are changed
+ * in the meantime. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class RepositorySettings {
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final String version;
+    private final String path;
+    private final PayloadStore.Storage storage;
+    private final boolean lazy;
+    private final boolean noLeaps;
+    private final boolean watch;
+    private final ZoneFilter filter;
+    private final HistoryCache.Config cache;
+    private final String warmUp;
+    private final boolean tracking;
+    private final Class<?> reference;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private RepositorySettings(
+        String version,
+        String path,
+        PayloadStore.Storage storage,
+        boolean lazy,
+        boolean noLeaps,
+        boolean watch,
+        ZoneFilter filter,
+        HistoryCache.Config cache,
+        String warmUp,
+        boolean tracking,
+        Class<?> reference
+    ) {
+        super();
+
+        this.version = version;
+        this.path = path;
+        this.storage = storage;
+        this.lazy = lazy;
+        this.noLeaps = noLeaps;
+        this.watch = watch;
+        this.filter = filter;
+        this.cache = cache;
+        this.warmUp = warmUp;
+        this.tracking = tracking;
+        this.reference = reference;
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Reads all relevant system properties on the current thread. </p>
+     *
+     * @return  new snapshot of the configuration
+     */
+    static RepositorySettings fromSystemProperties() {
+
+        return new RepositorySettings(
+            System.getProperty("net.time4j.tz.repository.version"),
+            System.getProperty("net.time4j.tz.repository.path"),
+            PayloadStore.Storage.fromSystemProperties(),
+            Boolean.getBoolean("net.time4j.tz.repository.lazy"),
+            (System.getProperty("net.time4j.scale.leapseconds.path") != null),
+            Boolean.getBoolean("net.time4j.tz.repository.watch"),
+            ZoneFilter.fromSystemProperties(),
+            HistoryCache.Config.fromSystemProperties(),
+            System.getProperty("net.time4j.tz.repository.warmup"),
+            Boolean.getBoolean("net.time4j.tz.repository.jmx"),
+            Boolean.getBoolean("test.environment") ? testReference() : TimezoneRepositoryProviderSPI.class);
+
+    }
+
+    /**
+     * <p>Yields a copy of this configuration for another tzdb-version. </p>
+     *
+     * @param   version     tzdb-version like &quot;2026b&quot;
+     * @return  changed copy
+     */
+    RepositorySettings withVersion(String version) {
+
+        return new RepositorySettings(
+            version,
+            this.path,
+            this.storage,
+            this.lazy,
+            this.noLeaps,
+            this.watch,
+            this.filter,
+            this.cache,
+            this.warmUp,
+            this.tracking,
+            this.reference);
+
+    }
+
+    /**
+     * <p>Yields the configuration used for the base version of a delta file. </p>
+     *
+     * <p>Base repositories are never memory-mapped. </p>
+     *
+     * @param   version     tzdb-version named in the delta file
+     * @return  changed copy
+     */
+    RepositorySettings forBase(String version) {
+
+        return new RepositorySettings(
+            version,
+            this.path,
+            this.storage,
+            false,
+            this.noLeaps,
+            this.watch,
+            this.filter,
+            this.cache,
+            this.warmUp,
+            this.tracking,
+            this.reference);
+
+    }
+
+    /**
+     * <p>Configured tzdb-version, {@code null} for the standard repository. </p>
+     *
+     * @return  String or {@code null}
+     */
+    String getVersion() {
+
+        return this.version;
+
+    }
+
+    /**
+     * <p>Configured directory of repository files, {@code null} for the classpath. </p>
+     *
+     * @return  String or {@code null}
+     */
+    String getPath() {
+
+        return this.path;
+
+    }
+
+    /**
+     * <p>Determines how the zone payloads are kept in memory. </p>
+     *
+     * @return  Storage
+     */
+    PayloadStore.Storage getStorage() {
+
+        return this.storage;
+
+    }
+
+    /**
+     * <p>Shall an absolute repository file be memory-mapped? </p>
+     *
+     * @return  boolean
+     */
+    boolean isLazy() {
+
+        return this.lazy;
+
+    }
+
+    /**
+     * <p>Shall the leap second section be ignored? </p>
+     *
+     * @return  boolean
+     */
+    boolean isNoLeaps() {
+
+        return this.noLeaps;
+
+    }
+
+    /**
+     * <p>Shall an absolute repository file be watched for changes? </p>
+     *
+     * @return  boolean
+     */
+    boolean isWatch() {
+
+        return this.watch;
+
+    }
+
+    /**
+     * <p>Determines which zones are kept. </p>
+     *
+     * @return  ZoneFilter
+     */
+    ZoneFilter getFilter() {
+
+        return this.filter;
+
+    }
+
+    /**
+     * <p>Configuration of the cache for deserialized histories. </p>
+     *
+     * @return  cache configuration
+     */
+    HistoryCache.Config getCache() {
+
+        return this.cache;
+
+    }
+
+    /**
+     * <p>Raw value of the warm-up property, either &quot;all&quot; or a comma-separated
+     * list of zone ids. </p>
+     *
+     * @return  String or {@code null}
+     */
+    String getWarmUp() {
+
+        return this.warmUp;
+
+    }
+
+    /**
+     * <p>Shall per-zone loads be tracked and the repository be registered as JMX-bean? </p>
+     *
+     * @return  boolean
+     */
+    boolean isTracking() {
+
+        return this.tracking;
+
+    }
+
+    /**
+     * <p>Class whose class loader finds the repository resources. </p>
+     *
+     * @return  Class
+     */
+    Class<?> getReference() {
+
+        return this.reference;
+
+    }
+
+    private static Class<?> testReference() {
+
+        try {
+            return Class.forName("net.time4j.tz.repo.RepositoryTest");
+        } catch (ClassNotFoundException e) {
+            throw new AssertionError(e);
+        }
+
+    }
+
+}
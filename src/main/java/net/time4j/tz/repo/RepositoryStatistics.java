@@ -0,0 +1,310 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (RepositoryStatistics.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * <p>Collects load and decode metrics of one repository. </p>
+ *
+ * <p>Parsing and decoding are always measured because both happen rarely compared with
+ * {@code load()}. The per-zone counters of loads and decode times are only maintained after
+ * tracking has been enabled, that is if the system property &quot;net.time4j.tz.repository.jmx&quot;
+ * was set to {@code true} when the repository was loaded. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class RepositoryStatistics {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    /**
+     * Count of histogram buckets, bucket {@code i > 0} counts latencies in the range
+     * {@code [2^(i-1), 2^i)} microseconds, the last bucket also counts all longer latencies.
+     */
+    static final int BUCKETS = 16;
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private volatile long parseNanos;
+    private volatile long bytesRead;
+    private final LongAdder decodes = new LongAdder();
+    private final LongAdder decodeNanos = new LongAdder();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    private volatile ConcurrentMap<String, LongAdder> loads = null;
+    private volatile ConcurrentMap<String, LongAdder> zoneDecodeNanos = null;
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Enables the tracking of per-zone loads and decode times (as prerequisite of JMX-monitoring). </p>
+     */
+    synchronized void enableTracking() {
+
+        if (this.loads == null) {
+            this.zoneDecodeNanos = new ConcurrentHashMap<>();
+            this.loads = new ConcurrentHashMap<>();
+        }
+
+    }
+
+    /**
+     * <p>Is the tracking of per-zone loads and decode times enabled? </p>
+     *
+     * @return  boolean
+     */
+    boolean isTracking() {
+
+        return (this.loads != null);
+
+    }
+
+    /**
+     * <p>Records the duration and the size of parsing the repository. </p>
+     *
+     * @param   nanos   elapsed time in nanoseconds
+     * @param   bytes   count of bytes read
+     */
+    void recordParse(
+        long nanos,
+        long bytes
+    ) {
+
+        this.parseNanos = nanos;
+        this.bytesRead = bytes;
+
+    }
+
+    /**
+     * <p>Records the duration of decoding given zone. </p>
+     *
+     * @param   zoneID  timezone id
+     * @param   nanos   elapsed time in nanoseconds
+     */
+    void recordDecode(
+        String zoneID,
+        long nanos
+    ) {
+
+        this.decodes.increment();
+        this.decodeNanos.add(nanos);
+
+        ConcurrentMap<String, LongAdder> map = this.zoneDecodeNanos;
+
+        if (map != null) {
+            map.computeIfAbsent(zoneID, k -> new LongAdder()).add(nanos);
+        }
+
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        this.histogram.incrementAndGet(bucket);
+
+    }
+
+    /**
+     * <p>Records a call of {@code load()} for given zone if tracking is enabled. </p>
+     *
+     * @param   zoneID  timezone id
+     */
+    void recordLoad(String zoneID) {
+
+        ConcurrentMap<String, LongAdder> map = this.loads;
+
+        if (map != null) {
+            map.computeIfAbsent(zoneID, k -> new LongAdder()).increment();
+        }
+
+    }
+
+    long getParseNanos() {
+
+        return this.parseNanos;
+
+    }
+
+    long getBytesRead() {
+
+        return this.bytesRead;
+
+    }
+
+    long getDecodeCount() {
+
+        return this.decodes.sum();
+
+    }
+
+    long getDecodeNanos() {
+
+        return this.decodeNanos.sum();
+
+    }
+
+    long[] getDecodeHistogram() {
+
+        long[] result = new long[BUCKETS];
+
+        for (int i = 0; i < BUCKETS; i++) {
+            result[i] = this.histogram.get(i);
+        }
+
+        return result;
+
+    }
+
+    /**
+     * <p>Yields the most often loaded zones in descending order. </p>
+     *
+     * @param   limit   maximum count of zones
+     * @return  list of entries in the form &quot;{zoneID}={count}&quot; (empty if tracking is disabled)
+     */
+    List<String> getHotZones(int limit) {
+
+        return top(this.loads, limit, 1);
+
+    }
+
+    /**
+     * <p>Yields the zones with the longest total decode time in descending order. </p>
+     *
+     * <p>A zone can be decoded more than once if its history was evicted from the cache. </p>
+     *
+     * @param   limit   maximum count of zones
+     * @return  list of entries in the form &quot;{zoneID}={micros}&quot; (empty if tracking is disabled)
+     */
+    List<String> getSlowestZones(int limit) {
+
+        return top(this.zoneDecodeNanos, limit, 1000);
+
+    }
+
+    private static List<String> top(
+        ConcurrentMap<String, LongAdder> map,
+        int limit,
+        long divisor
+    ) {
+
+        List<String> result = new ArrayList<>();
+
+        if (map != null) {
+            List<Map.Entry<String, Long>> entries = new ArrayList<>();
+            for (Map.Entry<String, LongAdder> e : map.entrySet()) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(e.getKey(), e.getValue().sum()));
+            }
+            entries.sort((a, b) -> Long.compare(b.getValue().longValue(), a.getValue().longValue()));
+            for (int i = 0, n = Math.min(limit, entries.size()); i < n; i++) {
+                result.add(entries.get(i).getKey() + "=" + (entries.get(i).getValue().longValue() / divisor));
+            }
+        }
+
+        return result;
+
+    }
+
+    //~ Innere Klassen ----------------------------------------------------
+
+    /**
+     * <p>Counts the bytes read from the underlying stream. </p>
+     */
+    static class CountingInputStream
+        extends FilterInputStream {
+
+        //~ Instanzvariablen ----------------------------------------------
+
+        private long count = 0;
+
+        //~ Konstruktoren -------------------------------------------------
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        //~ Methoden ------------------------------------------------------
+
+        @Override
+        public int read() throws IOException {
+
+            int b = super.read();
+
+            if (b >= 0) {
+                this.count++;
+            }
+
+            return b;
+
+        }
+
+        @Override
+        public int read(
+            byte[] b,
+            int off,
+            int len
+        ) throws IOException {
+
+            int n = super.read(b, off, len);
+
+            if (n > 0) {
+                this.count += n;
+            }
+
+            return n;
+
+        }
+
+        @Override
+        public boolean markSupported() {
+
+            return false; // keeps the count exact
+
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+
+            long skipped = super.skip(n);
+            this.count += skipped;
+            return skipped;
+
+        }
+
+        long getCount() {
+
+            return this.count;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (RepositoryWatcher.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * <p>Watches a repository file and replaces the shared repository if the file changes (hot reload). </p>
+ *
+ * <p>The new file is parsed in a background daemon thread. If parsing succeeds then the new
+ * repository takes over all cached histories of unchanged zones and is published by one atomic
+ * reference update so that every call of a provider either sees the old or the new repository
+ * but never a mixture. If parsing fails then the old repository stays active. </p>
+ *
+ * <p>The watcher stops and releases its thread and watch service when it is closed, which
+ * happens if its repository is removed from the {@link RepositoryRegistry}. The shared reference
+ * is only weakly held so the watcher also stops by itself once its repository has been garbage
+ * collected. Problems are reported by {@link RepositoryLog}. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class RepositoryWatcher
+    implements Runnable, Closeable {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    private static final long SETTLE_MILLIS = 200L;
+    private static final long CHECK_SECONDS = 10L;
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final Path file;
+    private final WatchService service;
+    private final WeakReference<AtomicReference<Repository>> target;
+    private final RepositoryRegistry.Loader loader;
+    private volatile Thread thread;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private RepositoryWatcher(
+        Path file,
+        WatchService service,
+        AtomicReference<Repository> target,
+        RepositoryRegistry.Loader loader
+    ) {
+        super();
+
+        this.file = file;
+        this.service = service;
+        this.target = new WeakReference<>(target);
+        this.loader = loader;
+        this.thread = null;
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Starts watching given repository file in a new daemon thread. </p>
+     *
+     * @param   file        repository file to be watched
+     * @param   target      shared reference to the current repository
+     * @param   loader      parses the repository file again
+     * @return  running watcher which must be closed if the repository is no longer used
+     * @throws  IOException if the directory of the file cannot be watched
+     */
+    static RepositoryWatcher start(
+        File file,
+        AtomicReference<Repository> target,
+        RepositoryRegistry.Loader loader
+    ) throws IOException {
+
+        Path path = file.toPath().toAbsolutePath();
+        WatchService service = FileSystems.getDefault().newWatchService();
+
+        try {
+            path.getParent().register(
+                service,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | RuntimeException ex) {
+            service.close();
+            throw ex;
+        }
+
+        RepositoryWatcher watcher = new RepositoryWatcher(path, service, target, loader);
+        Thread thread = new Thread(watcher, "Time4J-TZ-Repository-Watcher");
+        thread.setDaemon(true);
+        watcher.thread = thread;
+        thread.start();
+        return watcher;
+
+    }
+
+    /**
+     * <p>Stops watching and waits shortly for the end of the watcher thread. </p>
+     *
+     * @throws  IOException if closing the watch service fails
+     */
+    @Override
+    public void close() throws IOException {
+
+        this.service.close();
+        Thread t = this.thread;
+
+        if ((t != null) && (t != Thread.currentThread())) {
+            try {
+                t.join(SETTLE_MILLIS * 5);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+    }
+
+    @Override
+    public void run() {
+
+        try {
+            while (this.target.get() != null) {
+                WatchKey key = this.service.poll(CHECK_SECONDS, TimeUnit.SECONDS);
+
+                if (key == null) {
+                    continue; // check if the repository is still in use
+                }
+
+                boolean affected = this.isAffected(key);
+
+                if (affected) {
+                    // wait until the writer has finished, then drop all events caused by the same change
+                    WatchKey next;
+                    do {
+                        Thread.sleep(SETTLE_MILLIS);
+                        next = this.service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                        if (next != null) {
+                            this.isAffected(next);
+                        }
+                    } while (next != null);
+                    this.reload();
+                }
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ex) {
+            // stop watching
+        } finally {
+            try {
+                this.service.close();
+            } catch (IOException ex) {
+                // ignored
+            }
+        }
+
+    }
+
+    private boolean isAffected(WatchKey key) {
+
+        boolean affected = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (
+                (event.kind() == StandardWatchEventKinds.OVERFLOW)
+                || this.file.getFileName().equals(context)
+            ) {
+                affected = true;
+            }
+        }
+
+        key.reset();
+        return affected;
+
+    }
+
+    private void reload() {
+
+        AtomicReference<Repository> ref = this.target.get();
+
+        if (ref == null) {
+            return; // no longer in use
+        }
+
+        try {
+            Repository current = ref.get();
+            Repository update = this.loader.load();
+            update.adopt(current);
+            if (!ref.compareAndSet(current, update)) {
+                RepositoryLog.warn("TZ-repository was concurrently replaced: " + this.file, null);
+            }
+        } catch (IOException | RuntimeException ex) {
+            RepositoryLog.warn("Reloading TZ-repository failed, keeping the old one: " + this.file, ex);
+        }
+
+    }
+
+}
@@ -0,0 +1,644 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (RepositoryWriter.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+
+package net.time4j.tz.repo;
+
+import net.time4j.PlainDate;
+import net.time4j.base.GregorianDate;
+import net.time4j.tz.TransitionHistory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+
+/**
+ * <p>Writes timezone repository files which can be read by {@link TimezoneRepositoryProviderSPI}. </p>
+ *
+ * <p>An instance collects zones, links and the leap second table and writes them as repository
+ * in format v3 or in the compressed format v4. All zones are stored in compact form (see
+ * {@link RepositoryConverter}). Example: </p>
+ *
+ * <pre>
+ *  TimezoneRepositoryProviderSPI source = new TimezoneRepositoryProviderSPI();
+ *  try (OutputStream out = new FileOutputStream(&quot;tzdata2026b.repository&quot;)) {
+ *      RepositoryWriter.from(source, zoneID -&gt; zoneID.startsWith(&quot;Europe/&quot;)).write(out);
+ *  }
+ * </pre>
+ *
+ * <p>The static method {@link #slice(InputStream, OutputStream, Predicate, boolean)} creates
+ * a trimmed copy of an existing repository file instead. It copies the selected payloads
+ * byte-for-byte without decoding them and keeps the format of the source. It can also be
+ * started from the command line: </p>
+ *
+ * <pre>
+ *  java -cp time4j-base.jar:time4j-tzdata.jar net.time4j.tz.repo.RepositoryWriter
+ *      -include Europe/,America/New_York -noleaps tzdata2026b.repository trimmed.repository
+ * </pre>
+ *
+ * <p>Instances are not thread-safe. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+/*[deutsch]
+ * <p>Schreibt Zeitzonendatenbank-Dateien, die von {@link TimezoneRepositoryProviderSPI}
+ * gelesen werden k&ouml;nnen. </p>
+ *
+ * <p>Eine Instanz sammelt Zeitzonen, Links und die Schaltsekundentabelle und schreibt sie als
+ * Datenbank im Format v3 oder im komprimierten Format v4. Alle Zeitzonen werden in kompakter
+ * Form gespeichert (siehe {@link RepositoryConverter}). Beispiel: </p>
+ *
+ * <pre>
+ *  TimezoneRepositoryProviderSPI source = new TimezoneRepositoryProviderSPI();
+ *  try (OutputStream out = new FileOutputStream(&quot;tzdata2026b.repository&quot;)) {
+ *      RepositoryWriter.from(source, zoneID -&gt; zoneID.startsWith(&quot;Europe/&quot;)).write(out);
+ *  }
+ * </pre>
+ *
+ * <p>Die statische Methode {@link #slice(InputStream, OutputStream, Predicate, boolean)} erzeugt
+ * stattdessen eine verkleinerte Kopie einer vorhandenen Datenbank-Datei. Sie kopiert die
+ * ausgew&auml;hlten Zeitzonendaten Byte f&uuml;r Byte, ohne sie zu dekodieren, und beh&auml;lt
+ * das Format der Quelle bei. Sie kann auch von der Kommandozeile aus gestartet werden: </p>
+ *
+ * <pre>
+ *  java -cp time4j-base.jar:time4j-tzdata.jar net.time4j.tz.repo.RepositoryWriter
+ *      -include Europe/,America/New_York -noleaps tzdata2026b.repository trimmed.repository
+ * </pre>
+ *
+ * <p>Instanzen sind nicht thread-sicher. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+public final class RepositoryWriter {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    private static final PlainDate NO_EXPIRATION = PlainDate.of(1972, 1, 1);
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final String version;
+    private final Map<String, byte[]> zones;
+    private final Map<String, String> links;
+    private Map<GregorianDate, Integer> leapsecs;
+    private PlainDate expires;
+    private boolean compressed;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    /**
+     * <p>Creates a new empty writer. </p>
+     *
+     * <p>Without any call of {@link #setLeapSeconds(Map, PlainDate)} the written repository
+     * will have an empty leap second table. </p>
+     *
+     * @param   version     tzdb-version like &quot;2026b&quot;
+     * @throws  IllegalArgumentException if the version is empty
+     */
+    /*[deutsch]
+     * <p>Erzeugt einen neuen leeren Schreiber. </p>
+     *
+     * <p>Ohne Aufruf von {@link #setLeapSeconds(Map, PlainDate)} wird die geschriebene Datenbank
+     * eine leere Schaltsekundentabelle haben. </p>
+     *
+     * @param   version     tzdb-version like &quot;2026b&quot;
+     * @throws  IllegalArgumentException if the version is empty
+     */
+    public RepositoryWriter(String version) {
+        super();
+
+        if (version.isEmpty()) {
+            throw new IllegalArgumentException("Missing tzdb-version.");
+        }
+
+        this.version = version;
+        this.zones = new TreeMap<>();
+        this.links = new TreeMap<>();
+        this.leapsecs = new LinkedHashMap<>();
+        this.expires = NO_EXPIRATION;
+        this.compressed = false;
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Creates a writer which contains the selected zones of given provider together with
+     * all links to these zones and the leap second table. </p>
+     *
+     * @param   source      provider whose data shall be copied
+     * @param   filter      selects the zones to be copied
+     * @return  new writer with the version of the source
+     * @throws  IllegalStateException if any zone cannot be loaded or encoded
+     */
+    /*[deutsch]
+     * <p>Erzeugt einen Schreiber, der die ausgew&auml;hlten Zeitzonen des angegebenen Providers
+     * zusammen mit allen Links auf diese Zeitzonen und der Schaltsekundentabelle enth&auml;lt. </p>
+     *
+     * @param   source      provider whose data shall be copied
+     * @param   filter      selects the zones to be copied
+     * @return  new writer with the version of the source
+     * @throws  IllegalStateException if any zone cannot be loaded or encoded
+     */
+    public static RepositoryWriter from(
+        TimezoneRepositoryProviderSPI source,
+        Predicate<String> filter
+    ) {
+
+        RepositoryWriter writer = new RepositoryWriter(source.getVersion());
+
+        for (String zoneID : source.getAvailableIDs()) {
+            if (filter.test(zoneID)) {
+                writer.addZone(zoneID, source.load(zoneID));
+            }
+        }
+
+        for (Map.Entry<String, String> link : source.getAliases().entrySet()) {
+            if (writer.zones.containsKey(link.getValue())) {
+                writer.addLink(link.getKey(), link.getValue());
+            }
+        }
+
+        if (!source.getLeapSecondTable().isEmpty()) {
+            writer.setLeapSeconds(source.getLeapSecondTable(), source.getDateOfExpiration());
+        }
+
+        return writer;
+
+    }
+
+    /**
+     * <p>Adds or replaces given zone. </p>
+     *
+     * @param   zoneID      timezone id
+     * @param   history     transition history of the zone
+     * @return  this instance for method chaining
+     * @throws  IllegalArgumentException if the zone id is empty
+     * @throws  IllegalStateException if the history cannot be encoded
+     */
+    /*[deutsch]
+     * <p>F&uuml;gt die angegebene Zeitzone hinzu oder ersetzt sie. </p>
+     *
+     * @param   zoneID      timezone id
+     * @param   history     transition history of the zone
+     * @return  this instance for method chaining
+     * @throws  IllegalArgumentException if the zone id is empty
+     * @throws  IllegalStateException if the history cannot be encoded
+     */
+    public RepositoryWriter addZone(
+        String zoneID,
+        TransitionHistory history
+    ) {
+
+        if (zoneID.isEmpty()) {
+            throw new IllegalArgumentException("Empty zone id.");
+        } else if (history == null) {
+            throw new NullPointerException("Missing transition history: " + zoneID);
+        }
+
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+                oos.writeObject(history);
+            }
+            byte[] payload = CompactHistoryCodec.encode(history, baos.toByteArray());
+            if (CompactHistoryCodec.isFallback(payload)) {
+                RepositoryLog.warn("Zone stored with serialized fallback: " + zoneID, null);
+            }
+            this.zones.put(zoneID, payload);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot encode: " + zoneID, ex);
+        }
+
+        return this;
+
+    }
+
+    /**
+     * <p>Adds or replaces a link from given alias to given zone. </p>
+     *
+     * <p>The target zone must have been added before the repository is written. </p>
+     *
+     * @param   alias       alternative timezone id
+     * @param   zoneID      target timezone id
+     * @return  this instance for method chaining
+     * @throws  IllegalArgumentException if any id is empty
+     */
+    /*[deutsch]
+     * <p>F&uuml;gt einen Link vom angegebenen Alias auf die angegebene Zeitzone hinzu oder ersetzt ihn. </p>
+     *
+     * <p>Die Zielzeitzone mu&szlig; hinzugef&uuml;gt worden sein, bevor die Datenbank geschrieben wird. </p>
+     *
+     * @param   alias       alternative timezone id
+     * @param   zoneID      target timezone id
+     * @return  this instance for method chaining
+     * @throws  IllegalArgumentException if any id is empty
+     */
+    public RepositoryWriter addLink(
+        String alias,
+        String zoneID
+    ) {
+
+        if (alias.isEmpty() || zoneID.isEmpty()) {
+            throw new IllegalArgumentException("Empty link: " + alias + " -> " + zoneID);
+        }
+
+        this.links.put(alias, zoneID);
+        return this;
+
+    }
+
+    /**
+     * <p>Sets the leap second table. </p>
+     *
+     * @param   leapsecs    map from event date to shift (+1 or -1) in chronological order
+     * @param   expires     expiration date of the table
+     * @return  this instance for method chaining
+     * @throws  IllegalArgumentException if any shift is not +1 or -1
+     */
+    /*[deutsch]
+     * <p>Setzt die Schaltsekundentabelle. </p>
+     *
+     * @param   leapsecs    map from event date to shift (+1 or -1) in chronological order
+     * @param   expires     expiration date of the table
+     * @return  this instance for method chaining
+     * @throws  IllegalArgumentException if any shift is not +1 or -1
+     */
+    public RepositoryWriter setLeapSeconds(
+        Map<GregorianDate, Integer> leapsecs,
+        PlainDate expires
+    ) {
+
+        for (Integer shift : leapsecs.values()) {
+            if (Math.abs(shift.intValue()) != 1) {
+                throw new IllegalArgumentException("Invalid leap second shift: " + shift);
+            }
+        }
+
+        this.leapsecs = new LinkedHashMap<>(leapsecs);
+        this.expires = expires;
+        return this;
+
+    }
+
+    /**
+     * <p>Determines if the repository shall be written in the compressed format v4. </p>
+     *
+     * @param   compressed  {@code true} for format v4, {@code false} for format v3 (default)
+     * @return  this instance for method chaining
+     */
+    /*[deutsch]
+     * <p>Legt fest, ob die Datenbank im komprimierten Format v4 geschrieben werden soll. </p>
+     *
+     * @param   compressed  {@code true} for format v4, {@code false} for format v3 (default)
+     * @return  this instance for method chaining
+     */
+    public RepositoryWriter setCompressed(boolean compressed) {
+
+        this.compressed = compressed;
+        return this;
+
+    }
+
+    /**
+     * <p>Writes the collected data as repository to given output stream. </p>
+     *
+     * <p>The stream will not be closed. </p>
+     *
+     * @param   out     target for the repository
+     * @throws  IOException in case of any I/O-errors
+     * @throws  IllegalStateException if any link refers to a zone which has not been added
+     */
+    /*[deutsch]
+     * <p>Schreibt die gesammelten Daten als Zeitzonendatenbank in den angegebenen Ausgabestrom. </p>
+     *
+     * <p>Der Strom wird nicht geschlossen. </p>
+     *
+     * @param   out     target for the repository
+     * @throws  IOException in case of any I/O-errors
+     * @throws  IllegalStateException if any link refers to a zone which has not been added
+     */
+    public void write(OutputStream out) throws IOException {
+
+        if (this.zones.size() > Short.MAX_VALUE) {
+            throw new IllegalStateException("Too many zones: " + this.zones.size());
+        }
+
+        Map<String, Integer> positions = new HashMap<>(this.zones.size() * 4 / 3 + 1);
+
+        for (String zoneID : this.zones.keySet()) {
+            positions.put(zoneID, Integer.valueOf(positions.size()));
+        }
+
+        for (Map.Entry<String, String> link : this.links.entrySet()) {
+            if (!positions.containsKey(link.getValue())) {
+                throw new IllegalStateException("Link target not found: " + link.getKey() + " -> " + link.getValue());
+            }
+        }
+
+        DataOutputStream dos = new DataOutputStream(out);
+        dos.writeBytes("tzrepo");
+        dos.writeUTF("");
+        dos.writeByte(this.compressed ? Repository.FORMAT_V4 : Repository.FORMAT_V3);
+        dos.writeUTF(this.version);
+        dos.writeInt(this.zones.size());
+
+        if (this.compressed) {
+            List<byte[]> blocks = new ArrayList<>(this.zones.size());
+
+            for (Map.Entry<String, byte[]> zone : this.zones.entrySet()) {
+                byte[] block = CompressedPayloadStore.deflate(zone.getValue());
+                dos.writeUTF(zone.getKey());
+                dos.writeInt(zone.getValue().length);
+                dos.writeInt(block.length);
+                blocks.add(block);
+            }
+
+            for (byte[] block : blocks) {
+                dos.write(block);
+            }
+        } else {
+            for (Map.Entry<String, byte[]> zone : this.zones.entrySet()) {
+                dos.writeUTF(zone.getKey());
+                dos.writeInt(zone.getValue().length);
+                dos.write(zone.getValue());
+            }
+        }
+
+        dos.writeShort(this.links.size());
+
+        for (Map.Entry<String, String> link : this.links.entrySet()) {
+            dos.writeUTF(link.getKey());
+            dos.writeShort(positions.get(link.getValue()).intValue());
+        }
+
+        Repository.writeLeapSeconds(dos, this.leapsecs, this.expires);
+        dos.flush();
+
+    }
+
+    /**
+     * <p>Copies the selected zones of a repository from given input stream to given output stream. </p>
+     *
+     * <p>The zone payloads are copied byte-for-byte without being decoded, and the target has the
+     * same format and version as the source. Links are only kept if their target zone is selected.
+     * If the leap seconds are stripped then the target has an empty leap second table. Neither
+     * stream will be closed. </p>
+     *
+     * @param   in          source repository in format v2, v3 or v4
+     * @param   out         target for the trimmed repository
+     * @param   filter      selects the zones to be copied
+     * @param   noLeaps     shall the leap seconds be stripped?
+     * @return  count of copied zones
+     * @throws  IOException in case of any I/O-errors or if the source is not a valid repository
+     */
+    /*[deutsch]
+     * <p>Kopiert die ausgew&auml;hlten Zeitzonen einer Datenbank vom angegebenen Eingabestrom in den
+     * angegebenen Ausgabestrom. </p>
+     *
+     * <p>Die Zeitzonendaten werden Byte f&uuml;r Byte kopiert, ohne dekodiert zu werden, und das Ziel
+     * hat dasselbe Format und dieselbe Version wie die Quelle. Links bleiben nur erhalten, wenn ihre
+     * Zielzeitzone ausgew&auml;hlt ist. Werden die Schaltsekunden entfernt, hat das Ziel eine leere
+     * Schaltsekundentabelle. Keiner der Str&ouml;me wird geschlossen. </p>
+     *
+     * @param   in          source repository in format v2, v3 or v4
+     * @param   out         target for the trimmed repository
+     * @param   filter      selects the zones to be copied
+     * @param   noLeaps     shall the leap seconds be stripped?
+     * @return  count of copied zones
+     * @throws  IOException in case of any I/O-errors or if the source is not a valid repository
+     */
+    public static int slice(
+        InputStream in,
+        OutputStream out,
+        Predicate<String> filter,
+        boolean noLeaps
+    ) throws IOException {
+
+        DataInputStream dis = new DataInputStream(in);
+        DataOutputStream dos = new DataOutputStream(out);
+
+        Repository.checkMagicLabel(dis, "input stream");
+        String v = dis.readUTF();
+        int format = Repository.readFormat(dis, v, "input stream");
+
+        dos.writeBytes("tzrepo");
+
+        if (format == Repository.FORMAT_V2) {
+            dos.writeUTF(v);
+        } else {
+            v = dis.readUTF();
+            dos.writeUTF("");
+            dos.writeByte(format);
+            dos.writeUTF(v);
+        }
+
+        int sizeOfZones = dis.readInt();
+        int[] positions = new int[sizeOfZones]; // new position of every zone or -1 if dropped
+        int count = 0;
+        byte[] buffer = new byte[8192];
+
+        if (format == Repository.FORMAT_V4) {
+            Repository.BlockIndex index = Repository.BlockIndex.read(dis, sizeOfZones);
+
+            for (int i = 0; i < sizeOfZones; i++) {
+                positions[i] = (filter.test(index.ids[i]) ? count++ : -1);
+            }
+
+            dos.writeInt(count);
+
+            for (int i = 0; i < sizeOfZones; i++) {
+                if (positions[i] >= 0) {
+                    dos.writeUTF(index.ids[i]);
+                    dos.writeInt(index.rawLengths[i]);
+                    dos.writeInt(index.blockLengths[i]);
+                }
+            }
+
+            for (int i = 0; i < sizeOfZones; i++) {
+                if (positions[i] >= 0) {
+                    copy(dis, dos, index.blockLengths[i], buffer);
+                } else {
+                    Repository.skipFully(dis, index.blockLengths[i], index.ids[i]);
+                }
+            }
+        } else {
+            // the count of zones precedes the zones so the retained part has to be collected first
+            ByteArrayOutputStream section = new ByteArrayOutputStream();
+            DataOutputStream sos = new DataOutputStream(section);
+
+            for (int i = 0; i < sizeOfZones; i++) {
+                String zoneID = dis.readUTF();
+                int dataLen = dis.readInt();
+
+                if (filter.test(zoneID)) {
+                    positions[i] = count++;
+                    sos.writeUTF(zoneID);
+                    sos.writeInt(dataLen);
+                    copy(dis, sos, dataLen, buffer);
+                } else {
+                    positions[i] = -1;
+                    Repository.skipFully(dis, dataLen, zoneID);
+                }
+            }
+
+            dos.writeInt(count);
+            section.writeTo(dos);
+        }
+
+        int sizeOfLinks = dis.readShort();
+        List<String> aliases = new ArrayList<>(sizeOfLinks);
+        List<Integer> targets = new ArrayList<>(sizeOfLinks);
+
+        for (int i = 0; i < sizeOfLinks; i++) {
+            String alias = dis.readUTF();
+            int position = positions[dis.readShort()];
+            if (position >= 0) {
+                aliases.add(alias);
+                targets.add(Integer.valueOf(position));
+            }
+        }
+
+        dos.writeShort(aliases.size());
+
+        for (int i = 0; i < aliases.size(); i++) {
+            dos.writeUTF(aliases.get(i));
+            dos.writeShort(targets.get(i).intValue());
+        }
+
+        if (noLeaps) {
+            PlainDate expires = Repository.readLeapSeconds(dis, new LinkedHashMap<>());
+            Repository.writeLeapSeconds(dos, new LinkedHashMap<>(), expires);
+        } else {
+            int n;
+
+            while ((n = dis.read(buffer)) != -1) {
+                dos.write(buffer, 0, n);
+            }
+        }
+
+        dos.flush();
+        return count;
+
+    }
+
+    /**
+     * <p>Slices a repository file on the command line. </p>
+     *
+     * <p>Options: {@code -include} and {@code -exclude} followed by comma-separated zone ids or
+     * prefixes (ending with &quot;/&quot; or &quot;*&quot;), {@code -noleaps} for stripping the
+     * leap seconds. The last two arguments are the source and the target file. </p>
+     *
+     * @param   args    options, path to source repository and path to target repository
+     * @throws  IOException in case of any I/O-errors or if the source is not a valid repository
+     */
+    /*[deutsch]
+     * <p>Verkleinert eine Datenbank-Datei auf der Kommandozeile. </p>
+     *
+     * <p>Optionen: {@code -include} und {@code -exclude} gefolgt von kommaseparierten
+     * Zeitzonenkennungen oder Pr&auml;fixen (mit &quot;/&quot; oder &quot;*&quot; am Ende),
+     * {@code -noleaps} zum Entfernen der Schaltsekunden. Die letzten beiden Argumente sind die
+     * Quell- und die Zieldatei. </p>
+     *
+     * @param   args    options, path to source repository and path to target repository
+     * @throws  IOException in case of any I/O-errors or if the source is not a valid repository
+     */
+    public static void main(String... args) throws IOException {
+
+        String include = null;
+        String exclude = null;
+        boolean noLeaps = false;
+        int i = 0;
+
+        while (i < args.length - 2) {
+            String option = args[i++];
+            if (option.equals("-noleaps")) {
+                noLeaps = true;
+            } else if (option.equals("-include")) {
+                include = args[i++];
+            } else if (option.equals("-exclude")) {
+                exclude = args[i++];
+            } else {
+                i = args.length; // unknown option
+            }
+        }
+
+        if (i != args.length - 2) {
+            System.out.println(
+                "Usage: RepositoryWriter [-include <ids>] [-exclude <ids>] [-noleaps] <source> <target>");
+            return;
+        }
+
+        ZoneFilter filter = ZoneFilter.of(include, exclude);
+        int count;
+
+        try (
+            InputStream in = new BufferedInputStream(new FileInputStream(args[i]));
+            OutputStream out = new BufferedOutputStream(new FileOutputStream(args[i + 1]))
+        ) {
+            count = slice(in, out, filter::accepts, noLeaps);
+        }
+
+        System.out.println("Written: " + args[i + 1] + " (" + count + " zones)");
+
+    }
+
+    private static void copy(
+        DataInputStream dis,
+        DataOutputStream dos,
+        int length,
+        byte[] buffer
+    ) throws IOException {
+
+        if (length < 0) {
+            throw new IOException("Invalid data length: " + length);
+        }
+
+        int remaining = length;
+
+        while (remaining > 0) {
+            int n = Math.min(remaining, buffer.length);
+            dis.readFully(buffer, 0, n);
+            dos.write(buffer, 0, n);
+            remaining -= n;
+        }
+
+    }
+
+}
@@ -26,6 +26,9 @@ import net.time4j.scale.LeapSecondProvider;
 import net.time4j.tz.ZoneModelProvider;
 import net.time4j.tz.ZoneNameProvider;
 
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
 
 /**
  * <p>Small helper class for registering this module in OSGi etc. </p>
@@ -68,4 +71,90 @@ public final class TZDATA {
         rl.registerService(LeapSecondProvider.class, spi);
     }
 
+    /**
+     * <p>Registers this module like {@link #init()} but parses the timezone repository
+     * asynchronously in background. </p>
+     *
+     * <p>This method returns immediately so that loading the repository can overlap with other
+     * startup tasks. Calls of the registered provider before parsing is done will block until
+     * the data are available. </p>
+     *
+     * @return  future which completes when the repository has been parsed
+     * @see     TimezoneRepositoryProviderSPI#loadAsync()
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Registriert dieses Modul wie {@link #init()}, parst aber die Zeitzonendatenbank
+     * asynchron im Hintergrund. </p>
+     *
+     * <p>Diese Methode kehrt sofort zur&uuml;ck, so dass das Laden der Zeitzonendatenbank
+     * parallel zu anderen Startaufgaben laufen kann. Aufrufe des registrierten {@code Provider}
+     * vor dem Ende des Parsens blockieren, bis die Daten verf&uuml;gbar sind. </p>
+     *
+     * @return  future which completes when the repository has been parsed
+     * @see     TimezoneRepositoryProviderSPI#loadAsync()
+     * @since   5.0-2026b
+     */
+    public static CompletableFuture<Void> initAsync() {
+        ResourceLoader rl = ResourceLoader.getInstance();
+        TimezoneRepositoryProviderSPI spi = TimezoneRepositoryProviderSPI.loadAsync();
+        rl.registerService(ZoneModelProvider.class, spi);
+        rl.registerService(ZoneNameProvider.class, spi);
+        rl.registerService(LeapSecondProvider.class, spi);
+        return spi.whenReady();
+    }
+
+    /**
+     * <p>Loads all zones of the timezone repository in parallel in background. </p>
+     *
+     * <p>Latency-sensitive applications can avoid the cost of loading a zone on its
+     * first use by calling this method at startup and optionally waiting for the
+     * result. Alternatively, the system property &quot;net.time4j.tz.repository.warmup&quot;
+     * can be set to {@code all} or to a comma-separated list of zone ids. </p>
+     *
+     * @return  future which completes when all zones have been loaded
+     * @throws  IllegalStateException if the repository cannot be loaded
+     * @see     TimezoneRepositoryProviderSPI#warmUp()
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>L&auml;dt alle Zeitzonen der Zeitzonendatenbank parallel im Hintergrund. </p>
+     *
+     * <p>Latenzempfindliche Anwendungen k&ouml;nnen die Kosten des Ladens einer Zeitzone bei
+     * ihrer ersten Verwendung vermeiden, indem sie diese Methode beim Start aufrufen und
+     * optional auf das Ergebnis warten. Alternativ kann die System-Property
+     * &quot;net.time4j.tz.repository.warmup&quot; auf {@code all} oder eine kommaseparierte
+     * Liste von Zeitzonenkennungen gesetzt werden. </p>
+     *
+     * @return  future which completes when all zones have been loaded
+     * @throws  IllegalStateException if the repository cannot be loaded
+     * @see     TimezoneRepositoryProviderSPI#warmUp()
+     * @since   5.0-2026b
+     */
+    public static CompletableFuture<Void> warmUp() {
+        return new TimezoneRepositoryProviderSPI().warmUp();
+    }
+
+    /**
+     * <p>Loads given zones of the timezone repository in parallel in background. </p>
+     *
+     * @param   zoneIDs     timezone ids to be loaded
+     * @return  future which completes when all given zones have been loaded
+     * @throws  IllegalStateException if the repository cannot be loaded
+     * @see     TimezoneRepositoryProviderSPI#warmUp(java.util.Collection)
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>L&auml;dt die angegebenen Zeitzonen der Zeitzonendatenbank parallel im Hintergrund. </p>
+     *
+     * @param   zoneIDs     timezone ids to be loaded
+     * @return  future which completes when all given zones have been loaded
+     * @throws  IllegalStateException if the repository cannot be loaded
+     * @see     TimezoneRepositoryProviderSPI#warmUp(java.util.Collection)
+     * @since   5.0-2026b
+     */
+    public static CompletableFuture<Void> warmUp(String... zoneIDs) {
+        return new TimezoneRepositoryProviderSPI().warmUp(Arrays.asList(zoneIDs));
+    }
+
 }
@@ -0,0 +1,271 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (TimezoneRepositoryMXBean.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+
+/**
+ * <p>Management interface for monitoring a loaded timezone repository via JMX. </p>
+ *
+ * <p>If the system property &quot;net.time4j.tz.repository.jmx&quot; is set to {@code true}
+ * then every distinct repository will be registered at the platform MBean server under the
+ * name {@code net.time4j.tz.repo:type=TimezoneRepository,location=...,id=...}. All attributes
+ * always refer to the currently active repository, so a hot reload will also be visible. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+/*[deutsch]
+ * <p>Verwaltungsschnittstelle zur &Uuml;berwachung einer geladenen Zeitzonendatenbank mit JMX. </p>
+ *
+ * <p>Wenn die System-Property &quot;net.time4j.tz.repository.jmx&quot; auf {@code true} gesetzt
+ * ist, wird jede verschiedene Zeitzonendatenbank im MBean-Server der Plattform unter dem Namen
+ * {@code net.time4j.tz.repo:type=TimezoneRepository,location=...,id=...} registriert. Alle
+ * Attribute beziehen sich immer auf die gerade aktive Zeitzonendatenbank, so dass auch ein
+ * erneutes Laden der Datei sichtbar wird. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+public interface TimezoneRepositoryMXBean {
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Yields the tzdb-version of the loaded repository. </p>
+     *
+     * @return  String like &quot;2026b&quot;
+     */
+    /*[deutsch]
+     * <p>Liefert die tzdb-Version der geladenen Zeitzonendatenbank. </p>
+     *
+     * @return  String like &quot;2026b&quot;
+     */
+    String getVersion();
+
+    /**
+     * <p>Describes the source of the loaded repository. </p>
+     *
+     * @return  URI or resource path
+     */
+    /*[deutsch]
+     * <p>Beschreibt die Quelle der geladenen Zeitzonendatenbank. </p>
+     *
+     * @return  URI or resource path
+     */
+    String getLocation();
+
+    /**
+     * <p>Yields the format number of the repository file. </p>
+     *
+     * @return  2, 3 or 4
+     */
+    /*[deutsch]
+     * <p>Liefert die Formatnummer der Datei. </p>
+     *
+     * @return  2, 3 or 4
+     */
+    int getFormat();
+
+    /**
+     * <p>Yields the count of zones in the repository. </p>
+     *
+     * @return  int
+     */
+    /*[deutsch]
+     * <p>Liefert die Anzahl der Zeitzonen. </p>
+     *
+     * @return  int
+     */
+    int getZoneCount();
+
+    /**
+     * <p>Yields the time needed for reading and parsing the repository file. </p>
+     *
+     * @return  duration in microseconds
+     */
+    /*[deutsch]
+     * <p>Liefert die Zeit, die f&uuml;r das Lesen und Parsen der Datei gebraucht wurde. </p>
+     *
+     * @return  duration in microseconds
+     */
+    long getParseTimeMicros();
+
+    /**
+     * <p>Yields the count of bytes read while parsing the repository file. </p>
+     *
+     * @return  long
+     */
+    /*[deutsch]
+     * <p>Liefert die Anzahl der beim Parsen der Datei gelesenen Bytes. </p>
+     *
+     * @return  long
+     */
+    long getBytesRead();
+
+    /**
+     * <p>Counts all calls of {@code load()} served by the cache. </p>
+     *
+     * @return  long
+     */
+    /*[deutsch]
+     * <p>Z&auml;hlt alle Aufrufe von {@code load()}, die aus dem Cache bedient wurden. </p>
+     *
+     * @return  long
+     */
+    long getCacheHitCount();
+
+    /**
+     * <p>Counts all calls of {@code load()} not served by the cache. </p>
+     *
+     * @return  long
+     */
+    /*[deutsch]
+     * <p>Z&auml;hlt alle Aufrufe von {@code load()}, die nicht aus dem Cache bedient wurden. </p>
+     *
+     * @return  long
+     */
+    long getCacheMissCount();
+
+    /**
+     * <p>Counts all calls of {@code load()} which waited for another thread decoding the same zone. </p>
+     *
+     * @return  long
+     */
+    /*[deutsch]
+     * <p>Z&auml;hlt alle Aufrufe von {@code load()}, die auf einen anderen Thread gewartet haben,
+     * der dieselbe Zeitzone dekodiert. </p>
+     *
+     * @return  long
+     */
+    long getCacheWaitCount();
+
+    /**
+     * <p>Counts how often zone data were decoded. </p>
+     *
+     * @return  long
+     */
+    /*[deutsch]
+     * <p>Z&auml;hlt, wie oft Zeitzonendaten dekodiert wurden. </p>
+     *
+     * @return  long
+     */
+    long getDecodeCount();
+
+    /**
+     * <p>Yields the total time spent in decoding zone data. </p>
+     *
+     * @return  duration in microseconds
+     */
+    /*[deutsch]
+     * <p>Liefert die Gesamtzeit, die mit dem Dekodieren von Zeitzonendaten verbracht wurde. </p>
+     *
+     * @return  duration in microseconds
+     */
+    long getDecodeTimeMicros();
+
+    /**
+     * <p>Yields the histogram of decode latencies. </p>
+     *
+     * <p>The element at index {@code 0} counts latencies below one microsecond, the element at
+     * index {@code i > 0} counts latencies in the range {@code [2^(i-1), 2^i)} microseconds. The
+     * last element also counts all longer latencies. </p>
+     *
+     * @return  array with 16 counters
+     */
+    /*[deutsch]
+     * <p>Liefert das Histogramm der Dekodierlatenzen. </p>
+     *
+     * <p>Das Element am Index {@code 0} z&auml;hlt Latenzen unter einer Mikrosekunde, das Element
+     * am Index {@code i > 0} z&auml;hlt Latenzen im Bereich {@code [2^(i-1), 2^i)} Mikrosekunden.
+     * Das letzte Element z&auml;hlt auch alle l&auml;ngeren Latenzen. </p>
+     *
+     * @return  array with 16 counters
+     */
+    long[] getDecodeLatencyHistogram();
+
+    /**
+     * <p>Yields the ten most often loaded zones. </p>
+     *
+     * @return  array of entries in the form &quot;{zoneID}={count}&quot; in descending order
+     */
+    /*[deutsch]
+     * <p>Liefert die zehn am h&auml;ufigsten geladenen Zeitzonen. </p>
+     *
+     * @return  array of entries in the form &quot;{zoneID}={count}&quot; in descending order
+     */
+    String[] getHotZones();
+
+    /**
+     * <p>Yields the ten zones with the longest total decode time. </p>
+     *
+     * <p>Together with {@link #getDecodeLatencyHistogram()} this attribute helps to identify
+     * the zones behind the slow decodes. </p>
+     *
+     * @return  array of entries in the form &quot;{zoneID}={micros}&quot; in descending order
+     */
+    /*[deutsch]
+     * <p>Liefert die zehn Zeitzonen mit der l&auml;ngsten gesamten Dekodierzeit. </p>
+     *
+     * <p>Zusammen mit {@link #getDecodeLatencyHistogram()} hilft dieses Attribut, die Zeitzonen
+     * hinter den langsamen Dekodierungen zu identifizieren. </p>
+     *
+     * @return  array of entries in the form &quot;{zoneID}={micros}&quot; in descending order
+     */
+    String[] getSlowestZones();
+
+    /**
+     * <p>Yields the count of leap second events. </p>
+     *
+     * @return  int ({@code 0} if leap seconds of the repository are ignored)
+     */
+    /*[deutsch]
+     * <p>Liefert die Anzahl der Schaltsekundenereignisse. </p>
+     *
+     * @return  int ({@code 0} if leap seconds of the repository are ignored)
+     */
+    int getLeapSecondCount();
+
+    /**
+     * <p>Yields the expiration date of the leap second table. </p>
+     *
+     * @return  ISO-8601-date like &quot;2026-12-28&quot;
+     */
+    /*[deutsch]
+     * <p>Liefert das Verfallsdatum der Schaltsekundentabelle. </p>
+     *
+     * @return  ISO-8601-date like &quot;2026-12-28&quot;
+     */
+    String getDateOfExpiration();
+
+    /**
+     * <p>Is the leap second table expired (compared with the current system date in UTC)? </p>
+     *
+     * @return  boolean
+     */
+    /*[deutsch]
+     * <p>Ist die Schaltsekundentabelle verfallen (verglichen mit dem aktuellen Systemdatum in UTC)? </p>
+     *
+     * @return  boolean
+     */
+    boolean isLeapSecondTableExpired();
+
+}
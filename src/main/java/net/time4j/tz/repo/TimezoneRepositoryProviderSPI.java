@@ -31,30 +31,36 @@ import net.time4j.tz.ZoneModelProvider;
 import net.time4j.tz.ZoneNameProvider;
 import net.time4j.tz.spi.ZoneNameProviderSPI;
 
-import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
-import java.io.EOFException;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
 
 
 /**
  * <p>Reads timezone repository-files compiled by the class
- * {@code net.time4j.tool.TimezoneRepositoryCompiler (v2.0)}. </p>
+ * {@code net.time4j.tool.TimezoneRepositoryCompiler (v2.0)}. The bundled repository
+ * file is also in this format v2. </p>
+ *
+ * <p>Repository files converted by the tool {@link RepositoryConverter} into the compact
+ * format v3 or into the compressed format v4 are also supported and can be read without
+ * any Java serialization. </p>
  *
  * @author  Meno Hochschild
  * @since   1.0
@@ -66,178 +72,206 @@ public class TimezoneRepositoryProviderSPI
 
     private static final ZoneNameProvider NAME_PROVIDER = new ZoneNameProviderSPI();
 
+    // idle threads terminate after one minute so no thread survives the asynchronous loading
+    private static final Executor LOADER = Executors.newCachedThreadPool(new LoaderThreadFactory());
+
     //~ Instanzvariablen --------------------------------------------------
 
-    private final String version;
-    private final String location;
-    private final Map<String, byte[]> data;
-    private final Map<String, String> aliases;
-    private final PlainDate expires;
-    private final Map<GregorianDate, Integer> leapsecs;
+    private final CompletableFuture<AtomicReference<Repository>> repository;
 
     //~ Konstruktoren -----------------------------------------------------
 
     /**
      * Standard constructor loading the repository.
-     * 
+     *
+     * <p>If the system property &quot;net.time4j.tz.repository.path&quot; denotes an absolute
+     * directory and the system property &quot;net.time4j.tz.repository.lazy&quot; is set to
+     * {@code true} then the repository file will be memory-mapped, and only an index of the
+     * zone payloads will be built at startup. Every payload is then read on demand. </p>
+     *
+     * <p>Otherwise the system property &quot;net.time4j.tz.repository.storage&quot; determines how
+     * the zone payloads are kept in memory: {@code map} (default) uses one byte array per zone,
+     * {@code arena} puts all payloads into one contiguous heap buffer and {@code direct} into one
+     * contiguous buffer outside of the heap. The arena modes avoid hundreds of small objects which
+     * is useful for classpath or jar deployments where memory-mapping is not possible. The mode
+     * {@code pool} shares identical payloads between several versions (see {@link #ofVersion(String)}). </p>
+     *
+     * <p>If the system property &quot;net.time4j.tz.repository.warmup&quot; is set to {@code all}
+     * or to a comma-separated list of zone ids then these zones will be loaded in parallel in
+     * background as soon as the repository has been parsed. See also {@link #warmUp()}. </p>
+     *
+     * <p>If the system property &quot;net.time4j.tz.repository.path&quot; denotes an absolute
+     * directory and the system property &quot;net.time4j.tz.repository.watch&quot; is set to
+     * {@code true} then the repository file will be watched for changes (hot reload). A changed
+     * file is parsed in background and then replaces the old data of all providers at once
+     * without restart. Cached zones whose data have not changed are kept. Memory-mapping is
+     * not used in this mode. Files should preferably be replaced by an atomic move. </p>
+     *
+     * <p>If the repository file {@code tzdata{version}.repository} does not exist but a delta file
+     * {@code tzdata{version}.delta} created by {@link RepositoryDelta} then the base version named
+     * in the delta file will be loaded first and then patched by the delta. </p>
+     *
+     * <p>The system properties &quot;net.time4j.tz.repository.include&quot; and
+     * &quot;net.time4j.tz.repository.exclude&quot; can restrict the zones kept in memory, for
+     * example {@code -Dnet.time4j.tz.repository.include=Europe/,America/,UTC}. Every property
+     * is a comma-separated list of zone ids or of prefixes ending with a slash or an asterisk.
+     * Exclusions take precedence. The payloads of other zones are skipped while reading, and
+     * links are only kept if they point to a retained zone. </p>
+     *
+     * <p>All instances referring to the same resolved repository location and configuration
+     * share one parsed repository within the same process so repeated construction is cheap. </p>
+     *
      * @throws  IllegalStateException if loading the repository fails
      */
     public TimezoneRepositoryProviderSPI() {
-        super();
-
-        URI uri = null;
-        InputStream is = null;
-        IllegalStateException ise = null;
-
-        String tmpVersion = "";
-        String tmpLocation = "";
-        PlainDate tmpExpires = PlainDate.axis().getMinimum();
-
-        Map<String, byte[]> tmpData = new HashMap<>();
-        Map<String, String> tmpAliases = new HashMap<>();
-
-        boolean noLeaps =
-            (System.getProperty("net.time4j.scale.leapseconds.path") != null);
-        if (noLeaps) {
-            this.leapsecs = Collections.emptyMap();
-        } else {
-            this.leapsecs = new LinkedHashMap<>(50);
-        }
-
-        String repositoryPath =
-            System.getProperty("net.time4j.tz.repository.path");
-        String repositoryVersion =
-            System.getProperty("net.time4j.tz.repository.version");
-        String file;
-
-        if (repositoryVersion == null) {
-            file = "tzdata.repository";
-        } else {
-            file = "tzdata" + repositoryVersion + ".repository";
-        }
-
-        try {
-            String path = "tzrepo/" + file;
-
-            if (repositoryPath != null) {
-                File f = new File(repositoryPath, file);
-
-                if (f.isAbsolute()) {
-                    if (f.exists()) {
-                        uri = f.toURI();
-                    } else {
-                        throw new FileNotFoundException("Path to tz-repository not found: " + f);
-                    }
-                } else {
-                    uri = ResourceLoader.getInstance().locate("tzdata", getReference(), f.toString());
-                }
-            } else {
-                uri = ResourceLoader.getInstance().locate("tzdata", getReference(), path);
-            }
+        this(RepositorySettings.fromSystemProperties());
 
-            if (uri != null) {
-                is = ResourceLoader.getInstance().load(uri, true);
-                tmpLocation = uri.toString();
-            }
+    }
 
-            if (is == null) {
-                // fallback if something has gone wrong (maybe invalid uri from protection domain etc.)
-                URL url = getReference().getClassLoader().getResource(path);
-                if (url == null) {
-                    throw new FileNotFoundException("Classloader cannot access tz-repository: " + path);
-                } else {
-                    URLConnection conn = url.openConnection();
-                    conn.setUseCaches(false);
-                    conn.connect(); // explicit for clarity
-                    is = conn.getInputStream();
-                    tmpLocation = url.toString();
-                }
-            }
+    private TimezoneRepositoryProviderSPI(RepositorySettings settings) {
+        this(CompletableFuture.completedFuture(obtain(settings)));
 
-            DataInputStream dis = new DataInputStream(is);
-            checkMagicLabel(dis, tmpLocation);
-            String v = dis.readUTF();
-            int sizeOfZones = dis.readInt();
+    }
 
-            List<String> zones = new ArrayList<>(sizeOfZones);
+    private TimezoneRepositoryProviderSPI(CompletableFuture<AtomicReference<Repository>> repository) {
+        super();
 
-            for (int i = 0; i < sizeOfZones; i++) {
-                String zoneID = dis.readUTF();
-                int dataLen = dis.readInt();
-                byte[] dataBuf = new byte[dataLen];
-                int dataRead = 0;
+        this.repository = repository;
 
-                do {
-                    dataRead += dis.read(dataBuf, dataRead, dataLen - dataRead);
-                    if (dataRead == -1) {
-                        throw new EOFException("Incomplete data: " + zoneID);
-                    }
-                } while (dataLen > dataRead);
+    }
 
-                zones.add(zoneID);
-                tmpData.put(zoneID, dataBuf);
-            }
+    //~ Methoden ----------------------------------------------------------
 
-            int sizeOfLinks = dis.readShort();
+    /**
+     * <p>Opens the repository of given tzdb-version, for example &quot;2022a&quot;. </p>
+     *
+     * <p>The repository file {@code tzdata{version}.repository} is searched in the same way as
+     * by the standard constructor, that is in the directory given by the system property
+     * &quot;net.time4j.tz.repository.path&quot; or else in the folder {@code tzrepo} of the
+     * classpath. All other system properties are evaluated like by the standard constructor, too,
+     * so {@code ofVersion(v)} shares its parsed repository with a standard provider configured for
+     * the same version. Several versions can be used side by side within the same process. If the
+     * system property &quot;net.time4j.tz.repository.storage&quot; is set to {@code pool} then
+     * zone data which are byte-identical in different versions are only stored and decoded once,
+     * so the memory footprint of many versions stays close to that of one version. Every version
+     * is only parsed once per process as long as any provider still refers to it. </p>
+     *
+     * <p>The returned provider is not registered anywhere. Its loaded histories can be used
+     * for example by {@code Timezone.of(String, TransitionHistory)}. </p>
+     *
+     * @param   version     tzdb-version like &quot;2026b&quot;
+     * @return  provider for given version
+     * @throws  IllegalArgumentException if the version is empty
+     * @throws  IllegalStateException if loading the repository fails
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>&Ouml;ffnet die Zeitzonendatenbank der angegebenen tzdb-Version, zum Beispiel
+     * &quot;2022a&quot;. </p>
+     *
+     * <p>Die Datei {@code tzdata{version}.repository} wird genauso wie vom Standardkonstruktor
+     * gesucht, also im Verzeichnis, das von der System-Property &quot;net.time4j.tz.repository.path&quot;
+     * angegeben wird, sonst im Ordner {@code tzrepo} des Klassenpfads. Mehrere Versionen k&ouml;nnen
+     * im selben Prozess nebeneinander verwendet werden. Alle anderen System-Properties werden
+     * ebenfalls wie vom Standardkonstruktor ausgewertet, so da&szlig; {@code ofVersion(v)} die
+     * geparste Zeitzonendatenbank mit einem Standard-{@code Provider} teilt, der f&uuml;r dieselbe
+     * Version konfiguriert ist. Ist die System-Property &quot;net.time4j.tz.repository.storage&quot;
+     * auf {@code pool} gesetzt, werden Zeitzonendaten, die in verschiedenen Versionen
+     * byte-identisch sind, nur einmal gespeichert und dekodiert, so da&szlig; der Speicherbedarf
+     * vieler Versionen nahe an dem einer Version bleibt. Jede Version wird
+     * pro Proze&szlig; nur einmal eingelesen, solange noch ein {@code Provider} sie verwendet. </p>
+     *
+     * <p>Der zur&uuml;ckgegebene {@code Provider} wird nirgendwo registriert. Seine geladenen
+     * Zeitzonendaten k&ouml;nnen zum Beispiel mit {@code Timezone.of(String, TransitionHistory)}
+     * verwendet werden. </p>
+     *
+     * @param   version     tzdb-version like &quot;2026b&quot;
+     * @return  provider for given version
+     * @throws  IllegalArgumentException if the version is empty
+     * @throws  IllegalStateException if loading the repository fails
+     * @since   5.0-2026b
+     */
+    public static TimezoneRepositoryProviderSPI ofVersion(String version) {
 
-            for (int i = 0; i < sizeOfLinks; i++) {
-                String alias = dis.readUTF();
-                String id = zones.get(dis.readShort());
-                tmpAliases.put(alias, id);
-            }
+        if (version.isEmpty()) {
+            throw new IllegalArgumentException("Missing tzdb-version.");
+        }
 
-            if (!noLeaps) {
-                int sizeOfLeaps = dis.readShort();
+        return new TimezoneRepositoryProviderSPI(
+            RepositorySettings.fromSystemProperties().withVersion(version));
 
-                for (int i = 0; i < sizeOfLeaps; i++) {
-                    int year = dis.readShort();
-                    int month = dis.readByte();
-                    int dom = dis.readByte();
-                    int shift = dis.readByte();
+    }
 
-                    this.leapsecs.put(
-                        PlainDate.of(year, month, dom),
-                        shift);
-                }
+    /**
+     * <p>Creates a provider whose repository will be parsed asynchronously on a background
+     * daemon thread named &quot;Time4J-TZ-Repository-Loader&quot;. </p>
+     *
+     * <p>This method returns immediately and evaluates the same system properties as the
+     * standard constructor. All system properties are read by the calling thread before
+     * this method returns. All provider methods called before parsing is done will block
+     * until the repository is available. If loading fails then these methods throw an
+     * {@code IllegalStateException}. </p>
+     *
+     * @return  new provider instance
+     * @see     #whenReady()
+     * @see     TZDATA#initAsync()
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Erzeugt einen {@code Provider}, dessen Zeitzonendatenbank asynchron in einem
+     * Hintergrund-Thread namens &quot;Time4J-TZ-Repository-Loader&quot; geparst wird. </p>
+     *
+     * <p>Diese Methode kehrt sofort zur&uuml;ck und wertet dieselben System-Properties wie der
+     * Standardkonstruktor aus. Alle System-Properties werden vom aufrufenden Thread gelesen,
+     * bevor diese Methode zur&uuml;ckkehrt. Alle Methoden des {@code Provider}, die vor dem Ende des Parsens
+     * aufgerufen werden, blockieren, bis die Zeitzonendatenbank verf&uuml;gbar ist. Schl&auml;gt
+     * das Laden fehl, werfen diese Methoden eine {@code IllegalStateException}. </p>
+     *
+     * @return  new provider instance
+     * @see     #whenReady()
+     * @see     TZDATA#initAsync()
+     * @since   5.0-2026b
+     */
+    public static TimezoneRepositoryProviderSPI loadAsync() {
 
-                int year = dis.readShort();
-                int month = dis.readByte();
-                int dom = dis.readByte();
-                tmpExpires = PlainDate.of(year, month, dom);
-            }
+        RepositorySettings settings = RepositorySettings.fromSystemProperties();
 
-            tmpVersion = v; // here all is okay, so let us set the version
+        return new TimezoneRepositoryProviderSPI(
+            CompletableFuture.supplyAsync(() -> obtain(settings), LOADER));
 
-        } catch (IOException ioe) {
-            ise = new IllegalStateException("[ERROR] TZ-repository not available. => " + ioe.getMessage(), ioe);
-        } finally {
-            if (is != null) {
-                try {
-                    is.close();
-                } catch (IOException ex) {
-                    // ignored
-                }
-            }
-        }
+    }
 
-        if (ise != null) {
-            throw ise;
-        }
+    /**
+     * <p>Yields a future which completes when the repository of this provider has been parsed. </p>
+     *
+     * <p>The future is already completed if this provider was not created by {@link #loadAsync()}.
+     * Dependent stages are independent of this provider, that is cancelling or completing the
+     * returned future has no effect on the provider. </p>
+     *
+     * @return  future which completes exceptionally if the repository cannot be loaded
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Liefert ein {@code Future}, das fertig wird, wenn die Zeitzonendatenbank dieses
+     * {@code Provider} geparst wurde. </p>
+     *
+     * <p>Das {@code Future} ist schon fertig, wenn dieser {@code Provider} nicht mit
+     * {@link #loadAsync()} erzeugt wurde. Das Abbrechen oder Vervollst&auml;ndigen des
+     * gelieferten {@code Future} hat keine Auswirkung auf diesen {@code Provider}. </p>
+     *
+     * @return  future which completes exceptionally if the repository cannot be loaded
+     * @since   5.0-2026b
+     */
+    public CompletableFuture<Void> whenReady() {
 
-        this.version = tmpVersion;
-        this.location = tmpLocation;
-        this.data = Collections.unmodifiableMap(tmpData);
-        this.aliases = Collections.unmodifiableMap(tmpAliases);
-        this.expires = tmpExpires;
+        return this.repository.thenApply(ref -> null);
 
     }
 
-    //~ Methoden ----------------------------------------------------------
-
     @Override
     public Set<String> getAvailableIDs() {
 
-        return this.data.keySet();
+        return this.current().getPayloads().getZoneIDs();
 
     }
 
@@ -265,24 +299,483 @@ public class TimezoneRepositoryProviderSPI
     @Override
     public Map<String, String> getAliases() {
 
-        return this.aliases;
+        return this.current().getAliases();
+
+    }
+
+    /**
+     * <p>Yields a precomputed index of all fully resolved aliases and of the aliases of every
+     * canonical zone. </p>
+     *
+     * <p>In contrast to {@link #getAliases()} callers need neither to follow alias chains nor
+     * to search the alias table in reverse. The index is built once per repository. </p>
+     *
+     * @return  AliasIndex
+     * @throws  IllegalStateException if the repository cannot be loaded
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Liefert einen vorberechneten Index aller vollst&auml;ndig aufgel&ouml;sten Aliasnamen und
+     * der Aliasnamen jeder kanonischen Zeitzone. </p>
+     *
+     * <p>Im Gegensatz zu {@link #getAliases()} m&uuml;ssen Aufrufer weder Alias-Ketten folgen noch
+     * die Alias-Tabelle r&uuml;ckw&auml;rts durchsuchen. Der Index wird einmal je
+     * Zeitzonendatenbank gebaut. </p>
+     *
+     * @return  AliasIndex
+     * @throws  IllegalStateException if the repository cannot be loaded
+     * @since   5.0-2026b
+     */
+    public AliasIndex getAliasIndex() {
+
+        return this.current().getAliasIndex();
 
     }
 
     @Override
     public TransitionHistory load(String zoneID) {
 
-        try {
-            byte[] bytes = this.data.get(zoneID);
-            if (bytes != null) {
-                ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes));
-                return (TransitionHistory) ois.readObject();
-            }
-        } catch (IOException | ClassNotFoundException e) {
-            throw new IllegalStateException(e);
+        return this.current().load(zoneID);
+
+    }
+
+    /**
+     * <p>Yields a stable hash of the transition history of given zone. </p>
+     *
+     * <p>Zones with equal histories have the same hash, independent of the zone id, the
+     * tzdb-version and the format of the repository file. The hash is hence suitable as key
+     * of persistent caches which shall only be invalidated if the content of a zone changes.
+     * Note that {@code load()} yields the same shared instance for all zones with equal
+     * histories. </p>
+     *
+     * @param   zoneID      timezone id
+     * @return  hex-encoded SHA-256-digest with 64 digits or {@code null} if the zone is unknown
+     * @throws  IllegalStateException if the zone data cannot be read
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Liefert einen stabilen Hash der Zeitzonendaten der angegebenen Zeitzone. </p>
+     *
+     * <p>Zeitzonen mit gleichen Daten haben denselben Hash, unabh&auml;ngig von der Zeitzonenkennung,
+     * der tzdb-Version und dem Format der Datei. Der Hash eignet sich deshalb als Schl&uuml;ssel
+     * f&uuml;r dauerhafte Caches, die nur dann ung&uuml;ltig werden sollen, wenn sich die Daten
+     * einer Zeitzone &auml;ndern. Hinweis: {@code load()} liefert f&uuml;r alle Zeitzonen mit
+     * gleichen Daten dieselbe gemeinsame Instanz. </p>
+     *
+     * @param   zoneID      timezone id
+     * @return  hex-encoded SHA-256-digest with 64 digits or {@code null} if the zone is unknown
+     * @throws  IllegalStateException if the zone data cannot be read
+     * @since   5.0-2026b
+     */
+    public String getContentHash(String zoneID) {
+
+        return this.current().getContentHash(zoneID);
+
+    }
+
+    /**
+     * <p>Yields a primitive index for allocation-free offset lookups in given zone. </p>
+     *
+     * <p>The index is built on first access and then kept as long as this repository is in use.
+     * It is intended for hot paths which only need the offset for a posix time and would
+     * otherwise create a {@code Moment} and a {@code ZonalTransition} per call. </p>
+     *
+     * @param   zoneID      timezone id
+     * @return  ZoneOffsetIndex or {@code null} if the zone is unknown
+     * @throws  IllegalStateException if the zone data cannot be read
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Liefert einen primitiven Index zum Nachschlagen der Verschiebungen der angegebenen
+     * Zeitzone ohne Objekterzeugung. </p>
+     *
+     * <p>Der Index wird beim ersten Zugriff gebaut und danach so lange behalten, wie diese
+     * Zeitzonendatenbank in Gebrauch ist. Er ist f&uuml;r kritische Pfade gedacht, die nur die
+     * Verschiebung zu einer POSIX-Zeit brauchen und sonst je Aufruf ein {@code Moment} und
+     * einen {@code ZonalTransition} erzeugen w&uuml;rden. </p>
+     *
+     * @param   zoneID      timezone id
+     * @return  ZoneOffsetIndex or {@code null} if the zone is unknown
+     * @throws  IllegalStateException if the zone data cannot be read
+     * @since   5.0-2026b
+     */
+    public ZoneOffsetIndex getOffsetIndex(String zoneID) {
+
+        return this.current().getOffsetIndex(zoneID);
+
+    }
+
+    /**
+     * <p>Fills the total offsets of given zone for all given posix times into given target array. </p>
+     *
+     * <p>Columns of timestamps can so be localized in one call. Sorted input is processed
+     * fastest, and large arrays are processed in parallel. </p>
+     *
+     * @param   zoneID      timezone id
+     * @param   posixTimes  elapsed seconds since UNIX epoch without leap seconds
+     * @param   offsets     target array for the total offsets in seconds (at same positions)
+     * @throws  IllegalArgumentException if the zone is unknown or the target array is too short
+     * @throws  IllegalStateException if the zone data cannot be read
+     * @see     ZoneOffsetIndex#getTotalOffsets(long[], int[])
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Schreibt die Gesamtverschiebungen der angegebenen Zeitzone zu allen angegebenen
+     * POSIX-Zeiten in das angegebene Zielarray. </p>
+     *
+     * <p>Spalten von Zeitstempeln k&ouml;nnen so mit einem Aufruf lokalisiert werden. Sortierte
+     * Eingaben werden am schnellsten verarbeitet, und gro&szlig;e Arrays werden parallel
+     * verarbeitet. </p>
+     *
+     * @param   zoneID      timezone id
+     * @param   posixTimes  elapsed seconds since UNIX epoch without leap seconds
+     * @param   offsets     target array for the total offsets in seconds (at same positions)
+     * @throws  IllegalArgumentException if the zone is unknown or the target array is too short
+     * @throws  IllegalStateException if the zone data cannot be read
+     * @see     ZoneOffsetIndex#getTotalOffsets(long[], int[])
+     * @since   5.0-2026b
+     */
+    public void getTotalOffsets(
+        String zoneID,
+        long[] posixTimes,
+        int[] offsets
+    ) {
+
+        this.requireOffsetIndex(zoneID).getTotalOffsets(posixTimes, offsets);
+
+    }
+
+    /**
+     * <p>Converts all given posix times in place to local times of given zone. </p>
+     *
+     * @param   zoneID      timezone id
+     * @param   posixTimes  elapsed seconds since UNIX epoch without leap seconds (overwritten)
+     * @throws  IllegalArgumentException if the zone is unknown
+     * @throws  IllegalStateException if the zone data cannot be read
+     * @see     ZoneOffsetIndex#toLocalTimes(long[])
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Konvertiert alle angegebenen POSIX-Zeiten direkt zu lokalen Zeiten der angegebenen
+     * Zeitzone. </p>
+     *
+     * @param   zoneID      timezone id
+     * @param   posixTimes  elapsed seconds since UNIX epoch without leap seconds (overwritten)
+     * @throws  IllegalArgumentException if the zone is unknown
+     * @throws  IllegalStateException if the zone data cannot be read
+     * @see     ZoneOffsetIndex#toLocalTimes(long[])
+     * @since   5.0-2026b
+     */
+    public void toLocalTimes(
+        String zoneID,
+        long[] posixTimes
+    ) {
+
+        this.requireOffsetIndex(zoneID).toLocalTimes(posixTimes);
+
+    }
+
+    /**
+     * <p>Yields a compact summary of all zones for the current year. </p>
+     *
+     * <p>The table contains the current offsets, the daylight saving status and the upcoming
+     * transitions of every zone for a period of {@link ZoneSummaryTable#PERIOD 366 days} starting
+     * at midnight UTC of the current day. It is built once per repository by loading every zone
+     * a single time and rebuilt only when the current time leaves the period. Listing all zones
+     * with their current offsets is then a scan over primitive arrays. </p>
+     *
+     * @return  ZoneSummaryTable covering the current time
+     * @throws  IllegalStateException if the repository or any zone cannot be loaded
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Liefert eine kompakte Zusammenfassung aller Zeitzonen f&uuml;r das aktuelle Jahr. </p>
+     *
+     * <p>Die Tabelle enth&auml;lt die aktuellen Verschiebungen, den Sommerzeitstatus und die
+     * anstehenden &Uuml;berg&auml;nge jeder Zeitzone f&uuml;r einen Zeitraum von
+     * {@link ZoneSummaryTable#PERIOD 366 Tagen} ab Mitternacht UTC des aktuellen Tages. Sie wird
+     * einmal je Zeitzonendatenbank gebaut, indem jede Zeitzone ein einziges Mal geladen wird, und
+     * erst dann neu gebaut, wenn die aktuelle Zeit den Zeitraum verl&auml;&szlig;t. Alle Zeitzonen
+     * mit ihren aktuellen Verschiebungen aufzulisten, ist dann ein Durchlauf &uuml;ber primitive
+     * Arrays. </p>
+     *
+     * @return  ZoneSummaryTable covering the current time
+     * @throws  IllegalStateException if the repository or any zone cannot be loaded
+     * @since   5.0-2026b
+     */
+    public ZoneSummaryTable getZoneSummaries() {
+
+        return this.current().getZoneSummaries(Math.floorDiv(System.currentTimeMillis(), 1000L));
+
+    }
+
+    /**
+     * <p>Yields the time-ordered index of the transitions of all zones. </p>
+     *
+     * <p>Rule-based transitions are expanded until the year given by the system property
+     * &quot;net.time4j.tz.repository.horizon&quot; (exclusive, default:
+     * {@link ZoneOffsetIndex#HORIZON_YEAR}). The index is built on first access by loading every
+     * zone a single time and then kept as long as this repository is in use and no other horizon
+     * year is requested. </p>
+     *
+     * @return  GlobalTransitionIndex
+     * @throws  IllegalArgumentException if the configured horizon year is not valid
+     * @throws  IllegalStateException if the repository or any zone cannot be loaded
+     * @see     #getTransitionIndex(int)
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Liefert den zeitlich geordneten Index der &Uuml;berg&auml;nge aller Zeitzonen. </p>
+     *
+     * <p>Regelbasierte &Uuml;berg&auml;nge werden bis zu dem Jahr expandiert, das die System-Property
+     * &quot;net.time4j.tz.repository.horizon&quot; angibt (exklusiv, Standard:
+     * {@link ZoneOffsetIndex#HORIZON_YEAR}). Der Index wird beim ersten Zugriff gebaut, indem jede
+     * Zeitzone ein einziges Mal geladen wird, und danach so lange behalten, wie diese
+     * Zeitzonendatenbank in Gebrauch ist und kein anderes Horizontjahr angefragt wird. </p>
+     *
+     * @return  GlobalTransitionIndex
+     * @throws  IllegalArgumentException if the configured horizon year is not valid
+     * @throws  IllegalStateException if the repository or any zone cannot be loaded
+     * @see     #getTransitionIndex(int)
+     * @since   5.0-2026b
+     */
+    public GlobalTransitionIndex getTransitionIndex() {
+
+        return this.getTransitionIndex(GlobalTransitionIndex.horizonFromSystemProperties());
+
+    }
+
+    /**
+     * <p>Yields the time-ordered index of the transitions of all zones with rule-based
+     * transitions expanded until given year. </p>
+     *
+     * <p>Only the index of the most recently requested horizon year is cached, so alternating
+     * between different years rebuilds the index every time. Applications should preferably
+     * use one horizon year per process. </p>
+     *
+     * @param   horizonYear     year until which rule-based transitions are expanded (exclusive, 1900-9999)
+     * @return  GlobalTransitionIndex
+     * @throws  IllegalArgumentException if the horizon year is out of range
+     * @throws  IllegalStateException if the repository or any zone cannot be loaded
+     * @see     #getTransitionIndex()
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Liefert den zeitlich geordneten Index der &Uuml;berg&auml;nge aller Zeitzonen, wobei
+     * regelbasierte &Uuml;berg&auml;nge bis zum angegebenen Jahr expandiert werden. </p>
+     *
+     * <p>Nur der Index des zuletzt angefragten Horizontjahres wird zwischengespeichert, so
+     * da&szlig; der Wechsel zwischen verschiedenen Jahren den Index jedesmal neu baut. Anwendungen
+     * sollten m&ouml;glichst ein Horizontjahr pro Proze&szlig; verwenden. </p>
+     *
+     * @param   horizonYear     year until which rule-based transitions are expanded (exclusive, 1900-9999)
+     * @return  GlobalTransitionIndex
+     * @throws  IllegalArgumentException if the horizon year is out of range
+     * @throws  IllegalStateException if the repository or any zone cannot be loaded
+     * @see     #getTransitionIndex()
+     * @since   5.0-2026b
+     */
+    public GlobalTransitionIndex getTransitionIndex(int horizonYear) {
+
+        return this.current().getTransitionIndex(horizonYear);
+
+    }
+
+    /**
+     * <p>Yields an index for finding all zones which are consistent with observed offsets. </p>
+     *
+     * <p>Example for telemetry which only reports the total offset of a device at some instants: </p>
+     *
+     * <pre>
+     *  List&lt;String&gt; zones =
+     *      provider.getCandidateIndex().findZones(posixTimes, totalOffsets, null);
+     * </pre>
+     *
+     * <p>The index is built on first access from the offset indexes of all zones and then kept
+     * as long as this repository is in use. Queries are cheap and can run concurrently. </p>
+     *
+     * @return  ZoneCandidateIndex
+     * @throws  IllegalStateException if the repository or any zone cannot be loaded
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Liefert einen Index, der alle zu beobachteten Verschiebungen passenden Zeitzonen findet. </p>
+     *
+     * <p>Beispiel f&uuml;r Telemetriedaten, die nur die Gesamtverschiebung eines Ger&auml;ts zu
+     * einigen Zeitpunkten melden: </p>
+     *
+     * <pre>
+     *  List&lt;String&gt; zones =
+     *      provider.getCandidateIndex().findZones(posixTimes, totalOffsets, null);
+     * </pre>
+     *
+     * <p>Der Index wird beim ersten Zugriff aus den Verschiebungsindizes aller Zeitzonen gebaut
+     * und danach so lange behalten, wie diese Zeitzonendatenbank in Gebrauch ist. Abfragen sind
+     * billig und d&uuml;rfen nebenl&auml;ufig laufen. </p>
+     *
+     * @return  ZoneCandidateIndex
+     * @throws  IllegalStateException if the repository or any zone cannot be loaded
+     * @since   5.0-2026b
+     */
+    public ZoneCandidateIndex getCandidateIndex() {
+
+        return this.current().getCandidateIndex();
+
+    }
+
+    /**
+     * <p>Counts all calls of {@code load()} which could be served by the internal cache
+     * without deserializing the zone data again. </p>
+     *
+     * <p>The cache and its statistics are shared by all instances using the same repository. </p>
+     *
+     * <p>The cache can be configured by the system property &quot;net.time4j.tz.repository.cache&quot;
+     * with one of the values {@code none|strong|lru|soft} (default: {@code soft}). The maximum count
+     * of entries in mode {@code lru} is given by &quot;net.time4j.tz.repository.cache.size&quot;.
+     * If the mode is {@code strong} then the property &quot;net.time4j.tz.repository.cache.release&quot;
+     * can be set to {@code true} in order to release the raw zone data after first deserialization. </p>
+     *
+     * @return  count of cache hits
+     * @see     #getCacheMissCount()
+     * @see     #getCacheWaitCount()
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Z&auml;hlt alle Aufrufe von {@code load()}, die vom internen Cache ohne erneute
+     * Deserialisierung der Zeitzonendaten bedient werden konnten. </p>
+     *
+     * <p>Der Cache und seine Statistik werden von allen Instanzen geteilt, die dieselbe
+     * Zeitzonendatenbank verwenden. </p>
+     *
+     * <p>Der Cache kann mit der System-Property &quot;net.time4j.tz.repository.cache&quot;
+     * konfiguriert werden, deren Wert einer von {@code none|strong|lru|soft} sein darf (Standard:
+     * {@code soft}). Die maximale Anzahl von Eintr&auml;gen im Modus {@code lru} wird von
+     * &quot;net.time4j.tz.repository.cache.size&quot; festgelegt. Im Modus {@code strong} kann
+     * die Property &quot;net.time4j.tz.repository.cache.release&quot; auf {@code true} gesetzt
+     * werden, um die rohen Zeitzonendaten nach der ersten Deserialisierung freizugeben. </p>
+     *
+     * @return  count of cache hits
+     * @see     #getCacheMissCount()
+     * @see     #getCacheWaitCount()
+     * @since   5.0-2026b
+     */
+    public long getCacheHitCount() {
+
+        return this.current().getCache().getHitCount();
+
+    }
+
+    /**
+     * <p>Counts all calls of {@code load()} which required the deserialization of zone data. </p>
+     *
+     * @return  count of cache misses
+     * @see     #getCacheHitCount()
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Z&auml;hlt alle Aufrufe von {@code load()}, die eine Deserialisierung von Zeitzonendaten
+     * erforderten. </p>
+     *
+     * @return  count of cache misses
+     * @see     #getCacheHitCount()
+     * @since   5.0-2026b
+     */
+    public long getCacheMissCount() {
+
+        return this.current().getCache().getMissCount();
+
+    }
+
+    /**
+     * <p>Counts all calls of {@code load()} which waited for another thread deserializing the
+     * same zone. </p>
+     *
+     * <p>Such calls neither deserialize the zone data themselves nor are they served by the
+     * cache, so they count neither as hits nor as misses. </p>
+     *
+     * @return  count of collapsed concurrent requests
+     * @see     #getCacheHitCount()
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Z&auml;hlt alle Aufrufe von {@code load()}, die auf einen anderen Thread gewartet haben,
+     * der dieselbe Zeitzone deserialisiert. </p>
+     *
+     * <p>Solche Aufrufe deserialisieren die Zeitzonendaten weder selbst, noch werden sie vom Cache
+     * bedient, also z&auml;hlen sie weder als Treffer noch als Fehlschl&auml;ge. </p>
+     *
+     * @return  count of collapsed concurrent requests
+     * @see     #getCacheHitCount()
+     * @since   5.0-2026b
+     */
+    public long getCacheWaitCount() {
+
+        return this.current().getCache().getWaitCount();
+
+    }
+
+    /**
+     * <p>Loads all zones of this repository in parallel on the common fork-join-pool. </p>
+     *
+     * <p>The warm-up of all zones is only done once per shared repository, and repeated
+     * calls yield the same future. The loaded zones are pinned in memory independent of the
+     * configured cache mode so subsequent calls of {@code load()} only need a map lookup as
+     * long as the repository is in use. </p>
+     *
+     * @return  future which completes when all zones have been loaded
+     * @see     #warmUp(Collection)
+     * @see     TZDATA#warmUp()
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>L&auml;dt alle Zeitzonen dieser Datenbank parallel im allgemeinen Fork-Join-Pool. </p>
+     *
+     * <p>Das Vorladen aller Zeitzonen findet pro geteilter Datenbank nur einmal statt, und
+     * wiederholte Aufrufe liefern dasselbe {@code Future}. Die geladenen Zeitzonen werden
+     * unabh&auml;ngig vom konfigurierten Cache-Modus fest im Speicher gehalten, so da&szlig;
+     * nachfolgende Aufrufe von {@code load()} nur einen Map-Zugriff erfordern, solange die
+     * Datenbank in Gebrauch ist. </p>
+     *
+     * @return  future which completes when all zones have been loaded
+     * @see     #warmUp(Collection)
+     * @see     TZDATA#warmUp()
+     * @since   5.0-2026b
+     */
+    public CompletableFuture<Void> warmUp() {
+
+        return this.current().warmUp(null);
+
+    }
+
+    /**
+     * <p>Loads given zones in parallel on the common fork-join-pool. </p>
+     *
+     * <p>The loaded zones are pinned in memory like by {@link #warmUp()}. Unknown zone ids
+     * will be ignored. </p>
+     *
+     * @param   zoneIDs     timezone ids to be loaded
+     * @return  future which completes when all given zones have been loaded
+     * @see     #warmUp()
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>L&auml;dt die angegebenen Zeitzonen parallel im allgemeinen Fork-Join-Pool. </p>
+     *
+     * <p>Die geladenen Zeitzonen werden wie von {@link #warmUp()} fest im Speicher gehalten.
+     * Unbekannte Zeitzonenkennungen werden ignoriert. </p>
+     *
+     * @param   zoneIDs     timezone ids to be loaded
+     * @return  future which completes when all given zones have been loaded
+     * @see     #warmUp()
+     * @since   5.0-2026b
+     */
+    public CompletableFuture<Void> warmUp(Collection<String> zoneIDs) {
+
+        if (zoneIDs == null) {
+            throw new NullPointerException("Missing zone ids.");
         }
 
-        return null;
+        return this.current().warmUp(zoneIDs);
 
     }
 
@@ -303,14 +796,14 @@ public class TimezoneRepositoryProviderSPI
     @Override
     public String getLocation() {
 
-        return this.location;
+        return this.current().getLocation();
 
     }
 
     @Override
     public String getVersion() {
 
-        return this.version;
+        return this.current().getVersion();
 
     }
 
@@ -324,14 +817,40 @@ public class TimezoneRepositoryProviderSPI
     @Override
     public Map<GregorianDate, Integer> getLeapSecondTable() {
 
-        return Collections.unmodifiableMap(this.leapsecs);
+        return this.current().getLeapSecondTable();
+
+    }
+
+    /**
+     * <p>Yields the leap second table in a primitive form suitable for allocation-free
+     * conversions between UTC and TAI. </p>
+     *
+     * <p>The index is built once per repository and reflects the same data as
+     * {@link #getLeapSecondTable()}. </p>
+     *
+     * @return  LeapSecondIndex (empty if the leap seconds of this repository are ignored)
+     * @since   5.0-2026b
+     */
+    /*[deutsch]
+     * <p>Liefert die Schaltsekundentabelle in einer primitiven Form, die Umrechnungen zwischen
+     * UTC und TAI ohne Objekterzeugung erlaubt. </p>
+     *
+     * <p>Der Index wird einmal je Zeitzonendatenbank gebaut und enth&auml;lt dieselben Daten wie
+     * {@link #getLeapSecondTable()}. </p>
+     *
+     * @return  LeapSecondIndex (empty if the leap seconds of this repository are ignored)
+     * @since   5.0-2026b
+     */
+    public LeapSecondIndex getLeapSecondIndex() {
+
+        return this.current().getLeapSecondIndex();
 
     }
 
     @Override
     public boolean supportsNegativeLS() {
 
-        return !this.leapsecs.isEmpty();
+        return !this.current().getLeapSecondTable().isEmpty();
 
     }
 
@@ -349,53 +868,261 @@ public class TimezoneRepositoryProviderSPI
     @Override
     public PlainDate getDateOfExpiration() {
 
-        return this.expires;
+        return this.current().getDateOfExpiration();
 
     }
 
     @Override
     public String toString() {
 
-        return "TZ-REPOSITORY(" + this.version + ")";
+        return "TZ-REPOSITORY(" + this.current().getVersion() + ")";
+
+    }
+
+    private ZoneOffsetIndex requireOffsetIndex(String zoneID) {
+
+        ZoneOffsetIndex index = this.getOffsetIndex(zoneID);
+
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown timezone: " + zoneID);
+        }
+
+        return index;
+
+    }
+
+    // blocks if the repository is still being parsed asynchronously
+    private Repository current() {
+
+        try {
+            return this.repository.join().get();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IllegalStateException) {
+                throw (IllegalStateException) cause;
+            }
+            throw new IllegalStateException("[ERROR] TZ-repository not available. => " + cause, cause);
+        }
 
     }
 
-    private static void checkMagicLabel(
-        DataInputStream dis,
-        String location
+    private static AtomicReference<Repository> obtain(RepositorySettings settings) {
+
+        String repositoryPath = settings.getPath();
+        String repositoryVersion = settings.getVersion();
+        Class<?> reference = settings.getReference();
+        String name = ((repositoryVersion == null) ? "tzdata" : "tzdata" + repositoryVersion);
+        String file = name + ".repository";
+        boolean delta = false;
+
+        if (!exists(repositoryPath, file, reference) && exists(repositoryPath, name + ".delta", reference)) {
+            file = name + ".delta";
+            delta = true;
+        }
+
+        try {
+            String path = "tzrepo/" + file;
+            File mappable = null;
+            File watchable = null;
+            URI uri;
+
+            if (repositoryPath != null) {
+                File f = new File(repositoryPath, file);
+
+                if (f.isAbsolute()) {
+                    if (f.exists()) {
+                        uri = f.toURI();
+                        if (delta) {
+                            // neither memory-mapping nor watching of delta files
+                        } else if (settings.isWatch()) {
+                            watchable = f; // no memory-mapping because the file might be overwritten in place
+                        } else if (settings.isLazy()) {
+                            mappable = f;
+                        }
+                    } else {
+                        throw new FileNotFoundException("Path to tz-repository not found: " + f);
+                    }
+                } else {
+                    uri = ResourceLoader.getInstance().locate("tzdata", reference, f.toString());
+                }
+            } else {
+                uri = ResourceLoader.getInstance().locate("tzdata", reference, path);
+            }
+
+            // all providers referring to the same resolved location and configuration share one repository
+            String key =
+                ((uri == null) ? path : uri.toString())
+                + "|leaps=" + !settings.isNoLeaps()
+                + "|mapped=" + (mappable != null)
+                + "|storage=" + settings.getStorage()
+                + "|watch=" + (watchable != null)
+                + "|zones=" + settings.getFilter()
+                + "|cache=" + settings.getCache()
+                + "|jmx=" + settings.isTracking();
+            URI target = uri;
+            File mapped = mappable;
+            File watched = watchable;
+            Repository base = null;
+
+            if (delta) {
+                // resolved outside of the registry because the base might itself be a delta
+                String baseVersion;
+                try (InputStream is = open(uri, path, reference)) {
+                    baseVersion = RepositoryDelta.readHeader(new DataInputStream(is), path);
+                }
+                base = obtain(settings.forBase(baseVersion)).get();
+            }
+
+            Repository patchable = base;
+            RepositoryRegistry.Loader loader =
+                () -> startWarmUp(loadRepository(target, mapped, path, settings, patchable), settings.getWarmUp());
+            return RepositoryRegistry.obtain(
+                key,
+                loader,
+                ref -> {
+                    RepositoryWatcher watcher = ((watched == null) ? null : RepositoryWatcher.start(watched, ref, loader));
+                    RepositoryMBean mbean = (settings.isTracking() ? RepositoryMBean.register(key, ref) : null);
+                    return () -> {
+                        if (mbean != null) {
+                            mbean.unregister();
+                        }
+                        if (watcher != null) {
+                            watcher.close();
+                        }
+                    };
+                });
+        } catch (IOException ioe) {
+            throw new IllegalStateException("[ERROR] TZ-repository not available. => " + ioe.getMessage(), ioe);
+        }
+
+    }
+
+    private static Repository loadRepository(
+        URI uri,
+        File mappable,
+        String path,
+        RepositorySettings settings,
+        Repository base
     ) throws IOException {
 
-        int b1 = dis.readByte();
-        int b2 = dis.readByte();
-        int b3 = dis.readByte();
-        int b4 = dis.readByte();
-        int b5 = dis.readByte();
-        int b6 = dis.readByte();
-
-        if (
-            (b1 != 't')
-            || (b2 != 'z')
-            || (b3 != 'r')
-            || (b4 != 'e')
-            || (b5 != 'p')
-            || (b6 != 'o')
-        )  {
-            throw new IOException("Invalid tz-repository: " + location);
+        boolean noLeaps = settings.isNoLeaps();
+        PayloadStore.Storage storage = settings.getStorage();
+        ZoneFilter filter = settings.getFilter();
+        HistoryCache cache = settings.getCache().create();
+        long start = System.nanoTime();
+        Object event = RepositoryEvents.beginParse();
+
+        if (mappable != null) {
+            Repository repository = Repository.map(mappable, uri.toString(), noLeaps, filter, cache);
+            repository.getStatistics().recordParse(System.nanoTime() - start, mappable.length());
+            if (settings.isTracking()) {
+                repository.getStatistics().enableTracking();
+            }
+            RepositoryEvents.commitParse(event, repository, mappable.length());
+            return repository;
+        }
+
+        try (RepositoryStatistics.CountingInputStream is = new RepositoryStatistics.CountingInputStream(open(uri, path, settings.getReference()))) {
+            String location = ((uri == null) ? path : uri.toString());
+            Repository repository = (
+                (base == null)
+                ? Repository.read(is, location, noLeaps, storage, filter, cache)
+                : Repository.patch(base, is, location, noLeaps, storage, filter, cache));
+            repository.getStatistics().recordParse(System.nanoTime() - start, is.getCount());
+            if (settings.isTracking()) {
+                repository.getStatistics().enableTracking();
+            }
+            RepositoryEvents.commitParse(event, repository, is.getCount());
+            return repository;
         }
 
     }
 
-    private static Class<?> getReference() {
+    private static InputStream open(
+        URI uri,
+        String path,
+        Class<?> reference
+    ) throws IOException {
+
+        InputStream is = null;
 
-        if (Boolean.getBoolean("test.environment")) {
-            try {
-                return Class.forName("net.time4j.tz.repo.RepositoryTest");
-            } catch (ClassNotFoundException e) {
-                throw new AssertionError(e);
+        if (uri != null) {
+            is = ResourceLoader.getInstance().load(uri, true);
+        }
+
+        if (is == null) {
+            // fallback if something has gone wrong (maybe invalid uri from protection domain etc.)
+            URL url = reference.getClassLoader().getResource(path);
+            if (url == null) {
+                throw new FileNotFoundException("Classloader cannot access tz-repository: " + path);
+            } else {
+                URLConnection conn = url.openConnection();
+                conn.setUseCaches(false);
+                conn.connect(); // explicit for clarity
+                is = conn.getInputStream();
+            }
+        }
+
+        return is;
+
+    }
+
+    private static boolean exists(
+        String repositoryPath,
+        String file,
+        Class<?> reference
+    ) {
+
+        if (repositoryPath != null) {
+            File f = new File(repositoryPath, file);
+            if (f.isAbsolute()) {
+                return f.exists();
             }
+            return (reference.getClassLoader().getResource(f.toString()) != null);
         }
 
-        return TimezoneRepositoryProviderSPI.class;
+        return (reference.getClassLoader().getResource("tzrepo/" + file) != null);
+
+    }
+
+    private static Repository startWarmUp(
+        Repository repository,
+        String warmUp
+    ) {
+
+        if ((warmUp != null) && !warmUp.trim().isEmpty()) {
+            if (warmUp.trim().equalsIgnoreCase("all")) {
+                repository.warmUp(null);
+            } else {
+                List<String> zoneIDs = new ArrayList<>();
+                for (String zoneID : warmUp.split(",")) {
+                    if (!zoneID.trim().isEmpty()) {
+                        zoneIDs.add(zoneID.trim());
+                    }
+                }
+                repository.warmUp(zoneIDs);
+            }
+        }
+
+        return repository;
+
+    }
+
+    //~ Innere Klassen ----------------------------------------------------
+
+    private static class LoaderThreadFactory
+        implements ThreadFactory {
+
+        //~ Methoden ------------------------------------------------------
+
+        @Override
+        public Thread newThread(Runnable r) {
+
+            Thread thread = new Thread(r, "Time4J-TZ-Repository-Loader");
+            thread.setDaemon(true);
+            return thread;
+
+        }
 
     }
 
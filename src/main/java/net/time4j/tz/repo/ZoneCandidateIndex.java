@@ -0,0 +1,444 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (ZoneCandidateIndex.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+
+package net.time4j.tz.repo;
+
+import net.time4j.PlainDate;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+
+/**
+ * <p>Reverse lookup index which finds all zones consistent with observed offsets. </p>
+ *
+ * <p>An observation consists of a posix time, the total offset observed at this time and
+ * optionally a flag telling if daylight saving time was observed. For every year from
+ * {@link #FIRST_YEAR} until {@link ZoneOffsetIndex#HORIZON_YEAR} the index knows all pairs of
+ * total offset and zone occurring in this year, sorted in one primitive array. A query hence
+ * only needs a binary search to find the few zones which might match the first observation,
+ * and then checks these candidates exactly against all observations by help of their
+ * {@link ZoneOffsetIndex}. Observations outside of the indexed years are checked against all
+ * zones. Every query allocates one temporary {@code int}-array for the matching zones which
+ * has the size of the candidate range (or of the count of all zones) and is then wrapped by
+ * the result list. </p>
+ *
+ * <p>The index numbers the zones by their position in its own alphabetically sorted copy of
+ * the zone ids, so the results are always in alphabetical order. Instances are immutable and
+ * thread-safe. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ * @see     TimezoneRepositoryProviderSPI#getCandidateIndex()
+ */
+/*[deutsch]
+ * <p>Index zur R&uuml;ckw&auml;rtssuche, der alle zu beobachteten Verschiebungen passenden
+ * Zeitzonen findet. </p>
+ *
+ * <p>Eine Beobachtung besteht aus einer POSIX-Zeit, der zu dieser Zeit beobachteten
+ * Gesamtverschiebung und optional einem Kennzeichen, ob Sommerzeit beobachtet wurde. F&uuml;r jedes
+ * Jahr von {@link #FIRST_YEAR} bis {@link ZoneOffsetIndex#HORIZON_YEAR} kennt der Index alle in
+ * diesem Jahr vorkommenden Paare aus Gesamtverschiebung und Zeitzone, sortiert in einem primitiven
+ * Array. Eine Abfrage braucht deshalb nur eine bin&auml;re Suche, um die wenigen Zeitzonen zu finden,
+ * die zur ersten Beobachtung passen k&ouml;nnten, und pr&uuml;ft diese Kandidaten dann exakt gegen
+ * alle Beobachtungen mit Hilfe ihres {@link ZoneOffsetIndex}. Beobachtungen au&szlig;erhalb der
+ * indizierten Jahre werden gegen alle Zeitzonen gepr&uuml;ft. Jede Abfrage legt ein
+ * tempor&auml;res {@code int}-Array f&uuml;r die passenden Zeitzonen an, das so gro&szlig; wie
+ * der Kandidatenbereich (oder wie die Anzahl aller Zeitzonen) ist und dann von der Ergebnisliste
+ * umh&uuml;llt wird. </p>
+ *
+ * <p>Der Index numeriert die Zeitzonen nach ihrer Position in seiner eigenen alphabetisch
+ * sortierten Kopie der Zeitzonenkennungen, so da&szlig; die Ergebnisse immer alphabetisch
+ * geordnet sind. Instanzen sind unver&auml;nderlich und thread-sicher. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ * @see     TimezoneRepositoryProviderSPI#getCandidateIndex()
+ */
+public final class ZoneCandidateIndex {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    /**
+     * The first indexed year.
+     */
+    /*[deutsch]
+     * Das erste indizierte Jahr.
+     */
+    public static final int FIRST_YEAR = 1900;
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final String[] ids;
+    private final ZoneOffsetIndex[] offsetIndexes;
+    private final long[] bounds;
+    private final int[] starts;
+    private final long[] keys;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private ZoneCandidateIndex(
+        String[] ids,
+        ZoneOffsetIndex[] offsetIndexes,
+        long[] bounds,
+        int[] starts,
+        long[] keys
+    ) {
+        super();
+
+        this.ids = ids;
+        this.offsetIndexes = offsetIndexes;
+        this.bounds = bounds;
+        this.starts = starts;
+        this.keys = keys;
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Builds the index for given zones. </p>
+     *
+     * @param   zoneIDs     timezone ids
+     * @param   loader      yields the offset index of a zone ({@code null} if unknown)
+     * @return  new index
+     */
+    static ZoneCandidateIndex of(
+        Collection<String> zoneIDs,
+        Function<String, ZoneOffsetIndex> loader
+    ) {
+
+        String[] ids = zoneIDs.toArray(new String[zoneIDs.size()]);
+        Arrays.sort(ids);
+
+        int n = ids.length;
+        ZoneOffsetIndex[] offsetIndexes = new ZoneOffsetIndex[n];
+
+        for (int z = 0; z < n; z++) {
+            offsetIndexes[z] = loader.apply(ids[z]);
+        }
+
+        int years = ZoneOffsetIndex.HORIZON_YEAR - FIRST_YEAR;
+        long[] bounds = new long[years + 1];
+
+        for (int y = 0; y <= years; y++) {
+            bounds[y] = PlainDate.of(FIRST_YEAR + y, 1, 1).atStartOfDay().atUTC().getPosixTime();
+        }
+
+        int[] starts = new int[years + 1];
+        long[] keys = new long[years * n * 2]; // usually one or two offsets per zone and year
+        int size = 0;
+
+        for (int y = 0; y < years; y++) {
+            starts[y] = size;
+
+            for (int z = 0; z < n; z++) {
+                ZoneOffsetIndex index = offsetIndexes[z];
+
+                if (index == null) { // removed concurrently
+                    continue;
+                }
+
+                if (size + 1 > keys.length) {
+                    keys = Arrays.copyOf(keys, keys.length * 2);
+                }
+
+                keys[size++] = key(index.getTotalOffset(bounds[y]), z);
+
+                for (int k = index.search(bounds[y]) + 1; k < index.size(); k++) {
+                    long t = index.getInstant(k);
+                    if (t >= bounds[y + 1]) {
+                        break;
+                    } else if (size + 1 > keys.length) {
+                        keys = Arrays.copyOf(keys, keys.length * 2);
+                    }
+                    keys[size++] = key(index.getTotalOffset(t), z);
+                }
+            }
+
+            Arrays.sort(keys, starts[y], size);
+            int unique = starts[y];
+
+            for (int i = starts[y]; i < size; i++) {
+                if ((unique == starts[y]) || (keys[unique - 1] != keys[i])) {
+                    keys[unique++] = keys[i];
+                }
+            }
+
+            size = unique;
+        }
+
+        starts[years] = size;
+        return new ZoneCandidateIndex(ids, offsetIndexes, bounds, starts, Arrays.copyOf(keys, size));
+
+    }
+
+    /**
+     * <p>Finds all zones which had given total offset at given posix time. </p>
+     *
+     * @param   posixTime       elapsed seconds since UNIX epoch without leap seconds
+     * @param   totalOffset     observed total offset in seconds
+     * @return  unmodifiable list of matching timezone ids in alphabetical order
+     */
+    /*[deutsch]
+     * <p>Findet alle Zeitzonen, die zur angegebenen POSIX-Zeit die angegebene Gesamtverschiebung
+     * hatten. </p>
+     *
+     * @param   posixTime       elapsed seconds since UNIX epoch without leap seconds
+     * @param   totalOffset     observed total offset in seconds
+     * @return  unmodifiable list of matching timezone ids in alphabetical order
+     */
+    public List<String> findZones(
+        long posixTime,
+        int totalOffset
+    ) {
+
+        return this.findZones(new long[] {posixTime}, new int[] {totalOffset}, null);
+
+    }
+
+    /**
+     * <p>Finds all zones which are consistent with all given observations. </p>
+     *
+     * <p>The observation at position {@code i} consists of {@code posixTimes[i]},
+     * {@code totalOffsets[i]} and optionally {@code dstFlags[i]}. A negative flag means that
+     * it is unknown whether daylight saving time was observed, zero means standard time and
+     * a positive flag means daylight saving time. </p>
+     *
+     * @param   posixTimes      elapsed seconds since UNIX epoch without leap seconds
+     * @param   totalOffsets    observed total offsets in seconds
+     * @param   dstFlags        observed daylight saving flags (optional, {@code null} if unknown)
+     * @return  unmodifiable list of matching timezone ids in alphabetical order
+     * @throws  IllegalArgumentException if there is no observation or if the array lengths differ
+     */
+    /*[deutsch]
+     * <p>Findet alle Zeitzonen, die mit allen angegebenen Beobachtungen vereinbar sind. </p>
+     *
+     * <p>Die Beobachtung an der Position {@code i} besteht aus {@code posixTimes[i]},
+     * {@code totalOffsets[i]} und optional {@code dstFlags[i]}. Ein negatives Kennzeichen
+     * bedeutet, da&szlig; unbekannt ist, ob Sommerzeit beobachtet wurde, null bedeutet
+     * Standardzeit und ein positives Kennzeichen Sommerzeit. </p>
+     *
+     * @param   posixTimes      elapsed seconds since UNIX epoch without leap seconds
+     * @param   totalOffsets    observed total offsets in seconds
+     * @param   dstFlags        observed daylight saving flags (optional, {@code null} if unknown)
+     * @return  unmodifiable list of matching timezone ids in alphabetical order
+     * @throws  IllegalArgumentException if there is no observation or if the array lengths differ
+     */
+    public List<String> findZones(
+        long[] posixTimes,
+        int[] totalOffsets,
+        int[] dstFlags
+    ) {
+
+        int m = posixTimes.length;
+
+        if (m == 0) {
+            throw new IllegalArgumentException("Missing observations.");
+        } else if ((totalOffsets.length != m) || ((dstFlags != null) && (dstFlags.length != m))) {
+            throw new IllegalArgumentException("Observation arrays must have the same length.");
+        }
+
+        int year = this.yearOf(posixTimes[0]);
+        int[] result;
+        int count = 0;
+
+        if (year < 0) {
+            result = new int[this.ids.length];
+            for (int z = 0; z < this.ids.length; z++) {
+                if (this.matches(z, posixTimes, totalOffsets, dstFlags)) {
+                    result[count++] = z;
+                }
+            }
+        } else {
+            int start = this.find(key(totalOffsets[0], 0), this.starts[year], this.starts[year + 1]);
+            int end = this.find(key(totalOffsets[0] + 1, 0), start, this.starts[year + 1]);
+            result = new int[end - start];
+            for (int i = start; i < end; i++) {
+                int z = (int) this.keys[i]; // lower half
+                if (this.matches(z, posixTimes, totalOffsets, dstFlags)) {
+                    result[count++] = z;
+                }
+            }
+        }
+
+        return new ZoneList(result, count);
+
+    }
+
+    /**
+     * <p>Yields the count of indexed zones. </p>
+     *
+     * @return  int
+     */
+    /*[deutsch]
+     * <p>Liefert die Anzahl der indizierten Zeitzonen. </p>
+     *
+     * @return  int
+     */
+    public int getZoneCount() {
+
+        return this.ids.length;
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "ZoneCandidateIndex[zones=" + this.ids.length + ", entries=" + this.keys.length + "]";
+
+    }
+
+    private boolean matches(
+        int zone,
+        long[] posixTimes,
+        int[] totalOffsets,
+        int[] dstFlags
+    ) {
+
+        ZoneOffsetIndex index = this.offsetIndexes[zone];
+
+        if (index == null) {
+            return false;
+        }
+
+        for (int i = 0; i < posixTimes.length; i++) {
+            if (index.getTotalOffset(posixTimes[i]) != totalOffsets[i]) {
+                return false;
+            } else if ((dstFlags != null) && (dstFlags[i] >= 0)) {
+                boolean dst = (index.getDaylightSavingOffset(posixTimes[i]) != 0);
+                if (dst != (dstFlags[i] > 0)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+
+    }
+
+    // position of the year bucket or -1 if not indexed
+    private int yearOf(long posixTime) {
+
+        int last = this.bounds.length - 1;
+
+        if ((posixTime < this.bounds[0]) || (posixTime >= this.bounds[last])) {
+            return -1;
+        }
+
+        int low = 0;
+        int high = last;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (this.bounds[middle] <= posixTime) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return high;
+
+    }
+
+    // first position in [from, to) whose key is not smaller than given key
+    private int find(
+        long key,
+        int from,
+        int to
+    ) {
+
+        int low = from;
+        int high = to - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (this.keys[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return low;
+
+    }
+
+    private static long key(
+        long totalOffset,
+        int zone
+    ) {
+
+        return (totalOffset << 32) | zone;
+
+    }
+
+    //~ Innere Klassen ----------------------------------------------------
+
+    private class ZoneList
+        extends AbstractList<String> {
+
+        //~ Instanzvariablen ----------------------------------------------
+
+        private final int[] handles;
+        private final int size;
+
+        //~ Konstruktoren -------------------------------------------------
+
+        ZoneList(
+            int[] handles,
+            int size
+        ) {
+            super();
+
+            this.handles = handles;
+            this.size = size;
+
+        }
+
+        //~ Methoden ------------------------------------------------------
+
+        @Override
+        public String get(int index) {
+
+            if ((index < 0) || (index >= this.size)) {
+                throw new IndexOutOfBoundsException("Index: " + index);
+            }
+
+            return ZoneCandidateIndex.this.ids[this.handles[index]];
+
+        }
+
+        @Override
+        public int size() {
+
+            return this.size;
+
+        }
+
+    }
+
+}
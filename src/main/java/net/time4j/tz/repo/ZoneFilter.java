@@ -0,0 +1,172 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (ZoneFilter.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * <p>Restricts the zones which are kept in memory. </p>
+ *
+ * <p>Patterns are either exact zone ids or prefixes. A pattern ending with a slash
+ * (like &quot;Europe/&quot;) or with an asterisk (like &quot;America/Argentina/*&quot;)
+ * denotes a prefix. Exclusions take precedence over inclusions. Without any inclusion
+ * all zones not excluded are accepted. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class ZoneFilter {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    /**
+     * Accepts all zones.
+     */
+    static final ZoneFilter ALL = new ZoneFilter(null, Collections.emptyList());
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final List<String> includes; // null means everything
+    private final List<String> excludes;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private ZoneFilter(
+        List<String> includes,
+        List<String> excludes
+    ) {
+        super();
+
+        this.includes = includes;
+        this.excludes = excludes;
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Creates a filter from given comma-separated pattern lists. </p>
+     *
+     * @param   include     patterns of zones to be kept ({@code null} or empty if all)
+     * @param   exclude     patterns of zones to be dropped ({@code null} or empty if none)
+     * @return  ZoneFilter
+     */
+    static ZoneFilter of(
+        String include,
+        String exclude
+    ) {
+
+        List<String> includes = parse(include);
+        List<String> excludes = parse(exclude);
+
+        if (includes.isEmpty() && excludes.isEmpty()) {
+            return ALL;
+        }
+
+        return new ZoneFilter(includes.isEmpty() ? null : includes, excludes);
+
+    }
+
+    /**
+     * <p>Evaluates the system properties &quot;net.time4j.tz.repository.include&quot; and
+     * &quot;net.time4j.tz.repository.exclude&quot;. </p>
+     *
+     * @return  ZoneFilter
+     */
+    static ZoneFilter fromSystemProperties() {
+
+        return of(
+            System.getProperty("net.time4j.tz.repository.include"),
+            System.getProperty("net.time4j.tz.repository.exclude"));
+
+    }
+
+    /**
+     * <p>Determines if given zone shall be kept. </p>
+     *
+     * @param   zoneID  timezone id
+     * @return  boolean
+     */
+    boolean accepts(String zoneID) {
+
+        if (this == ALL) {
+            return true;
+        }
+
+        return (
+            ((this.includes == null) || matches(this.includes, zoneID))
+            && !matches(this.excludes, zoneID));
+
+    }
+
+    @Override
+    public String toString() {
+
+        if (this == ALL) {
+            return "*";
+        }
+
+        return "+" + ((this.includes == null) ? "*" : String.join(",", this.includes))
+            + "-" + String.join(",", this.excludes);
+
+    }
+
+    private static boolean matches(
+        List<String> patterns,
+        String zoneID
+    ) {
+
+        for (String pattern : patterns) {
+            if (pattern.endsWith("*")) {
+                if (zoneID.startsWith(pattern.substring(0, pattern.length() - 1))) {
+                    return true;
+                }
+            } else if (pattern.endsWith("/") ? zoneID.startsWith(pattern) : zoneID.equals(pattern)) {
+                return true;
+            }
+        }
+
+        return false;
+
+    }
+
+    private static List<String> parse(String patterns) {
+
+        List<String> result = new ArrayList<>();
+
+        if (patterns != null) {
+            for (String pattern : patterns.split(",")) {
+                String p = pattern.trim();
+                if (!p.isEmpty()) {
+                    result.add(p);
+                }
+            }
+        }
+
+        return result;
+
+    }
+
+}
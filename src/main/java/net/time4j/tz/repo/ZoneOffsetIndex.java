@@ -0,0 +1,458 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (ZoneOffsetIndex.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import net.time4j.Moment;
+import net.time4j.PlainDate;
+import net.time4j.scale.TimeScale;
+import net.time4j.tz.TransitionHistory;
+import net.time4j.tz.ZonalOffset;
+import net.time4j.tz.ZonalTransition;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+
+/**
+ * <p>Primitive lookup index for the offsets of one zone. </p>
+ *
+ * <p>The index consists of the sorted transition instants as {@code long[]} and the total
+ * and daylight saving offsets valid from these instants on as {@code int[]}. Queries for
+ * a given posix time (elapsed seconds since 1970-01-01T00:00Z without leap seconds) are
+ * answered by a binary search without any object allocation. Transitions defined by rules
+ * are expanded from 1800 until the start of year {@link #HORIZON_YEAR}. Queries beyond this
+ * horizon (or before 1800 in the rare case of earlier transitions) fall back to the underlying
+ * {@code TransitionHistory} which is correct but not allocation-free. </p>
+ *
+ * <p>Instances are immutable and thread-safe. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ * @see     TimezoneRepositoryProviderSPI#getOffsetIndex(String)
+ */
+/*[deutsch]
+ * <p>Primitiver Index zum Nachschlagen der Verschiebungen einer Zeitzone. </p>
+ *
+ * <p>Der Index besteht aus den sortierten &Uuml;bergangszeitpunkten als {@code long[]} und den
+ * ab diesen Zeitpunkten g&uuml;ltigen Gesamt- und Sommerzeitverschiebungen als {@code int[]}.
+ * Abfragen zu einer POSIX-Zeit (Sekunden seit 1970-01-01T00:00Z ohne Schaltsekunden) werden
+ * mit einer bin&auml;ren Suche ohne jede Objekterzeugung beantwortet. Regelbasierte &Uuml;berg&auml;nge
+ * werden von 1800 bis zum Beginn des Jahres {@link #HORIZON_YEAR} expandiert. Abfragen jenseits
+ * dieses Horizonts (oder vor 1800 im seltenen Fall fr&uuml;herer &Uuml;berg&auml;nge) werden an die
+ * zugrundeliegende {@code TransitionHistory} delegiert, was korrekt, aber nicht frei von
+ * Objekterzeugung ist. </p>
+ *
+ * <p>Instanzen sind unver&auml;nderlich und thread-sicher. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ * @see     TimezoneRepositoryProviderSPI#getOffsetIndex(String)
+ */
+public final class ZoneOffsetIndex {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    /**
+     * The year until which rule-based transitions are expanded (exclusive).
+     */
+    /*[deutsch]
+     * Das Jahr, bis zu dem regelbasierte &Uuml;berg&auml;nge expandiert werden (exklusiv).
+     */
+    public static final int HORIZON_YEAR = 2200;
+
+    private static final int CHUNK_SIZE = 16384;
+    private static final int PARALLEL_THRESHOLD = 4 * CHUNK_SIZE;
+    static final long LOWER_BOUND = PlainDate.of(1800, 1, 1).atStartOfDay().atUTC().getPosixTime();
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final TransitionHistory history;
+    private final long start;
+    private final long horizon;
+    private final int initialTotal;
+    private final int initialDST;
+    private final long[] instants;
+    private final int[] totalOffsets;
+    private final int[] dstOffsets;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private ZoneOffsetIndex(
+        TransitionHistory history,
+        long start,
+        long horizon,
+        int initialTotal,
+        int initialDST,
+        List<ZonalTransition> transitions
+    ) {
+        super();
+
+        int n = transitions.size();
+
+        this.history = history;
+        this.start = start;
+        this.horizon = horizon;
+        this.initialTotal = initialTotal;
+        this.initialDST = initialDST;
+        this.instants = new long[n];
+        this.totalOffsets = new int[n];
+        this.dstOffsets = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            ZonalTransition t = transitions.get(i);
+            this.instants[i] = t.getPosixTime();
+            this.totalOffsets[i] = t.getTotalOffset();
+            this.dstOffsets[i] = t.getDaylightSavingOffset();
+        }
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Builds the index for given transition history. </p>
+     *
+     * @param   history     transition history of a zone
+     * @return  new index
+     */
+    /*[deutsch]
+     * <p>Baut den Index f&uuml;r die angegebenen Zeitzonendaten. </p>
+     *
+     * @param   history     transition history of a zone
+     * @return  new index
+     */
+    public static ZoneOffsetIndex of(TransitionHistory history) {
+
+        Moment from = Moment.of(LOWER_BOUND, TimeScale.POSIX);
+        Moment end = PlainDate.of(HORIZON_YEAR, 1, 1).atStartOfDay().atUTC();
+        ZonalTransition before = history.getStartTransition(from);
+        long start;
+        int initialTotal;
+        int initialDST;
+
+        if (before == null) { // normal case: all transitions of tzdb happen after the lower bound
+            start = Long.MIN_VALUE;
+            initialTotal = history.getInitialOffset().getIntegralAmount();
+            initialDST = 0;
+        } else { // for example purely rule-based histories
+            start = LOWER_BOUND;
+            initialTotal = before.getTotalOffset();
+            initialDST = before.getDaylightSavingOffset();
+        }
+
+        List<ZonalTransition> transitions = history.getTransitions(from, end);
+        long horizon = (history.findNextTransition(end).isPresent() ? end.getPosixTime() : Long.MAX_VALUE);
+        return new ZoneOffsetIndex(history, start, horizon, initialTotal, initialDST, transitions);
+
+    }
+
+    /**
+     * <p>Yields the total offset (standard plus daylight saving offset) at given posix time. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  total offset in seconds
+     */
+    /*[deutsch]
+     * <p>Liefert die Gesamtverschiebung (Standard- plus Sommerzeitverschiebung) zur angegebenen
+     * POSIX-Zeit. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  total offset in seconds
+     */
+    public int getTotalOffset(long posixTime) {
+
+        if ((posixTime < this.start) || (posixTime >= this.horizon)) {
+            ZonalTransition t = this.history.getStartTransition(Moment.of(posixTime, TimeScale.POSIX));
+            return ((t == null) ? this.history.getInitialOffset().getIntegralAmount() : t.getTotalOffset());
+        }
+
+        int index = this.search(posixTime);
+        return ((index < 0) ? this.initialTotal : this.totalOffsets[index]);
+
+    }
+
+    /**
+     * <p>Yields the daylight saving offset at given posix time. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  daylight saving offset in seconds
+     */
+    /*[deutsch]
+     * <p>Liefert die Sommerzeitverschiebung zur angegebenen POSIX-Zeit. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  daylight saving offset in seconds
+     */
+    public int getDaylightSavingOffset(long posixTime) {
+
+        if ((posixTime < this.start) || (posixTime >= this.horizon)) {
+            ZonalTransition t = this.history.getStartTransition(Moment.of(posixTime, TimeScale.POSIX));
+            return ((t == null) ? 0 : t.getDaylightSavingOffset());
+        }
+
+        int index = this.search(posixTime);
+        return ((index < 0) ? this.initialDST : this.dstOffsets[index]);
+
+    }
+
+    /**
+     * <p>Yields the standard offset at given posix time. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  standard offset in seconds
+     */
+    /*[deutsch]
+     * <p>Liefert die Standardverschiebung zur angegebenen POSIX-Zeit. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  standard offset in seconds
+     */
+    public int getStandardOffset(long posixTime) {
+
+        return this.getTotalOffset(posixTime) - this.getDaylightSavingOffset(posixTime);
+
+    }
+
+    /**
+     * <p>Fills the total offsets for all given posix times into given target array. </p>
+     *
+     * <p>Sorted or nearly sorted input is processed fastest because the lookup first tries
+     * the interval of the previous value and its successor before falling back to a binary
+     * search. Large arrays are split into chunks which are processed in parallel on the
+     * common fork-join-pool. </p>
+     *
+     * @param   posixTimes  elapsed seconds since UNIX epoch without leap seconds
+     * @param   offsets     target array for the total offsets in seconds (at same positions)
+     * @throws  IllegalArgumentException if the target array is shorter than the source array
+     */
+    /*[deutsch]
+     * <p>Schreibt die Gesamtverschiebungen zu allen angegebenen POSIX-Zeiten in das angegebene
+     * Zielarray. </p>
+     *
+     * <p>Sortierte oder fast sortierte Eingaben werden am schnellsten verarbeitet, weil zuerst das
+     * Intervall des vorherigen Werts und dessen Nachfolger probiert werden, bevor eine bin&auml;re
+     * Suche stattfindet. Gro&szlig;e Arrays werden in St&uuml;cke aufgeteilt, die parallel im
+     * allgemeinen Fork-Join-Pool verarbeitet werden. </p>
+     *
+     * @param   posixTimes  elapsed seconds since UNIX epoch without leap seconds
+     * @param   offsets     target array for the total offsets in seconds (at same positions)
+     * @throws  IllegalArgumentException if the target array is shorter than the source array
+     */
+    public void getTotalOffsets(
+        long[] posixTimes,
+        int[] offsets
+    ) {
+
+        if (offsets.length < posixTimes.length) {
+            throw new IllegalArgumentException(
+                "Target array too short: " + offsets.length + " < " + posixTimes.length);
+        }
+
+        this.process(posixTimes, offsets);
+
+    }
+
+    /**
+     * <p>Converts all given posix times in place to local times by adding the total offset. </p>
+     *
+     * <p>Afterwards every element counts the local seconds since 1970-01-01T00:00 (local
+     * timestamp as if it were UTC). The processing is the same as in
+     * {@link #getTotalOffsets(long[], int[])}. </p>
+     *
+     * @param   posixTimes  elapsed seconds since UNIX epoch without leap seconds (overwritten)
+     */
+    /*[deutsch]
+     * <p>Konvertiert alle angegebenen POSIX-Zeiten direkt zu lokalen Zeiten, indem die
+     * Gesamtverschiebung addiert wird. </p>
+     *
+     * <p>Danach z&auml;hlt jedes Element die lokalen Sekunden seit 1970-01-01T00:00 (lokaler
+     * Zeitstempel, als ob er UTC w&auml;re). Die Verarbeitung ist dieselbe wie in
+     * {@link #getTotalOffsets(long[], int[])}. </p>
+     *
+     * @param   posixTimes  elapsed seconds since UNIX epoch without leap seconds (overwritten)
+     */
+    public void toLocalTimes(long[] posixTimes) {
+
+        this.process(posixTimes, null);
+
+    }
+
+    /**
+     * <p>Yields the count of indexed transitions. </p>
+     *
+     * @return  int
+     */
+    /*[deutsch]
+     * <p>Liefert die Anzahl der indizierten &Uuml;berg&auml;nge. </p>
+     *
+     * @return  int
+     */
+    public int size() {
+
+        return this.instants.length;
+
+    }
+
+    /**
+     * <p>Yields the underlying transition history. </p>
+     *
+     * @return  TransitionHistory
+     */
+    /*[deutsch]
+     * <p>Liefert die zugrundeliegenden Zeitzonendaten. </p>
+     *
+     * @return  TransitionHistory
+     */
+    public TransitionHistory getHistory() {
+
+        return this.history;
+
+    }
+
+    private void process(
+        long[] posixTimes,
+        int[] offsets
+    ) {
+
+        int n = posixTimes.length;
+
+        if (n < PARALLEL_THRESHOLD) {
+            this.process(posixTimes, 0, n, offsets);
+        } else {
+            IntStream.range(0, (n + CHUNK_SIZE - 1) / CHUNK_SIZE).parallel().forEach(
+                chunk -> {
+                    int start = chunk * CHUNK_SIZE;
+                    this.process(posixTimes, start, Math.min(n, start + CHUNK_SIZE), offsets);
+                }
+            );
+        }
+
+    }
+
+    // writes into offsets or else in place into posixTimes
+    private void process(
+        long[] posixTimes,
+        int start,
+        int end,
+        int[] offsets
+    ) {
+
+        int last = this.instants.length - 1;
+        int index = -1;
+        long lower = 1; // current interval [lower, upper) is initially empty
+        long upper = 0;
+        int offset = 0;
+
+        for (int i = start; i < end; i++) {
+            long t = posixTimes[i];
+
+            if ((t < lower) || (t >= upper)) {
+                if (!this.covers(t)) {
+                    int total = this.getTotalOffset(t);
+                    if (offsets == null) {
+                        posixTimes[i] = t + total;
+                    } else {
+                        offsets[i] = total;
+                    }
+                    continue;
+                }
+
+                if (
+                    (index < last)
+                    && (t >= this.instants[index + 1])
+                    && ((index + 1 == last) || (t < this.instants[index + 2]))
+                ) {
+                    index++; // typical for sorted input
+                } else {
+                    index = this.search(t);
+                }
+
+                lower = Math.max((index < 0) ? Long.MIN_VALUE : this.instants[index], this.start);
+                upper = Math.min((index < last) ? this.instants[index + 1] : Long.MAX_VALUE, this.horizon);
+                offset = ((index < 0) ? this.initialTotal : this.totalOffsets[index]);
+            }
+
+            if (offsets == null) {
+                posixTimes[i] = t + offset;
+            } else {
+                offsets[i] = offset;
+            }
+        }
+
+    }
+
+    /**
+     * <p>Finds the position of the last transition at or before given posix time. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  index or {@code -1} if there is no such transition
+     */
+    int search(long posixTime) {
+
+        int low = 0;
+        int high = this.instants.length - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (this.instants[middle] <= posixTime) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return high;
+
+    }
+
+    /**
+     * <p>Yields the instant of the transition at given position. </p>
+     *
+     * @param   index   position of transition
+     * @return  posix time
+     */
+    long getInstant(int index) {
+
+        return this.instants[index];
+
+    }
+
+    /**
+     * <p>Is given posix time covered by the primitive arrays? </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  boolean
+     */
+    boolean covers(long posixTime) {
+
+        return ((posixTime >= this.start) && (posixTime < this.horizon));
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "ZoneOffsetIndex[size=" + this.instants.length + ", initial=" + ZonalOffset.ofTotalSeconds(this.initialTotal) + "]";
+
+    }
+
+}
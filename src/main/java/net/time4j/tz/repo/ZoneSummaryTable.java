@@ -0,0 +1,519 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (ZoneSummaryTable.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+
+package net.time4j.tz.repo;
+
+import net.time4j.Moment;
+import net.time4j.scale.TimeScale;
+import net.time4j.tz.TransitionHistory;
+import net.time4j.tz.ZonalTransition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+
+/**
+ * <p>Compact summary of all zones of a repository for a limited period. </p>
+ *
+ * <p>The table knows for every zone the offsets valid at the start of the period, all
+ * transitions within the period and the first transition after the period. Zones are
+ * addressed by their position in the alphabetically sorted list of zone ids. Queries for
+ * current offsets, daylight saving time and the next transition are answered from primitive
+ * arrays without loading any transition history. A typical loop for listing all zones: </p>
+ *
+ * <pre>
+ *  ZoneSummaryTable table = provider.getZoneSummaries();
+ *  long now = System.currentTimeMillis() / 1000;
+ *  for (int i = 0; i &lt; table.size(); i++) {
+ *      System.out.println(table.getZoneID(i) + &quot;: &quot; + table.getStandardOffset(i, now));
+ *  }
+ * </pre>
+ *
+ * <p>All query methods only accept posix times within the period (see {@link #covers(long)}).
+ * Instances are immutable and thread-safe. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ * @see     TimezoneRepositoryProviderSPI#getZoneSummaries()
+ */
+/*[deutsch]
+ * <p>Kompakte Zusammenfassung aller Zeitzonen einer Datenbank f&uuml;r einen begrenzten Zeitraum. </p>
+ *
+ * <p>Die Tabelle kennt f&uuml;r jede Zeitzone die zu Beginn des Zeitraums g&uuml;ltigen
+ * Verschiebungen, alle &Uuml;berg&auml;nge innerhalb des Zeitraums und den ersten &Uuml;bergang
+ * danach. Zeitzonen werden &uuml;ber ihre Position in der alphabetisch sortierten Liste der
+ * Zeitzonenkennungen angesprochen. Abfragen nach aktuellen Verschiebungen, Sommerzeit und dem
+ * n&auml;chsten &Uuml;bergang werden aus primitiven Arrays beantwortet, ohne irgendwelche
+ * Zeitzonendaten zu laden. Eine typische Schleife zum Auflisten aller Zeitzonen: </p>
+ *
+ * <pre>
+ *  ZoneSummaryTable table = provider.getZoneSummaries();
+ *  long now = System.currentTimeMillis() / 1000;
+ *  for (int i = 0; i &lt; table.size(); i++) {
+ *      System.out.println(table.getZoneID(i) + &quot;: &quot; + table.getStandardOffset(i, now));
+ *  }
+ * </pre>
+ *
+ * <p>Alle Abfragemethoden akzeptieren nur POSIX-Zeiten innerhalb des Zeitraums (siehe
+ * {@link #covers(long)}). Instanzen sind unver&auml;nderlich und thread-sicher. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ * @see     TimezoneRepositoryProviderSPI#getZoneSummaries()
+ */
+public final class ZoneSummaryTable {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    /**
+     * The length of the covered period in seconds (366 days).
+     */
+    /*[deutsch]
+     * Die L&auml;nge des abgedeckten Zeitraums in Sekunden (366 Tage).
+     */
+    public static final long PERIOD = 366 * 86400L;
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    private final long validFrom;
+    private final long validUntil;
+    private final String[] ids;
+    private final int[] initialTotals;
+    private final int[] initialDSTs;
+    private final boolean[] daylightSaving;
+    private final int[] starts;
+    private final long[] instants;
+    private final int[] totalOffsets;
+    private final int[] dstOffsets;
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    private ZoneSummaryTable(
+        long validFrom,
+        String[] ids,
+        int[] initialTotals,
+        int[] initialDSTs,
+        int[] starts,
+        long[] instants,
+        int[] totalOffsets,
+        int[] dstOffsets
+    ) {
+        super();
+
+        this.validFrom = validFrom;
+        this.validUntil = validFrom + PERIOD;
+        this.ids = ids;
+        this.initialTotals = initialTotals;
+        this.initialDSTs = initialDSTs;
+        this.starts = starts;
+        this.instants = instants;
+        this.totalOffsets = totalOffsets;
+        this.dstOffsets = dstOffsets;
+        this.daylightSaving = new boolean[ids.length];
+
+        for (int i = 0; i < ids.length; i++) {
+            boolean dst = (initialDSTs[i] != 0);
+            for (int k = starts[i]; !dst && (k < starts[i + 1]); k++) {
+                dst = ((dstOffsets[k] != 0) && (instants[k] < this.validUntil));
+            }
+            this.daylightSaving[i] = dst;
+        }
+
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    /**
+     * <p>Builds the table for given zones and the period starting at given posix time. </p>
+     *
+     * @param   zoneIDs     timezone ids
+     * @param   loader      loads the transition history of a zone ({@code null} if unknown)
+     * @param   validFrom   start of period as elapsed seconds since UNIX epoch without leap seconds
+     * @return  new table
+     */
+    static ZoneSummaryTable of(
+        Collection<String> zoneIDs,
+        Function<String, TransitionHistory> loader,
+        long validFrom
+    ) {
+
+        String[] ids = zoneIDs.toArray(new String[zoneIDs.size()]);
+        Arrays.sort(ids);
+
+        int n = ids.length;
+        int[] initialTotals = new int[n];
+        int[] initialDSTs = new int[n];
+        int[] starts = new int[n + 1];
+        long[] instants = new long[n * 3]; // usually two transitions per year and zone or none
+        int[] totalOffsets = new int[instants.length];
+        int[] dstOffsets = new int[instants.length];
+        Moment from = Moment.of(validFrom, TimeScale.POSIX);
+        long validUntil = validFrom + PERIOD;
+        Moment end = Moment.of(validUntil, TimeScale.POSIX);
+        Moment last = Moment.of(validUntil - 1, TimeScale.POSIX);
+        int size = 0;
+
+        for (int i = 0; i < n; i++) {
+            TransitionHistory history = loader.apply(ids[i]);
+            List<ZonalTransition> transitions = new ArrayList<>();
+            starts[i] = size;
+
+            if (history != null) { // null only if removed concurrently
+                ZonalTransition before = history.getStartTransition(from);
+                initialTotals[i] = (
+                    (before == null)
+                    ? history.getInitialOffset().getIntegralAmount()
+                    : before.getTotalOffset());
+                initialDSTs[i] = ((before == null) ? 0 : before.getDaylightSavingOffset());
+                for (ZonalTransition t : history.getTransitions(from, end)) {
+                    if ((t.getPosixTime() > validFrom) && (t.getPosixTime() < validUntil)) {
+                        transitions.add(t); // a transition exactly at the start is already included above
+                    }
+                }
+                history.findNextTransition(last).filter(t -> t.getPosixTime() >= validUntil).ifPresent(transitions::add);
+            }
+
+            if (size + transitions.size() > instants.length) {
+                int capacity = Math.max(instants.length * 2, size + transitions.size());
+                instants = Arrays.copyOf(instants, capacity);
+                totalOffsets = Arrays.copyOf(totalOffsets, capacity);
+                dstOffsets = Arrays.copyOf(dstOffsets, capacity);
+            }
+
+            for (ZonalTransition t : transitions) {
+                instants[size] = t.getPosixTime();
+                totalOffsets[size] = t.getTotalOffset();
+                dstOffsets[size] = t.getDaylightSavingOffset();
+                size++;
+            }
+        }
+
+        starts[n] = size;
+
+        return new ZoneSummaryTable(
+            validFrom,
+            ids,
+            initialTotals,
+            initialDSTs,
+            starts,
+            Arrays.copyOf(instants, size),
+            Arrays.copyOf(totalOffsets, size),
+            Arrays.copyOf(dstOffsets, size));
+
+    }
+
+    /**
+     * <p>Yields the count of zones. </p>
+     *
+     * @return  int
+     */
+    /*[deutsch]
+     * <p>Liefert die Anzahl der Zeitzonen. </p>
+     *
+     * @return  int
+     */
+    public int size() {
+
+        return this.ids.length;
+
+    }
+
+    /**
+     * <p>Yields the zone id at given position. </p>
+     *
+     * @param   zone    position of zone
+     * @return  timezone id
+     * @throws  IndexOutOfBoundsException if the position is out of range
+     */
+    /*[deutsch]
+     * <p>Liefert die Zeitzonenkennung an der angegebenen Position. </p>
+     *
+     * @param   zone    position of zone
+     * @return  timezone id
+     * @throws  IndexOutOfBoundsException if the position is out of range
+     */
+    public String getZoneID(int zone) {
+
+        return this.ids[zone];
+
+    }
+
+    /**
+     * <p>Determines the position of given zone id. </p>
+     *
+     * @param   zoneID  timezone id (no alias)
+     * @return  position or {@code -1} if the zone is unknown
+     */
+    /*[deutsch]
+     * <p>Bestimmt die Position der angegebenen Zeitzonenkennung. </p>
+     *
+     * @param   zoneID  timezone id (no alias)
+     * @return  position or {@code -1} if the zone is unknown
+     */
+    public int indexOf(String zoneID) {
+
+        int index = Arrays.binarySearch(this.ids, zoneID);
+        return ((index < 0) ? -1 : index);
+
+    }
+
+    /**
+     * <p>Yields the start of the covered period. </p>
+     *
+     * @return  elapsed seconds since UNIX epoch without leap seconds (inclusive)
+     */
+    /*[deutsch]
+     * <p>Liefert den Beginn des abgedeckten Zeitraums. </p>
+     *
+     * @return  elapsed seconds since UNIX epoch without leap seconds (inclusive)
+     */
+    public long getValidFrom() {
+
+        return this.validFrom;
+
+    }
+
+    /**
+     * <p>Yields the end of the covered period. </p>
+     *
+     * @return  elapsed seconds since UNIX epoch without leap seconds (exclusive)
+     */
+    /*[deutsch]
+     * <p>Liefert das Ende des abgedeckten Zeitraums. </p>
+     *
+     * @return  elapsed seconds since UNIX epoch without leap seconds (exclusive)
+     */
+    public long getValidUntil() {
+
+        return this.validUntil;
+
+    }
+
+    /**
+     * <p>Is given posix time within the covered period? </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  boolean
+     */
+    /*[deutsch]
+     * <p>Liegt die angegebene POSIX-Zeit im abgedeckten Zeitraum? </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  boolean
+     */
+    public boolean covers(long posixTime) {
+
+        return ((posixTime >= this.validFrom) && (posixTime < this.validUntil));
+
+    }
+
+    /**
+     * <p>Yields the total offset of given zone at given posix time. </p>
+     *
+     * @param   zone        position of zone
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  total offset in seconds
+     * @throws  IllegalArgumentException if the posix time is not covered
+     */
+    /*[deutsch]
+     * <p>Liefert die Gesamtverschiebung der angegebenen Zeitzone zur angegebenen POSIX-Zeit. </p>
+     *
+     * @param   zone        position of zone
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  total offset in seconds
+     * @throws  IllegalArgumentException if the posix time is not covered
+     */
+    public int getTotalOffset(
+        int zone,
+        long posixTime
+    ) {
+
+        int k = this.search(zone, posixTime);
+        return ((k < 0) ? this.initialTotals[zone] : this.totalOffsets[k]);
+
+    }
+
+    /**
+     * <p>Yields the daylight saving offset of given zone at given posix time. </p>
+     *
+     * @param   zone        position of zone
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  daylight saving offset in seconds
+     * @throws  IllegalArgumentException if the posix time is not covered
+     */
+    /*[deutsch]
+     * <p>Liefert die Sommerzeitverschiebung der angegebenen Zeitzone zur angegebenen POSIX-Zeit. </p>
+     *
+     * @param   zone        position of zone
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  daylight saving offset in seconds
+     * @throws  IllegalArgumentException if the posix time is not covered
+     */
+    public int getDaylightSavingOffset(
+        int zone,
+        long posixTime
+    ) {
+
+        int k = this.search(zone, posixTime);
+        return ((k < 0) ? this.initialDSTs[zone] : this.dstOffsets[k]);
+
+    }
+
+    /**
+     * <p>Yields the standard offset of given zone at given posix time. </p>
+     *
+     * @param   zone        position of zone
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  standard offset in seconds
+     * @throws  IllegalArgumentException if the posix time is not covered
+     */
+    /*[deutsch]
+     * <p>Liefert die Standardverschiebung der angegebenen Zeitzone zur angegebenen POSIX-Zeit. </p>
+     *
+     * @param   zone        position of zone
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  standard offset in seconds
+     * @throws  IllegalArgumentException if the posix time is not covered
+     */
+    public int getStandardOffset(
+        int zone,
+        long posixTime
+    ) {
+
+        int k = this.search(zone, posixTime);
+        return (
+            (k < 0)
+            ? this.initialTotals[zone] - this.initialDSTs[zone]
+            : this.totalOffsets[k] - this.dstOffsets[k]);
+
+    }
+
+    /**
+     * <p>Yields the next transition of given zone after given posix time. </p>
+     *
+     * @param   zone        position of zone
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  posix time of next transition or {@code Long.MAX_VALUE} if there is none
+     * @throws  IllegalArgumentException if the posix time is not covered
+     */
+    /*[deutsch]
+     * <p>Liefert den n&auml;chsten &Uuml;bergang der angegebenen Zeitzone nach der angegebenen
+     * POSIX-Zeit. </p>
+     *
+     * @param   zone        position of zone
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @return  posix time of next transition or {@code Long.MAX_VALUE} if there is none
+     * @throws  IllegalArgumentException if the posix time is not covered
+     */
+    public long getNextTransition(
+        int zone,
+        long posixTime
+    ) {
+
+        int k = this.search(zone, posixTime);
+        int next = ((k < 0) ? this.starts[zone] : k + 1);
+        return ((next < this.starts[zone + 1]) ? this.instants[next] : Long.MAX_VALUE);
+
+    }
+
+    /**
+     * <p>Does given zone observe daylight saving time anywhere in the covered period? </p>
+     *
+     * @param   zone        position of zone
+     * @return  boolean
+     */
+    /*[deutsch]
+     * <p>Beachtet die angegebene Zeitzone irgendwo im abgedeckten Zeitraum Sommerzeit? </p>
+     *
+     * @param   zone        position of zone
+     * @return  boolean
+     */
+    public boolean observesDaylightSaving(int zone) {
+
+        return this.daylightSaving[zone];
+
+    }
+
+    /**
+     * <p>Fills the total offsets of all zones at given posix time into given target array. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @param   offsets     target array for the total offsets in seconds (indexed by zone position)
+     * @throws  IllegalArgumentException if the posix time is not covered or the target array is too short
+     */
+    /*[deutsch]
+     * <p>Schreibt die Gesamtverschiebungen aller Zeitzonen zur angegebenen POSIX-Zeit in das
+     * angegebene Zielarray. </p>
+     *
+     * @param   posixTime   elapsed seconds since UNIX epoch without leap seconds
+     * @param   offsets     target array for the total offsets in seconds (indexed by zone position)
+     * @throws  IllegalArgumentException if the posix time is not covered or the target array is too short
+     */
+    public void getTotalOffsets(
+        long posixTime,
+        int[] offsets
+    ) {
+
+        if (offsets.length < this.ids.length) {
+            throw new IllegalArgumentException("Target array too short: " + offsets.length + " < " + this.ids.length);
+        }
+
+        for (int i = 0; i < this.ids.length; i++) {
+            offsets[i] = this.getTotalOffset(i, posixTime);
+        }
+
+    }
+
+    @Override
+    public String toString() {
+
+        return "ZoneSummaryTable[zones=" + this.ids.length + ", valid-from=" + this.validFrom + "]";
+
+    }
+
+    // finds the last transition of given zone at or before given posix time (linear, only few per zone)
+    private int search(
+        int zone,
+        long posixTime
+    ) {
+
+        if (!this.covers(posixTime)) {
+            throw new IllegalArgumentException("Not covered by zone summaries: " + posixTime);
+        }
+
+        int found = -1;
+
+        for (int k = this.starts[zone], end = this.starts[zone + 1]; k < end; k++) {
+            if (this.instants[k] > posixTime) {
+                break;
+            }
+            found = k;
+        }
+
+        return found;
+
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (FlightRecorder.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+
+/**
+ * <p>Emits the flight recorder events {@link RepositoryParseEvent} and {@link ZoneLoadEvent}. </p>
+ *
+ * <p>Part of the source set for JDK 11+ and only instantiated reflectively by
+ * {@link RepositoryEvents} if the flight recorder API is available. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+final class FlightRecorder
+    implements RepositoryEvents.Recorder {
+
+    //~ Konstruktoren -----------------------------------------------------
+
+    FlightRecorder() {
+        super();
+    }
+
+    //~ Methoden ----------------------------------------------------------
+
+    @Override
+    public Object beginParse() {
+
+        return RepositoryParseEvent.beginIfEnabled();
+
+    }
+
+    @Override
+    public void commitParse(
+        Object event,
+        String location,
+        String version,
+        int zoneCount,
+        long bytes
+    ) {
+
+        RepositoryParseEvent.commit(event, location, version, zoneCount, bytes);
+
+    }
+
+    @Override
+    public Object beginZoneLoad() {
+
+        return ZoneLoadEvent.beginIfEnabled();
+
+    }
+
+    @Override
+    public void commitZoneLoad(
+        Object event,
+        String zoneID,
+        int payloadSize,
+        long decodeNanos
+    ) {
+
+        ZoneLoadEvent.commit(event, zoneID, payloadSize, decodeNanos);
+
+    }
+
+}
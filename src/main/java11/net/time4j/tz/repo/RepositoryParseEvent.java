@@ -0,0 +1,102 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (RepositoryParseEvent.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+/**
+ * <p>Flight recorder event for reading and parsing a whole repository file. </p>
+ *
+ * <p>Only to be used via {@link FlightRecorder}. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+@Name("net.time4j.tz.RepositoryParse")
+@Label("TZ-Repository Parse")
+@Category({"Time4J", "TZ-Repository"})
+@Description("Reading and parsing of a timezone repository file")
+final class RepositoryParseEvent
+    extends Event {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    private static final EventType TYPE = EventType.getEventType(RepositoryParseEvent.class);
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    @Label("Location")
+    String location;
+
+    @Label("Version")
+    String version;
+
+    @Label("Zone Count")
+    int zoneCount;
+
+    @Label("Bytes Read")
+    @DataAmount
+    long bytes;
+
+    //~ Methoden ----------------------------------------------------------
+
+    static Object beginIfEnabled() {
+
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+
+        RepositoryParseEvent event = new RepositoryParseEvent();
+        event.begin();
+        return event;
+
+    }
+
+    static void commit(
+        Object obj,
+        String location,
+        String version,
+        int zoneCount,
+        long bytes
+    ) {
+
+        RepositoryParseEvent event = (RepositoryParseEvent) obj;
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.location = location;
+            event.version = version;
+            event.zoneCount = zoneCount;
+            event.bytes = bytes;
+            event.commit();
+        }
+
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * -----------------------------------------------------------------------
+ * Copyright © 2013-2026 Meno Hochschild, <http://www.menodata.de/>
+ * -----------------------------------------------------------------------
+ * This file (ZoneLoadEvent.java) is part of project Time4J.
+ *
+ * Time4J is free software: You can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * Time4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Time4J. If not, see <http://www.gnu.org/licenses/>.
+ * -----------------------------------------------------------------------
+ */
+
+package net.time4j.tz.repo;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+
+/**
+ * <p>Flight recorder event for loading the transition history of one zone. </p>
+ *
+ * <p>Only to be used via {@link FlightRecorder}. </p>
+ *
+ * @author  Meno Hochschild
+ * @since   5.0-2026b
+ */
+@Name("net.time4j.tz.ZoneLoad")
+@Label("TZ-Repository Zone Load")
+@Category({"Time4J", "TZ-Repository"})
+@Description("Loading of the transition history of one zone, either from cache or by decoding")
+final class ZoneLoadEvent
+    extends Event {
+
+    //~ Statische Felder/Initialisierungen --------------------------------
+
+    private static final EventType TYPE = EventType.getEventType(ZoneLoadEvent.class);
+
+    //~ Instanzvariablen --------------------------------------------------
+
+    @Label("Zone ID")
+    String zoneID;
+
+    @Label("Payload Size")
+    @Description("Size of the decoded payload, -1 in case of a cache hit")
+    @DataAmount
+    int payloadSize;
+
+    @Label("Decode Time")
+    @Description("Time spent in decoding, -1 in case of a cache hit")
+    @Timespan
+    long decodeTime;
+
+    @Label("Cache Hit")
+    boolean cacheHit;
+
+    //~ Methoden ----------------------------------------------------------
+
+    static Object beginIfEnabled() {
+
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+
+        ZoneLoadEvent event = new ZoneLoadEvent();
+        event.begin();
+        return event;
+
+    }
+
+    static void commit(
+        Object obj,
+        String zoneID,
+        int payloadSize,
+        long decodeNanos
+    ) {
+
+        ZoneLoadEvent event = (ZoneLoadEvent) obj;
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.zoneID = zoneID;
+            event.payloadSize = payloadSize;
+            event.decodeTime = decodeNanos;
+            event.cacheHit = (decodeNanos < 0);
+            event.commit();
+        }
+
+    }
+
+}
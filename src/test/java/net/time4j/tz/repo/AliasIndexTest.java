@@ -0,0 +1,103 @@
+package net.time4j.tz.repo;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+@RunWith(JUnit4.class)
+public class AliasIndexTest {
+
+    @Test
+    public void aliasIndex() {
+        TimezoneRepositoryProviderSPI repo = RepositoryFixture.provider();
+        AliasIndex index = repo.getAliasIndex();
+        Map<String, String> aliases = repo.getAliases();
+        assertThat(repo.getAliasIndex() == index, is(true));
+        assertThat(index.getZoneCount(), is(repo.getAvailableIDs().size()));
+        assertThat(index.getAliasCount(), is(aliases.size()));
+        int reverse = 0;
+        for (String tzid : repo.getAvailableIDs()) {
+            assertThat(index.resolve(tzid), is(tzid));
+            assertThat(index.isAlias(tzid), is(false));
+            List<String> list = index.getAliases(tzid);
+            for (int i = 0; i < list.size(); i++) {
+                assertThat(aliases.get(list.get(i)), is(tzid));
+                if (i > 0) {
+                    assertThat(list.get(i - 1).compareTo(list.get(i)) < 0, is(true));
+                }
+            }
+            reverse += list.size();
+        }
+        assertThat(reverse, is(aliases.size()));
+        for (Map.Entry<String, String> e : aliases.entrySet()) {
+            assertThat(index.resolve(e.getKey()), is(e.getValue()));
+            assertThat(index.isAlias(e.getKey()), is(true));
+            assertThat(index.getAliases(e.getKey()).contains(e.getKey()), is(true));
+        }
+        assertThat(index.resolve("Asia/Calcutta"), is("Asia/Kolkata"));
+        assertThat(index.resolve("Unknown/Zone"), nullValue());
+        assertThat(index.getAliases("Unknown/Zone").isEmpty(), is(true));
+        Map<String, String> links = new java.util.HashMap<>();
+        links.put("A", "B");
+        links.put("B", "Zone/X");
+        links.put("C", "D");
+        links.put("D", "C");
+        links.put("E", "Zone/Unknown");
+        AliasIndex chained = AliasIndex.of(new java.util.HashSet<>(Arrays.asList("Zone/X", "Zone/Y")), links);
+        assertThat(chained.resolve("A"), is("Zone/X"));
+        assertThat(chained.getAliases("Zone/X"), is(Arrays.asList("A", "B")));
+        assertThat(chained.getAliases("Zone/Y").isEmpty(), is(true));
+        assertThat(chained.resolve("C"), nullValue());
+        assertThat(chained.resolve("E"), nullValue());
+        assertThat(chained.getAliasCount(), is(2));
+    }
+
+    @Test
+    public void zoneIdLookupWithoutStrings() {
+        TimezoneRepositoryProviderSPI repo = RepositoryFixture.provider();
+        AliasIndex index = repo.getAliasIndex();
+        List<String> all = new ArrayList<>(repo.getAvailableIDs());
+        all.addAll(repo.getAliases().keySet());
+        for (String id : all) {
+            int handle = index.lookup(new StringBuilder(id));
+            assertThat(index.getID(handle), is(id));
+            assertThat(index.getID(index.getCanonicalHandle(handle)), is(index.resolve(id)));
+            assertThat(index.getCanonicalHandle(handle) < index.getZoneCount(), is(true));
+            String line = "ts=1 tz=" + id + " msg=x";
+            assertThat(index.lookup(line, 8, 8 + id.length(), false), is(handle));
+            assertThat(index.lookup(line.toUpperCase(Locale.ROOT), 8, 8 + id.length(), true), is(handle));
+            byte[] utf8 = line.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+            assertThat(index.lookup(utf8, 8, id.length(), false), is(handle));
+            java.nio.ByteBuffer buffer = java.nio.ByteBuffer.wrap(utf8, 8, id.length());
+            assertThat(index.lookup(buffer, true), is(handle));
+            assertThat(buffer.position(), is(8));
+        }
+        assertThat(index.lookup("europe/berlin"), is(-1));
+        assertThat(index.lookup("europe/berlin", 0, 13, true), is(index.lookup("Europe/Berlin")));
+        assertThat(index.lookup("Europe/Berli"), is(-1));
+        assertThat(index.lookup(new byte[] {'E', 'u', (byte) 0xC3, (byte) 0xA4}, 0, 4, true), is(-1));
+        List<String> american = index.getIDsWithPrefix("America/");
+        long expected = all.stream().filter(id -> id.startsWith("America/")).count();
+        assertThat((long) american.size(), is(expected));
+        assertThat(american.contains("America/New_York"), is(true));
+        assertThat(american.contains("America/Buenos_Aires"), is(true)); // alias
+        for (int i = 1; i < american.size(); i++) {
+            assertThat(american.get(i - 1).compareTo(american.get(i)) < 0, is(true));
+        }
+        assertThat(index.getIDsWithPrefix("Europe/Berlin"), is(Arrays.asList("Europe/Berlin")));
+        assertThat(index.getIDsWithPrefix("Mars/").isEmpty(), is(true));
+        assertThat(index.getIDsWithPrefix("").size(), is(all.size()));
+    }
+
+}
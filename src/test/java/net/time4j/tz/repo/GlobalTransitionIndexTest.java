@@ -0,0 +1,83 @@
+package net.time4j.tz.repo;
+
+import net.time4j.Moment;
+import net.time4j.PlainDate;
+import net.time4j.PlainTimestamp;
+import net.time4j.tz.ZonalTransition;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.time4j.tz.repo.RepositoryFixture.STD_VERSION;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+
+@RunWith(JUnit4.class)
+public class GlobalTransitionIndexTest {
+
+    @Test
+    public void globalTransitionIndex() throws Exception {
+        Repository repo = RepositoryFixture.read(STD_VERSION);
+        GlobalTransitionIndex index = repo.getTransitionIndex(2030);
+        assertThat(repo.getTransitionIndex(2030), is(index));
+        assertThat(index.getHorizonYear(), is(2030));
+
+        for (int i = 1; i < index.size(); i++) {
+            assertThat(index.getPosixTime(i - 1) <= index.getPosixTime(i), is(true));
+            if (index.getPosixTime(i - 1) == index.getPosixTime(i)) {
+                assertThat(index.getZoneHandle(i - 1) < index.getZoneHandle(i), is(true));
+            }
+        }
+
+        Moment t1 = PlainTimestamp.of(2026, 1, 1, 0, 0).atUTC();
+        Moment t2 = PlainTimestamp.of(2027, 1, 1, 0, 0).atUTC();
+        int start = index.indexOf(t1.getPosixTime());
+        int end = index.indexOf(t2.getPosixTime());
+        List<ZonalTransition> expected = new ArrayList<>();
+        List<ZonalTransition> found = new ArrayList<>();
+
+        for (String tzid : repo.getPayloads().getZoneIDs()) {
+            for (ZonalTransition t : repo.load(tzid).getTransitions(t1, t2)) {
+                expected.add(t);
+                int i = index.indexOf(t.getPosixTime());
+                while (!index.getZoneID(index.getZoneHandle(i)).equals(tzid)) {
+                    i++;
+                }
+                assertThat(index.getTransition(i), is(t));
+            }
+        }
+
+        for (int i = start; i < end; i++) {
+            found.add(index.getTransition(i));
+            assertThat(index.getPreviousOffset(i), is(found.get(i - start).getPreviousOffset()));
+            assertThat(index.getTotalOffset(i), is(found.get(i - start).getTotalOffset()));
+        }
+
+        assertThat(found.size(), is(expected.size()));
+        assertThat(index.getZoneIDs(t1.getPosixTime(), t2.getPosixTime()).contains("Europe/Berlin"), is(true));
+        assertThat(index.getZoneIDs(t1.getPosixTime(), t2.getPosixTime()).contains("Asia/Kolkata"), is(false));
+        assertThat(
+            repo.getAliasIndex().getID(index.getZoneHandle(start)),
+            is(index.getZoneID(index.getZoneHandle(start))));
+        assertThat(index.indexOf(PlainDate.of(2030, 1, 1).atStartOfDay().atUTC().getPosixTime()), is(index.size()));
+        assertThat(index.indexOf(Long.MIN_VALUE), is(0));
+        assertThat(repo.getTransitionIndex(2100).size() > index.size(), is(true));
+        assertThat(repo.getTransitionIndex(2100), is(repo.getTransitionIndex(2100)));
+        GlobalTransitionIndex rebuilt = repo.getTransitionIndex(2030); // only the last horizon is cached
+        assertThat(rebuilt == index, is(false));
+        assertThat(rebuilt.size(), is(index.size()));
+
+        try {
+            repo.getTransitionIndex(10000);
+            fail("Invalid horizon not detected.");
+        } catch (IllegalArgumentException iae) {
+            // ok
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package net.time4j.tz.repo;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+
+
+// shared access to the test repositories in the folder tzrepo of the test classpath
+final class RepositoryFixture {
+
+    static final String STD_VERSION = "2026b";
+
+    static {
+        TZDATA.init();
+    }
+
+    private RepositoryFixture() {
+        // no instantiation
+    }
+
+    static File file(String version) {
+        URL url = RepositoryTest.class.getResource("/tzrepo/tzdata" + version + ".repository");
+        if (url == null) {
+            throw new AssertionError("Missing test repository: " + version);
+        }
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    static File directory() {
+        return file(STD_VERSION).getParentFile();
+    }
+
+    static Repository read(String version) throws IOException {
+        try (InputStream is = Files.newInputStream(file(version).toPath())) {
+            return read(is, "test", true);
+        }
+    }
+
+    // the following methods use the default cache configuration independent of any system property
+
+    static Repository read(
+        InputStream is,
+        String location,
+        boolean noLeaps
+    ) throws IOException {
+        return read(is, location, noLeaps, PayloadStore.Storage.MAP);
+    }
+
+    static Repository read(
+        InputStream is,
+        String location,
+        boolean noLeaps,
+        PayloadStore.Storage storage
+    ) throws IOException {
+        return read(is, location, noLeaps, storage, ZoneFilter.ALL);
+    }
+
+    static Repository read(
+        InputStream is,
+        String location,
+        boolean noLeaps,
+        PayloadStore.Storage storage,
+        ZoneFilter filter
+    ) throws IOException {
+        return Repository.read(is, location, noLeaps, storage, filter, HistoryCache.Config.DEFAULT.create());
+    }
+
+    static Repository patch(
+        Repository base,
+        InputStream is,
+        String location,
+        boolean noLeaps,
+        PayloadStore.Storage storage
+    ) throws IOException {
+        return Repository.patch(
+            base, is, location, noLeaps, storage, ZoneFilter.ALL, HistoryCache.Config.DEFAULT.create());
+    }
+
+    static Repository map(
+        File file,
+        String location,
+        boolean noLeaps
+    ) throws IOException {
+        return map(file, location, noLeaps, ZoneFilter.ALL);
+    }
+
+    static Repository map(
+        File file,
+        String location,
+        boolean noLeaps,
+        ZoneFilter filter
+    ) throws IOException {
+        return Repository.map(file, location, noLeaps, filter, HistoryCache.Config.DEFAULT.create());
+    }
+
+    static TimezoneRepositoryProviderSPI provider() {
+        System.setProperty("test.environment", "true");
+        return TimezoneRepositoryProviderSPI.ofVersion(STD_VERSION);
+    }
+
+    // the bundled repository is only located relative to the main classes
+    static TimezoneRepositoryProviderSPI bundled() {
+        String version = System.getProperty("net.time4j.tz.repository.version");
+        System.clearProperty("net.time4j.tz.repository.version");
+        System.setProperty("test.environment", "false");
+        try {
+            return new TimezoneRepositoryProviderSPI();
+        } finally {
+            System.setProperty("test.environment", "true");
+            if (version != null) {
+                System.setProperty("net.time4j.tz.repository.version", version);
+            }
+        }
+    }
+
+}
@@ -3,10 +3,13 @@ package net.time4j.tz.repo;
 import net.time4j.Moment;
 import net.time4j.PlainDate;
 import net.time4j.PlainTimestamp;
+import net.time4j.base.GregorianDate;
+import net.time4j.engine.EpochDays;
 import net.time4j.format.expert.ChronoFormatter;
 import net.time4j.format.expert.Iso8601Format;
 import net.time4j.format.expert.PatternType;
 import net.time4j.scale.LeapSecondProvider;
+import net.time4j.scale.TimeScale;
 import net.time4j.tz.OffsetSign;
 import net.time4j.tz.Timezone;
 import net.time4j.tz.TransitionHistory;
@@ -20,14 +23,31 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
 
 
 @RunWith(JUnit4.class)
@@ -37,7 +57,7 @@ public class RepositoryTest {
         TZDATA.init();
     }
 
-    private static final String STD_VERSION = "2026b";
+    private static final String STD_VERSION = RepositoryFixture.STD_VERSION;
     private static final ChronoFormatter<Moment> PARSER = Iso8601Format.EXTENDED_DATE_TIME_OFFSET;
 
     private String propertyValue = null;
@@ -663,6 +683,932 @@ public class RepositoryTest {
         assertThat(tz1.getHistory(), is(tz2.getHistory()));
     }
 
+    @Test
+    public void cacheHitsAndMisses() {
+        RepositoryRegistry.clear();
+        TimezoneRepositoryProviderSPI repo = new TimezoneRepositoryProviderSPI();
+        TransitionHistory first = repo.load("Europe/London");
+        TransitionHistory second = repo.load("Europe/London");
+        assertThat(second == first, is(true));
+        assertThat(repo.getCacheMissCount(), is(1L));
+        assertThat(repo.getCacheHitCount(), is(1L));
+        assertThat(repo.load("Unknown/Zone") == null, is(true));
+        assertThat(repo.getCacheMissCount(), is(1L));
+    }
+
+    @Test
+    public void cacheSingleFlight() throws Exception {
+        RepositoryRegistry.clear();
+        TimezoneRepositoryProviderSPI repo = new TimezoneRepositoryProviderSPI();
+        int n = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(n);
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Future<TransitionHistory>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < n; i++) {
+                results.add(
+                    executor.submit(
+                        () -> {
+                            latch.await();
+                            return repo.load("Africa/Casablanca");
+                        }));
+            }
+            latch.countDown();
+            TransitionHistory expected = results.get(0).get();
+            for (Future<TransitionHistory> result : results) {
+                assertThat(result.get() == expected, is(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(repo.getCacheMissCount(), is(1L));
+        assertThat(repo.getCacheHitCount() + repo.getCacheWaitCount(), is((long) n - 1));
+    }
+
+    @Test
+    public void cacheWaiterInterrupted() throws Exception {
+        TransitionHistory history = new TimezoneRepositoryProviderSPI().load("Europe/Berlin");
+        HistoryCache cache = new HistoryCache(HistoryCache.Policy.STRONG, 0, false);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread loading =
+            new Thread(
+                () -> cache.get(
+                    "Europe/Berlin",
+                    id -> {
+                        started.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException ie) {
+                            throw new AssertionError(ie);
+                        }
+                        return history;
+                    }));
+        loading.start();
+        started.await();
+        int[] calls = new int[1];
+        Thread.currentThread().interrupt();
+        try {
+            cache.get("Europe/Berlin", id -> { calls[0]++; return history; });
+            fail("Interrupted waiter not detected.");
+        } catch (IllegalStateException ise) {
+            assertThat(Thread.interrupted(), is(true));
+            assertThat(calls[0], is(0));
+        } finally {
+            release.countDown();
+            loading.join();
+        }
+        assertThat(cache.get("Europe/Berlin", id -> null) == history, is(true));
+        assertThat(cache.getWaitCount(), is(1L));
+        assertThat(cache.getMissCount(), is(1L));
+    }
+
+    @Test
+    public void cacheWithUnknownPolicy() {
+        RepositoryRegistry.clear();
+        System.setProperty("net.time4j.tz.repository.cache", "unknown");
+        try {
+            TimezoneRepositoryProviderSPI repo = new TimezoneRepositoryProviderSPI();
+            TransitionHistory history = repo.load("Europe/Berlin");
+            assertThat(repo.load("Europe/Berlin") == history, is(true)); // default policy soft
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.cache");
+            RepositoryRegistry.clear();
+        }
+    }
+
+    @Test
+    public void trackingBySystemProperty() throws Exception {
+        TimezoneRepositoryProviderSPI plain = new TimezoneRepositoryProviderSPI();
+        System.setProperty("net.time4j.tz.repository.jmx", "true");
+        try {
+            TimezoneRepositoryProviderSPI tracked = new TimezoneRepositoryProviderSPI();
+            assertThat(tracked.getAvailableIDs() == plain.getAvailableIDs(), is(false));
+            System.clearProperty("net.time4j.tz.repository.jmx"); // the snapshot is already taken
+            tracked.load("Europe/Berlin");
+            javax.management.MBeanServer server = java.lang.management.ManagementFactory.getPlatformMBeanServer();
+            int found = 0;
+            for (javax.management.ObjectName name : server.queryNames(
+                new javax.management.ObjectName("net.time4j.tz.repo:type=TimezoneRepository,*"), null)
+            ) {
+                String[] hot = (String[]) server.getAttribute(name, "HotZones");
+                if (Arrays.asList(hot).contains("Europe/Berlin=1")) {
+                    found++;
+                }
+            }
+            assertThat(found, is(1));
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.jmx");
+            RepositoryRegistry.clear();
+        }
+    }
+
+    @Test
+    public void storageWithUnknownValue() {
+        RepositoryRegistry.clear();
+        System.setProperty("net.time4j.tz.repository.storage", "bogus");
+        try {
+            TimezoneRepositoryProviderSPI repo = new TimezoneRepositoryProviderSPI();
+            assertThat(repo.getVersion(), is(STD_VERSION));
+            assertThat(repo.load("Europe/Berlin"), notNullValue());
+            assertThat(PayloadStore.Storage.fromSystemProperties(), is(PayloadStore.Storage.MAP));
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.storage");
+            RepositoryRegistry.clear();
+        }
+    }
+
+    @Test
+    public void sharedRepository() {
+        TimezoneRepositoryProviderSPI repo1 = new TimezoneRepositoryProviderSPI();
+        TimezoneRepositoryProviderSPI repo2 = new TimezoneRepositoryProviderSPI();
+        assertThat(repo1.getAvailableIDs() == repo2.getAvailableIDs(), is(true));
+        assertThat(repo1.load("Europe/Berlin") == repo2.load("Europe/Berlin"), is(true));
+        use("2022a");
+        TimezoneRepositoryProviderSPI repo3 = new TimezoneRepositoryProviderSPI();
+        assertThat(repo3.getVersion(), is("2022a"));
+        assertThat(repo1.getAvailableIDs() == repo3.getAvailableIDs(), is(false));
+    }
+
+    @Test
+    public void cacheWithReleasedPayloads() {
+        System.setProperty("net.time4j.tz.repository.cache", "strong");
+        System.setProperty("net.time4j.tz.repository.cache.release", "true");
+        try {
+            TimezoneRepositoryProviderSPI repo = new TimezoneRepositoryProviderSPI();
+            TransitionHistory history = repo.load("Asia/Kolkata");
+            assertThat(repo.load("Asia/Kolkata") == history, is(true));
+            assertThat(repo.getAvailableIDs().contains("Asia/Kolkata"), is(true));
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.cache");
+            System.clearProperty("net.time4j.tz.repository.cache.release");
+        }
+    }
+
+    @Test
+    public void cacheLeastRecentlyUsed() {
+        System.setProperty("net.time4j.tz.repository.cache", "lru");
+        System.setProperty("net.time4j.tz.repository.cache.size", "1");
+        try {
+            TimezoneRepositoryProviderSPI repo = new TimezoneRepositoryProviderSPI();
+            repo.load("Europe/Berlin");
+            repo.load("Europe/Paris");
+            repo.load("Europe/Berlin");
+            assertThat(repo.getCacheMissCount(), is(3L));
+            assertThat(repo.getCacheHitCount(), is(0L));
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.cache");
+            System.clearProperty("net.time4j.tz.repository.cache.size");
+        }
+    }
+
+    @Test
+    public void lazyMappedRepository() throws Exception {
+        ZoneModelProvider eager = new TimezoneRepositoryProviderSPI();
+        File dir = RepositoryFixture.directory();
+        System.setProperty("net.time4j.tz.repository.path", dir.getAbsolutePath());
+        System.setProperty("net.time4j.tz.repository.lazy", "true");
+        try {
+            ZoneModelProvider lazy = new TimezoneRepositoryProviderSPI();
+            assertThat(lazy.getVersion(), is(STD_VERSION));
+            assertThat(lazy.getAvailableIDs(), is(eager.getAvailableIDs()));
+            assertThat(lazy.getAliases(), is(eager.getAliases()));
+            for (String tzid : eager.getAvailableIDs()) {
+                assertThat(lazy.load(tzid), is(eager.load(tzid)));
+            }
+            assertThat(
+                ((LeapSecondProvider) lazy).getLeapSecondTable(),
+                is(((LeapSecondProvider) eager).getLeapSecondTable()));
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.path");
+            System.clearProperty("net.time4j.tz.repository.lazy");
+        }
+    }
+
+    @Test
+    public void arenaStorage() throws Exception {
+        ZoneModelProvider standard = new TimezoneRepositoryProviderSPI();
+        for (String storage : Arrays.asList("arena", "direct")) {
+            System.setProperty("net.time4j.tz.repository.storage", storage);
+            try {
+                ZoneModelProvider arena = new TimezoneRepositoryProviderSPI();
+                assertThat(arena.getAvailableIDs(), is(standard.getAvailableIDs()));
+                assertThat(arena.getAvailableIDs().contains("Europe/Berlin"), is(true));
+                assertThat(arena.getAvailableIDs().contains("Europe/Nowhere"), is(false));
+                assertThat(arena.load("Europe/Nowhere"), nullValue());
+                assertThat(arena.getAliases(), is(standard.getAliases()));
+                for (String tzid : standard.getAvailableIDs()) {
+                    assertThat(storage + "/" + tzid, arena.load(tzid), is(standard.load(tzid)));
+                }
+            } finally {
+                System.clearProperty("net.time4j.tz.repository.storage");
+            }
+        }
+    }
+
+    @Test
+    public void warmUpAllZones() throws Exception {
+        System.setProperty("net.time4j.tz.repository.cache", "strong");
+        try {
+            RepositoryRegistry.clear();
+            TimezoneRepositoryProviderSPI repo = new TimezoneRepositoryProviderSPI();
+            repo.warmUp(Arrays.asList("Europe/Berlin", "Asia/Tokyo", "Unknown/Zone")).get();
+            assertThat(repo.getCacheMissCount(), is(2L));
+            assertThat(TZDATA.warmUp() == repo.warmUp(), is(true)); // shared repository
+            repo.warmUp().get();
+            long misses = repo.getCacheMissCount();
+            assertThat(misses, is((long) repo.getAvailableIDs().size()));
+            for (String tzid : repo.getAvailableIDs()) {
+                assertThat(repo.load(tzid), notNullValue());
+            }
+            assertThat(repo.getCacheMissCount(), is(misses));
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.cache");
+        }
+    }
+
+    @Test
+    public void warmUpWithDefaultCachePolicy() throws Exception {
+        RepositoryRegistry.clear();
+        TimezoneRepositoryProviderSPI repo = new TimezoneRepositoryProviderSPI();
+        repo.warmUp().get();
+        long misses = repo.getCacheMissCount();
+        for (String tzid : repo.getAvailableIDs()) {
+            assertThat(repo.load(tzid) == repo.load(tzid), is(true));
+        }
+        assertThat(repo.getCacheMissCount(), is(misses));
+        RepositoryRegistry.clear();
+    }
+
+    @Test
+    public void warmUpPinsZonesWithoutCache() throws Exception {
+        System.setProperty("net.time4j.tz.repository.cache", "none");
+        try {
+            RepositoryRegistry.clear();
+            TimezoneRepositoryProviderSPI repo = new TimezoneRepositoryProviderSPI();
+            repo.warmUp(Collections.singletonList("Europe/Berlin")).get();
+            long misses = repo.getCacheMissCount();
+            TransitionHistory berlin = repo.load("Europe/Berlin");
+            System.gc();
+            assertThat(repo.load("Europe/Berlin") == berlin, is(true));
+            assertThat(repo.getCacheMissCount(), is(misses));
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.cache");
+            RepositoryRegistry.clear();
+        }
+    }
+
+    @Test
+    public void warmUpBySystemProperty() throws Exception {
+        System.setProperty("net.time4j.tz.repository.cache", "strong");
+        System.setProperty("net.time4j.tz.repository.warmup", "Europe/London, Africa/Casablanca");
+        try {
+            RepositoryRegistry.clear();
+            TimezoneRepositoryProviderSPI repo = new TimezoneRepositoryProviderSPI();
+            repo.warmUp(Arrays.asList("Europe/London", "Africa/Casablanca")).get();
+            assertThat(repo.getCacheMissCount(), is(2L));
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.cache");
+            System.clearProperty("net.time4j.tz.repository.warmup");
+        }
+    }
+
+    @Test
+    public void hotReload() throws Exception {
+        File dir = RepositoryFixture.directory();
+        File oldFile = new File(dir, "tzdata2016h.repository");
+        File newFile = new File(dir, "tzdata2026b.repository");
+        Repository oldRepo = RepositoryFixture.read(new ByteArrayInputStream(Files.readAllBytes(oldFile.toPath())), "old", false);
+        Repository newRepo = RepositoryFixture.read(new ByteArrayInputStream(Files.readAllBytes(newFile.toPath())), "new", false);
+        String unchanged = null;
+        for (String tzid : oldRepo.getPayloads().getZoneIDs()) {
+            if (Arrays.equals(oldRepo.getPayloads().get(tzid), newRepo.getPayloads().get(tzid))) {
+                unchanged = tzid;
+                break;
+            }
+        }
+        assertThat(unchanged, notNullValue());
+        File tmp = Files.createTempDirectory("tzrepo").toFile();
+        File target = new File(tmp, "tzdatahot.repository");
+        Files.copy(oldFile.toPath(), target.toPath());
+        System.setProperty("net.time4j.tz.repository.path", tmp.getAbsolutePath());
+        System.setProperty("net.time4j.tz.repository.watch", "true");
+        System.setProperty("net.time4j.tz.repository.cache", "strong");
+        use("hot");
+        try {
+            TimezoneRepositoryProviderSPI repo = new TimezoneRepositoryProviderSPI();
+            assertThat(repo.getVersion(), is("2016h"));
+            TransitionHistory kept = repo.load(unchanged);
+            TransitionHistory cairo = repo.load("Africa/Cairo");
+            File staging = new File(tmp, "staging.tmp");
+            Files.copy(newFile.toPath(), staging.toPath());
+            Files.move(
+                staging.toPath(),
+                target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+            long deadline = System.currentTimeMillis() + 30000;
+            while (!repo.getVersion().equals(STD_VERSION) && (System.currentTimeMillis() < deadline)) {
+                Thread.sleep(50);
+            }
+            assertThat(repo.getVersion(), is(STD_VERSION));
+            assertThat(new TimezoneRepositoryProviderSPI().getVersion(), is(STD_VERSION));
+            assertThat(repo.getAliases(), is(newRepo.getAliases()));
+            assertThat(repo.load(unchanged) == kept, is(true));
+            assertThat(repo.load("Africa/Cairo"), is(newRepo.load("Africa/Cairo")));
+            assertThat(repo.load("Africa/Cairo").equals(cairo), is(false));
+            RepositoryRegistry.clear(); // closes the watcher
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                assertThat(thread.getName().equals("Time4J-TZ-Repository-Watcher") && thread.isAlive(), is(false));
+            }
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.path");
+            System.clearProperty("net.time4j.tz.repository.watch");
+            System.clearProperty("net.time4j.tz.repository.cache");
+            for (File f : tmp.listFiles()) {
+                f.delete();
+            }
+            tmp.delete();
+        }
+    }
+
+    @Test
+    public void multipleVersionsSideBySide() throws Exception {
+        System.setProperty("net.time4j.tz.repository.storage", "pool");
+        try {
+            checkVersionsSideBySide();
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.storage");
+        }
+    }
+
+    @Test
+    public void ofVersionSharesDefaultRepository() {
+        use(STD_VERSION);
+        TimezoneRepositoryProviderSPI standard = new TimezoneRepositoryProviderSPI();
+        TimezoneRepositoryProviderSPI versioned = TimezoneRepositoryProviderSPI.ofVersion(STD_VERSION);
+        assertThat(versioned.getAvailableIDs() == standard.getAvailableIDs(), is(true));
+        assertThat(versioned.load("Europe/Berlin") == standard.load("Europe/Berlin"), is(true));
+    }
+
+    private static void checkVersionsSideBySide() throws Exception {
+        TimezoneRepositoryProviderSPI v2022a = TimezoneRepositoryProviderSPI.ofVersion("2022a");
+        TimezoneRepositoryProviderSPI v2026b = TimezoneRepositoryProviderSPI.ofVersion(STD_VERSION);
+        assertThat(v2022a.getVersion(), is("2022a"));
+        assertThat(v2026b.getVersion(), is(STD_VERSION));
+        assertThat(TimezoneRepositoryProviderSPI.ofVersion("2022a").getVersion(), is("2022a"));
+        assertThat(new TimezoneRepositoryProviderSPI().getVersion(), is(STD_VERSION));
+        Repository r2022a = RepositoryFixture.read(
+            RepositoryTest.class.getResourceAsStream("/tzrepo/tzdata2022a.repository"), "2022a", false);
+        Repository r2026b = RepositoryFixture.read(
+            RepositoryTest.class.getResourceAsStream("/tzrepo/tzdata2026b.repository"), "2026b", false);
+        int shared = 0;
+        for (String tzid : v2026b.getAvailableIDs()) {
+            TransitionHistory h2026b = v2026b.load(tzid);
+            assertThat(h2026b, is(r2026b.load(tzid)));
+            if (v2022a.getAvailableIDs().contains(tzid)) {
+                TransitionHistory h2022a = v2022a.load(tzid);
+                assertThat(h2022a, is(r2022a.load(tzid)));
+                boolean identical = Arrays.equals(r2022a.getPayloads().get(tzid), r2026b.getPayloads().get(tzid));
+                assertThat(tzid, h2022a == h2026b, is(identical));
+                if (identical) {
+                    shared++;
+                }
+            }
+        }
+        assertThat(shared > 100, is(true));
+    }
+
+    @Test
+    public void deltaRepository() throws Exception {
+        File dir = RepositoryFixture.directory();
+        byte[] base = Files.readAllBytes(new File(dir, "tzdata2016h.repository").toPath());
+        byte[] target = Files.readAllBytes(new File(dir, "tzdata2026b.repository").toPath());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RepositoryDelta.create(new ByteArrayInputStream(base), new ByteArrayInputStream(target), out);
+        byte[] delta = out.toByteArray();
+        assertThat(delta.length < target.length / 2, is(true));
+        Repository expected = RepositoryFixture.read(new ByteArrayInputStream(target), "target", false);
+        for (PayloadStore.Storage storage : PayloadStore.Storage.values()) {
+            Repository patched =
+                RepositoryFixture.patch(
+                    RepositoryFixture.read(new ByteArrayInputStream(base), "base", false),
+                    new ByteArrayInputStream(delta),
+                    "delta",
+                    false,
+                    storage);
+            assertThat(patched.getVersion(), is(STD_VERSION));
+            assertThat(patched.getAliases(), is(expected.getAliases()));
+            assertThat(patched.getLeapSecondTable(), is(expected.getLeapSecondTable()));
+            assertThat(patched.getDateOfExpiration(), is(expected.getDateOfExpiration()));
+            assertThat(patched.getPayloads().getZoneIDs(), is(expected.getPayloads().getZoneIDs()));
+            for (String tzid : expected.getPayloads().getZoneIDs()) {
+                assertThat(patched.load(tzid), is(expected.load(tzid)));
+            }
+        }
+    }
+
+    @Test
+    public void deltaChainByProvider() throws Exception {
+        File dir = RepositoryFixture.directory();
+        File tmp = Files.createTempDirectory("tzrepo").toFile();
+        Files.copy(new File(dir, "tzdata2024b.repository").toPath(), new File(tmp, "tzdata2024b.repository").toPath());
+        String[][] chain = {{"2024b", "2025a"}, {"2025a", "2026b"}};
+        for (String[] step : chain) {
+            try (
+                InputStream base = Files.newInputStream(new File(dir, "tzdata" + step[0] + ".repository").toPath());
+                InputStream target = Files.newInputStream(new File(dir, "tzdata" + step[1] + ".repository").toPath());
+                OutputStream out = Files.newOutputStream(new File(tmp, "tzdata" + step[1] + ".delta").toPath())
+            ) {
+                RepositoryDelta.create(base, target, out);
+            }
+        }
+        ZoneModelProvider expected = new TimezoneRepositoryProviderSPI();
+        System.setProperty("net.time4j.tz.repository.path", tmp.getAbsolutePath());
+        try {
+            ZoneModelProvider patched = new TimezoneRepositoryProviderSPI();
+            assertThat(patched.getVersion(), is(STD_VERSION));
+            assertThat(patched.getLocation().endsWith("tzdata2026b.delta"), is(true));
+            assertThat(patched.getAliases(), is(expected.getAliases()));
+            assertThat(patched.getAvailableIDs(), is(expected.getAvailableIDs()));
+            for (String tzid : expected.getAvailableIDs()) {
+                assertThat(patched.load(tzid), is(expected.load(tzid)));
+            }
+            assertThat(
+                ((LeapSecondProvider) patched).getLeapSecondTable(),
+                is(((LeapSecondProvider) expected).getLeapSecondTable()));
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.path");
+            for (File f : tmp.listFiles()) {
+                f.delete();
+            }
+            tmp.delete();
+        }
+    }
+
+    @Test
+    public void internedHistoriesAndContentHash() {
+        TimezoneRepositoryProviderSPI bundled = RepositoryFixture.bundled();
+        TimezoneRepositoryProviderSPI test = new TimezoneRepositoryProviderSPI();
+        assertThat(bundled.load("Africa/Abidjan") == bundled.load("Etc/GMT"), is(true));
+        assertThat(test.load("Africa/Abidjan") == bundled.load("Etc/GMT"), is(true));
+        assertThat(bundled.load("Europe/Berlin") == bundled.load("Europe/London"), is(false));
+        assertThat(bundled.getContentHash("Africa/Abidjan"), is(bundled.getContentHash("Etc/GMT")));
+        assertThat(bundled.getContentHash("Europe/Berlin").length(), is(64));
+        assertThat(bundled.getContentHash("Europe/Berlin").equals(bundled.getContentHash("Europe/London")), is(false));
+        assertThat(bundled.getContentHash("Unknown/Zone"), nullValue());
+        for (String tzid : test.getAvailableIDs()) {
+            assertThat(tzid, test.getContentHash(tzid), is(bundled.getContentHash(tzid)));
+        }
+        TimezoneRepositoryProviderSPI old = TimezoneRepositoryProviderSPI.ofVersion("2016h");
+        for (String tzid : old.getAvailableIDs()) {
+            if (test.getAvailableIDs().contains(tzid)) {
+                boolean equal = old.load(tzid).equals(test.load(tzid));
+                assertThat(old.getContentHash(tzid).equals(test.getContentHash(tzid)), is(equal));
+                assertThat(old.load(tzid) == test.load(tzid), is(equal));
+            }
+        }
+    }
+
+    @Test
+    public void contentHashIndependentOfFormat() throws Exception {
+        File file = RepositoryFixture.file(STD_VERSION);
+        byte[] v2 = Files.readAllBytes(file.toPath());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RepositoryConverter.convert(new ByteArrayInputStream(v2), out);
+        Repository expected = RepositoryFixture.read(new ByteArrayInputStream(v2), file.getName(), false);
+        Repository actual = RepositoryFixture.read(new ByteArrayInputStream(out.toByteArray()), file.getName(), false);
+        assertThat(expected.getFormat(), is(Repository.FORMAT_V2));
+        assertThat(actual.getFormat(), is(Repository.FORMAT_V3));
+        for (String tzid : Arrays.asList("Europe/Berlin", "America/New_York", "Asia/Kolkata", "Etc/GMT")) {
+            assertThat(tzid, actual.getContentHash(tzid), is(expected.getContentHash(tzid)));
+        }
+    }
+
+    @Test
+    public void registryOutsideOfMap() throws Exception {
+        Repository repository;
+        try (InputStream is = RepositoryTest.class.getResourceAsStream("/tzrepo/tzdata2026b.repository")) {
+            repository = RepositoryFixture.read(is, "registry-test", false);
+        }
+        try {
+            RepositoryRegistry.obtain("registry-failing", () -> { throw new IOException("expected"); });
+            fail("Failing loader not detected.");
+        } catch (IOException ioe) {
+            assertThat(ioe.getMessage(), is("expected"));
+        }
+        assertThat(RepositoryRegistry.obtain("registry-failing", () -> repository).get() == repository, is(true));
+        try {
+            RepositoryRegistry.obtain("registry-recursive", () -> RepositoryRegistry.obtain("registry-recursive", () -> repository).get());
+            fail("Recursive loading not detected.");
+        } catch (IOException ioe) {
+            // expected
+        }
+        int[] closed = new int[1];
+        java.util.concurrent.atomic.AtomicReference<Repository> outer = RepositoryRegistry.obtain(
+            "registry-outer",
+            () -> RepositoryRegistry.obtain("registry-inner", () -> repository).get(),
+            ref -> () -> closed[0]++);
+        assertThat(outer.get() == repository, is(true));
+        assertThat(RepositoryRegistry.obtain("registry-outer", () -> null) == outer, is(true));
+        assertThat(closed[0], is(0));
+        RepositoryRegistry.clear();
+        assertThat(closed[0], is(1));
+    }
+
+    @Test
+    public void managementBean() throws Exception {
+        String key = "jmx-test";
+        java.util.concurrent.atomic.AtomicReference<Repository> ref = RepositoryRegistry.obtain(
+            key,
+            () -> {
+                long start = System.nanoTime();
+                try (RepositoryStatistics.CountingInputStream is = new RepositoryStatistics.CountingInputStream(
+                    RepositoryTest.class.getResourceAsStream("/tzrepo/tzdata2026b.repository"))
+                ) {
+                    Repository repository = RepositoryFixture.read(is, "test-location", false);
+                    repository.getStatistics().recordParse(System.nanoTime() - start, is.getCount());
+                    return repository;
+                }
+            });
+        RepositoryMBean bean = RepositoryMBean.register(key, ref);
+        javax.management.ObjectName name = bean.getObjectName();
+        javax.management.MBeanServer server = java.lang.management.ManagementFactory.getPlatformMBeanServer();
+        RepositoryMBean replacing = RepositoryMBean.register(key, ref);
+        try {
+            assertThat(replacing.getObjectName(), is(name));
+            bean.unregister(); // no effect on the replacing bean
+            assertThat(server.isRegistered(name), is(true));
+            assertThat(name.getKeyProperty("location"), is(javax.management.ObjectName.quote(key)));
+            assertThat(name.getKeyProperty("version"), nullValue());
+            ref.get().getStatistics().enableTracking();
+            ref.get().load("Europe/Berlin");
+            ref.get().load("Europe/Berlin");
+            ref.get().load("Asia/Tokyo");
+            assertThat(server.getAttribute(name, "Version"), is((Object) "2026b"));
+            assertThat(server.getAttribute(name, "Location"), is((Object) "test-location"));
+            assertThat(server.getAttribute(name, "ZoneCount"), is((Object) ref.get().getPayloads().getZoneIDs().size()));
+            long size = RepositoryFixture.file(STD_VERSION).length();
+            assertThat(server.getAttribute(name, "BytesRead"), is((Object) size));
+            assertThat(((Long) server.getAttribute(name, "ParseTimeMicros")) > 0, is(true));
+            assertThat(server.getAttribute(name, "DecodeCount"), is((Object) 2L));
+            assertThat(server.getAttribute(name, "CacheHitCount"), is((Object) 1L));
+            long[] histogram = (long[]) server.getAttribute(name, "DecodeLatencyHistogram");
+            assertThat(histogram.length, is(RepositoryStatistics.BUCKETS));
+            assertThat(Arrays.stream(histogram).sum(), is(2L));
+            assertThat(server.getAttribute(name, "LeapSecondCount"), is((Object) 27));
+            assertThat(server.getAttribute(name, "DateOfExpiration"), is((Object) ref.get().getDateOfExpiration().toString()));
+            assertThat(((String[]) server.getAttribute(name, "HotZones"))[0], is("Europe/Berlin=2"));
+            String[] slowest = (String[]) server.getAttribute(name, "SlowestZones");
+            assertThat(slowest.length, is(2));
+            assertThat(
+                Arrays.stream(slowest).map(e -> e.substring(0, e.indexOf('='))).sorted().toArray(),
+                is((Object[]) new String[] {"Asia/Tokyo", "Europe/Berlin"}));
+        } finally {
+            replacing.unregister();
+        }
+        assertThat(server.isRegistered(name), is(false));
+    }
+
+    @Test
+    public void subsetLoading() throws Exception {
+        RepositoryRegistry.clear();
+        use(STD_VERSION);
+        System.setProperty("net.time4j.tz.repository.include", "Europe/, America/New_York,Asia/Kol*");
+        System.setProperty("net.time4j.tz.repository.exclude", "Europe/London");
+        try {
+            TimezoneRepositoryProviderSPI repo = new TimezoneRepositoryProviderSPI();
+            assertThat(repo.getAvailableIDs().contains("Europe/Berlin"), is(true));
+            assertThat(repo.getAvailableIDs().contains("America/New_York"), is(true));
+            assertThat(repo.getAvailableIDs().contains("Asia/Kolkata"), is(true));
+            assertThat(repo.getAvailableIDs().contains("Europe/London"), is(false));
+            assertThat(repo.getAvailableIDs().contains("America/Chicago"), is(false));
+            for (String tzid : repo.getAvailableIDs()) {
+                assertThat(tzid, repo.load(tzid), notNullValue());
+            }
+            assertThat(repo.load("America/Chicago"), nullValue());
+            assertThat(repo.getAliases().get("US/Eastern"), is("America/New_York"));
+            assertThat(repo.getAliases().get("Asia/Calcutta"), is("Asia/Kolkata"));
+            assertThat(repo.getAliases().containsKey("GB"), is(false));
+            assertThat(repo.getAliases().containsKey("US/Central"), is(false));
+            for (String target : repo.getAliases().values()) {
+                assertThat(repo.getAvailableIDs().contains(target), is(true));
+            }
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.include");
+            System.clearProperty("net.time4j.tz.repository.exclude");
+            RepositoryRegistry.clear();
+        }
+        ZoneFilter filter = ZoneFilter.of("Europe/", null);
+        File file = RepositoryFixture.file(STD_VERSION);
+        long[] readBytes = new long[1];
+        InputStream in = new java.io.FilterInputStream(new java.io.FileInputStream(file)) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                readBytes[0] += ((b < 0) ? 0 : 1);
+                return b;
+            }
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                readBytes[0] += Math.max(0, n);
+                return n;
+            }
+        };
+        Repository europe;
+        try {
+            europe = RepositoryFixture.read(in, "test", false, PayloadStore.Storage.ARENA, filter);
+        } finally {
+            in.close();
+        }
+        assertThat(readBytes[0] < file.length() / 2, is(true)); // other payloads were skipped
+        Repository mapped = RepositoryFixture.map(file, "test", false, filter);
+        assertThat(europe.getPayloads().getZoneIDs().size() > 30, is(true));
+        assertThat(mapped.getPayloads().getZoneIDs(), is(europe.getPayloads().getZoneIDs()));
+        assertThat(mapped.getAliases(), is(europe.getAliases()));
+        for (String tzid : europe.getPayloads().getZoneIDs()) {
+            assertThat(tzid.startsWith("Europe/"), is(true));
+            assertThat(europe.load(tzid), is(mapped.load(tzid)));
+        }
+    }
+
+    @Test
+    public void sliceRepository() throws Exception {
+        File file = RepositoryFixture.file(STD_VERSION);
+        byte[] source = Files.readAllBytes(file.toPath());
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        RepositoryConverter.convert(new ByteArrayInputStream(source), compressed, true);
+        Repository original = RepositoryFixture.read(new ByteArrayInputStream(source), "original", false);
+
+        for (byte[] input : Arrays.asList(source, compressed.toByteArray())) {
+            for (boolean noLeaps : new boolean[] {false, true}) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                int count =
+                    RepositoryWriter.slice(
+                        new ByteArrayInputStream(input),
+                        out,
+                        tzid -> tzid.startsWith("Europe/"),
+                        noLeaps);
+                assertThat(out.size() < input.length / 2, is(true));
+                Repository sliced = RepositoryFixture.read(new ByteArrayInputStream(out.toByteArray()), "sliced", false);
+                Repository full = RepositoryFixture.read(new ByteArrayInputStream(input), "full", false);
+                assertThat(sliced.getFormat(), is(full.getFormat()));
+                assertThat(sliced.getVersion(), is("2026b"));
+                assertThat(sliced.getPayloads().getZoneIDs().size(), is(count));
+                for (String tzid : original.getPayloads().getZoneIDs()) {
+                    if (tzid.startsWith("Europe/")) {
+                        assertThat(sliced.getPayloads().get(tzid), is(full.getPayloads().get(tzid)));
+                    } else {
+                        assertThat(sliced.getPayloads().getZoneIDs().contains(tzid), is(false));
+                    }
+                }
+                for (Map.Entry<String, String> link : original.getAliases().entrySet()) {
+                    assertThat(
+                        sliced.getAliases().get(link.getKey()),
+                        is(link.getValue().startsWith("Europe/") ? link.getValue() : null));
+                }
+                assertThat(sliced.getAliases().get("GB"), is("Europe/London"));
+                assertThat(sliced.getDateOfExpiration(), is(original.getDateOfExpiration()));
+                if (noLeaps) {
+                    assertThat(sliced.getLeapSecondTable().isEmpty(), is(true));
+                } else {
+                    assertThat(sliced.getLeapSecondTable(), is(original.getLeapSecondTable()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void writeRepository() throws Exception {
+        use(STD_VERSION);
+        RepositoryRegistry.clear();
+        TimezoneRepositoryProviderSPI source = new TimezoneRepositoryProviderSPI();
+        RepositoryWriter writer =
+            RepositoryWriter.from(source, tzid -> tzid.equals("Europe/Berlin") || tzid.startsWith("America/"));
+
+        for (boolean compressed : new boolean[] {false, true}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writer.setCompressed(compressed).write(out);
+            Repository repo = RepositoryFixture.read(new ByteArrayInputStream(out.toByteArray()), "written", false);
+            assertThat(repo.getFormat(), is(compressed ? Repository.FORMAT_V4 : Repository.FORMAT_V3));
+            assertThat(repo.getVersion(), is(source.getVersion()));
+            assertThat(repo.getPayloads().getZoneIDs().contains("Europe/Berlin"), is(true));
+            assertThat(repo.getPayloads().getZoneIDs().contains("Europe/Paris"), is(false));
+            for (String tzid : repo.getPayloads().getZoneIDs()) {
+                assertThat(repo.load(tzid), is(source.load(tzid)));
+            }
+            assertThat(repo.getAliases().get("US/Eastern"), is("America/New_York"));
+            assertThat(repo.getAliases().containsKey("Asia/Calcutta"), is(false));
+            assertThat(repo.getLeapSecondTable(), is(source.getLeapSecondTable()));
+            assertThat(repo.getDateOfExpiration(), is(source.getDateOfExpiration()));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new RepositoryWriter("2099z")
+            .addZone("Etc/Test", source.load("Asia/Kolkata"))
+            .addLink("Test", "Etc/Test")
+            .write(out);
+        Repository repo = RepositoryFixture.read(new ByteArrayInputStream(out.toByteArray()), "written", false);
+        assertThat(repo.getVersion(), is("2099z"));
+        assertThat(repo.load("Etc/Test"), is(source.load("Asia/Kolkata")));
+        assertThat(repo.getAliases(), is(Collections.singletonMap("Test", "Etc/Test")));
+        assertThat(repo.getLeapSecondTable().isEmpty(), is(true));
+
+        try {
+            new RepositoryWriter("2099z").addLink("Test", "Etc/Missing").write(new ByteArrayOutputStream());
+            fail("Missing link target not detected.");
+        } catch (IllegalStateException ise) {
+            // ok
+        }
+    }
+
+    @Test
+    public void asynchronousLoading() throws Exception {
+        RepositoryRegistry.clear();
+        use(STD_VERSION);
+        TimezoneRepositoryProviderSPI repo = TimezoneRepositoryProviderSPI.loadAsync();
+        assertThat(repo.load("Europe/Berlin"), notNullValue()); // blocks until parsed
+        repo.whenReady().get();
+        assertThat(repo.getVersion(), is(STD_VERSION));
+        assertThat(new TimezoneRepositoryProviderSPI().whenReady().isDone(), is(true));
+        File empty = Files.createTempDirectory("tzrepo").toFile();
+        System.setProperty("net.time4j.tz.repository.path", empty.getAbsolutePath());
+        try {
+            TimezoneRepositoryProviderSPI missing = TimezoneRepositoryProviderSPI.loadAsync();
+            try {
+                missing.whenReady().get();
+                fail("Missing repository not detected.");
+            } catch (java.util.concurrent.ExecutionException ee) {
+                assertThat(ee.getCause() instanceof IllegalStateException, is(true));
+                assertThat(ee.getCause().getCause() instanceof java.io.FileNotFoundException, is(true));
+            }
+            try {
+                missing.getAvailableIDs();
+                fail("Missing repository not detected.");
+            } catch (IllegalStateException ise) {
+                // expected
+            }
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.path");
+            empty.delete();
+        }
+        TZDATA.initAsync().get();
+    }
+
+    @Test
+    public void asynchronousLoadingWithCallerSettings() throws Exception {
+        RepositoryRegistry.clear();
+        use(STD_VERSION);
+        System.setProperty("net.time4j.tz.repository.include", "Europe/");
+        try {
+            TimezoneRepositoryProviderSPI repo = TimezoneRepositoryProviderSPI.loadAsync();
+            use("9999z"); // changes after the call must not have any effect
+            System.clearProperty("net.time4j.tz.repository.include");
+            repo.whenReady().get();
+            assertThat(repo.getVersion(), is(STD_VERSION));
+            assertThat(repo.getAvailableIDs().contains("Europe/Berlin"), is(true));
+            assertThat(repo.getAvailableIDs().contains("America/New_York"), is(false));
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.include");
+            System.clearProperty("net.time4j.tz.repository.version");
+            RepositoryRegistry.clear();
+        }
+    }
+
+    @Test
+    public void leapSecondIndex() {
+        use(STD_VERSION);
+        TimezoneRepositoryProviderSPI repo = new TimezoneRepositoryProviderSPI();
+        LeapSecondIndex index = repo.getLeapSecondIndex();
+        assertThat(index.size(), is(repo.getLeapSecondTable().size()));
+        assertThat(repo.getLeapSecondIndex() == index, is(true));
+        long y1972 = PlainDate.of(1972, 1, 1).atStartOfDay().atUTC().getPosixTime();
+        long y2017 = PlainDate.of(2017, 1, 1).atStartOfDay().atUTC().getPosixTime();
+        assertThat(index.getTaiUtcOffset(y1972), is(10));
+        assertThat(index.getTaiUtcOffset(y2017 - 1), is(36));
+        assertThat(index.getTaiUtcOffset(y2017), is(37));
+        assertThat(index.isLeapSecondDay(PlainDate.of(2016, 12, 31).get(EpochDays.UNIX)), is(true));
+        assertThat(index.isLeapSecondDay(PlainDate.of(2016, 12, 30).get(EpochDays.UNIX)), is(false));
+        assertThat(index.isLeapSecond(index.toTAI(y2017 - 1) + 1), is(true));
+        assertThat(index.toPosix(index.toTAI(y2017 - 1) + 1), is(y2017 - 1));
+        assertThat(index.toTAI(y2017), is(index.toTAI(y2017 - 1) + 2));
+        Long delta = null;
+        for (long t = y1972 - 86400; t < y2017 + 86400 * 365; t += 3607) {
+            long tai = index.toTAI(t);
+            assertThat(index.toPosix(tai), is(t));
+            assertThat(index.isLeapSecond(tai), is(false));
+            long elapsed = Moment.of(t, TimeScale.POSIX).getElapsedTime(TimeScale.TAI);
+            if (delta == null) {
+                delta = elapsed - tai;
+            }
+            assertThat(elapsed - tai, is(delta.longValue()));
+        }
+        Map<GregorianDate, Integer> table = new java.util.HashMap<>();
+        table.put(PlainDate.of(1972, 6, 30), 1);
+        table.put(PlainDate.of(2030, 12, 31), -1);
+        LeapSecondIndex negative = LeapSecondIndex.of(table);
+        long y2031 = PlainDate.of(2031, 1, 1).atStartOfDay().atUTC().getPosixTime();
+        assertThat(negative.getLeapSecondCount(y2031 - 2), is(1));
+        assertThat(negative.getLeapSecondCount(y2031), is(0));
+        assertThat(negative.toTAI(y2031), is(negative.toTAI(y2031 - 2) + 1));
+        assertThat(negative.toPosix(negative.toTAI(y2031)), is(y2031));
+        assertThat(negative.isLeapSecond(negative.toTAI(y2031) - 1), is(false));
+    }
+
+    @Test
+    public void convertAllToCompactFormat() throws Exception {
+        File dir = RepositoryFixture.directory();
+        File[] files = dir.listFiles((d, name) -> name.endsWith(".repository"));
+        assertThat(files.length > 40, is(true));
+        for (File file : files) {
+            byte[] v2 = Files.readAllBytes(file.toPath());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            RepositoryConverter.convert(new ByteArrayInputStream(v2), out);
+            byte[] v3 = out.toByteArray();
+            Repository expected = RepositoryFixture.read(new ByteArrayInputStream(v2), file.getName(), false);
+            Repository actual = RepositoryFixture.read(new ByteArrayInputStream(v3), file.getName(), false);
+            assertThat(expected.getFormat(), is(Repository.FORMAT_V2));
+            assertThat(actual.getFormat(), is(Repository.FORMAT_V3));
+            assertThat(actual.getVersion(), is(expected.getVersion()));
+            assertThat(actual.getAliases(), is(expected.getAliases()));
+            assertThat(actual.getLeapSecondTable(), is(expected.getLeapSecondTable()));
+            assertThat(actual.getDateOfExpiration(), is(expected.getDateOfExpiration()));
+            assertThat(actual.getPayloads().getZoneIDs(), is(expected.getPayloads().getZoneIDs()));
+            for (String tzid : expected.getPayloads().getZoneIDs()) {
+                assertThat(file.getName() + "/" + tzid, actual.load(tzid), is(expected.load(tzid)));
+            }
+            ByteArrayOutputStream again = new ByteArrayOutputStream();
+            RepositoryConverter.convert(new ByteArrayInputStream(v3), again);
+            assertThat(Arrays.equals(again.toByteArray(), v3), is(true));
+        }
+    }
+
+    @Test
+    public void convertBundledWithoutSerializationFallback() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream is = RepositoryTest.class.getResourceAsStream("/tzrepo/tzdata.repository")) {
+            RepositoryConverter.convert(is, out);
+        }
+        Repository v3 = RepositoryFixture.read(new ByteArrayInputStream(out.toByteArray()), "bundled", false);
+        assertThat(v3.getFormat(), is(Repository.FORMAT_V3));
+        assertThat(v3.getPayloads().getZoneIDs().size() > 300, is(true));
+        for (String tzid : v3.getPayloads().getZoneIDs()) {
+            assertThat(tzid, CompactHistoryCodec.isFallback(v3.getPayloads().get(tzid)), is(false));
+        }
+    }
+
+    @Test
+    public void convertToCompressedFormat() throws Exception {
+        File dir = RepositoryFixture.directory();
+        for (String version : Arrays.asList("2012c", "2016h", "2026b")) {
+            byte[] v2 = Files.readAllBytes(new File(dir, "tzdata" + version + ".repository").toPath());
+            ByteArrayOutputStream out3 = new ByteArrayOutputStream();
+            RepositoryConverter.convert(new ByteArrayInputStream(v2), out3, false);
+            ByteArrayOutputStream out4 = new ByteArrayOutputStream();
+            RepositoryConverter.convert(new ByteArrayInputStream(v2), out4, true);
+            byte[] v4 = out4.toByteArray();
+            assertThat(v4.length < out3.size() * 2 / 3, is(true));
+            ByteArrayOutputStream back = new ByteArrayOutputStream();
+            RepositoryConverter.convert(new ByteArrayInputStream(v4), back);
+            assertThat(Arrays.equals(back.toByteArray(), out3.toByteArray()), is(true));
+            Repository expected = RepositoryFixture.read(new ByteArrayInputStream(v2), version, false);
+            File tmp = File.createTempFile("tzdata", ".repository");
+            try {
+                Files.write(tmp.toPath(), v4);
+                List<Repository> actuals = new ArrayList<>();
+                for (PayloadStore.Storage storage : PayloadStore.Storage.values()) {
+                    actuals.add(RepositoryFixture.read(new ByteArrayInputStream(v4), version, false, storage));
+                }
+                actuals.add(RepositoryFixture.map(tmp, version, false));
+                for (Repository actual : actuals) {
+                    assertThat(actual.getFormat(), is(Repository.FORMAT_V4));
+                    assertThat(actual.getVersion(), is(expected.getVersion()));
+                    assertThat(actual.getAliases(), is(expected.getAliases()));
+                    assertThat(actual.getLeapSecondTable(), is(expected.getLeapSecondTable()));
+                    assertThat(actual.getPayloads().getZoneIDs(), is(expected.getPayloads().getZoneIDs()));
+                    for (String tzid : expected.getPayloads().getZoneIDs()) {
+                        assertThat(version + "/" + tzid, actual.load(tzid), is(expected.load(tzid)));
+                    }
+                }
+            } finally {
+                tmp.delete();
+            }
+        }
+    }
+
+    @Test
+    public void bundledRepository() {
+        ZoneModelProvider bundled = RepositoryFixture.bundled();
+        ZoneModelProvider test = new TimezoneRepositoryProviderSPI();
+        assertThat(bundled.getVersion(), is(STD_VERSION));
+        assertThat(bundled.getAliases(), is(test.getAliases()));
+        assertThat(bundled.getAvailableIDs(), is(test.getAvailableIDs()));
+        for (String tzid : test.getAvailableIDs()) {
+            assertThat(bundled.load(tzid), is(test.load(tzid)));
+        }
+    }
+
     @Test
     public void leapSecondAtEndOf2016() {
         use("2018f");
@@ -0,0 +1,64 @@
+package net.time4j.tz.repo;
+
+import net.time4j.PlainTimestamp;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static net.time4j.tz.repo.RepositoryFixture.STD_VERSION;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+
+@RunWith(JUnit4.class)
+public class ZoneCandidateIndexTest {
+
+    @Test
+    public void reverseZoneLookup() throws Exception {
+        Repository repo = RepositoryFixture.read(STD_VERSION);
+        ZoneCandidateIndex index = repo.getCandidateIndex();
+        assertThat(repo.getCandidateIndex(), is(index));
+        assertThat(index.getZoneCount(), is(repo.getPayloads().getZoneIDs().size()));
+
+        long winter = PlainTimestamp.of(2026, 1, 15, 12, 0).atUTC().getPosixTime();
+        long summer = PlainTimestamp.of(2026, 7, 15, 12, 0).atUTC().getPosixTime();
+        long early = PlainTimestamp.of(1850, 7, 15, 12, 0).atUTC().getPosixTime();
+        List<String> kolkata = index.findZones(summer, 19800);
+        assertThat(kolkata.contains("Asia/Kolkata"), is(true));
+        assertThat(kolkata.contains("Europe/Berlin"), is(false));
+
+        List<String> cet =
+            index.findZones(new long[] {winter, summer}, new int[] {3600, 7200}, new int[] {0, 1});
+        assertThat(cet.contains("Europe/Berlin"), is(true));
+        assertThat(cet.contains("Europe/Paris"), is(true));
+        assertThat(cet.contains("Africa/Lagos"), is(false));
+        assertThat(cet.contains("Europe/London"), is(false));
+
+        for (long t : new long[] {early, winter, summer}) {
+            for (int offset : new int[] {-18000, 0, 3600, 19800, 34200}) {
+                List<String> expected = new ArrayList<>();
+                for (String tzid : new TreeSet<>(repo.getPayloads().getZoneIDs())) {
+                    if (repo.getOffsetIndex(tzid).getTotalOffset(t) == offset) {
+                        expected.add(tzid);
+                    }
+                }
+                assertThat(index.findZones(t, offset), is(expected));
+            }
+        }
+
+        assertThat(index.findZones(summer, 12345).isEmpty(), is(true));
+
+        try {
+            index.findZones(new long[] {summer}, new int[0], null);
+            fail("Inconsistent observations not detected.");
+        } catch (IllegalArgumentException iae) {
+            // ok
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package net.time4j.tz.repo;
+
+import net.time4j.Moment;
+import net.time4j.PlainDate;
+import net.time4j.scale.TimeScale;
+import net.time4j.tz.TransitionHistory;
+import net.time4j.tz.ZonalTransition;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+@RunWith(JUnit4.class)
+public class ZoneOffsetIndexTest {
+
+    @Test
+    public void offsetIndexMatchesHistory() {
+        TimezoneRepositoryProviderSPI repo = RepositoryFixture.provider();
+        long min = PlainDate.of(1800, 1, 1).atStartOfDay().atUTC().getPosixTime();
+        long max = PlainDate.of(2300, 1, 1).atStartOfDay().atUTC().getPosixTime();
+        java.util.Random random = new java.util.Random(4711);
+        for (String tzid : repo.getAvailableIDs()) {
+            ZoneOffsetIndex index = repo.getOffsetIndex(tzid);
+            TransitionHistory history = repo.load(tzid);
+            assertThat(repo.getOffsetIndex(tzid) == index, is(true));
+            List<Long> probes = new ArrayList<>();
+            for (int i = 0; i < index.size(); i++) {
+                long t = index.getInstant(i);
+                probes.add(t - 1);
+                probes.add(t);
+                probes.add(t + 1);
+            }
+            for (int i = 0; i < 200; i++) {
+                probes.add(min + (long) (random.nextDouble() * (max - min)));
+            }
+            for (long t : probes) {
+                ZonalTransition zt = history.getStartTransition(Moment.of(t, TimeScale.POSIX));
+                int total = ((zt == null) ? history.getInitialOffset().getIntegralAmount() : zt.getTotalOffset());
+                int dst = ((zt == null) ? 0 : zt.getDaylightSavingOffset());
+                assertThat(tzid + "@" + t, index.getTotalOffset(t), is(total));
+                assertThat(tzid + "@" + t, index.getDaylightSavingOffset(t), is(dst));
+                assertThat(tzid + "@" + t, index.getStandardOffset(t), is(total - dst));
+            }
+        }
+        assertThat(repo.getOffsetIndex("Europe/Berlin").covers(max), is(false));
+        assertThat(repo.getOffsetIndex("Unknown/Zone"), nullValue());
+    }
+
+    @Test
+    public void batchOffsetConversion() {
+        TimezoneRepositoryProviderSPI repo = RepositoryFixture.provider();
+        long min = PlainDate.of(1850, 1, 1).atStartOfDay().atUTC().getPosixTime();
+        long max = PlainDate.of(2250, 1, 1).atStartOfDay().atUTC().getPosixTime();
+        java.util.Random random = new java.util.Random(815);
+        for (String tzid : Arrays.asList("Europe/Berlin", "America/New_York", "Australia/Lord_Howe", "Asia/Kolkata")) {
+            ZoneOffsetIndex index = repo.getOffsetIndex(tzid);
+            for (int n : new int[] {1000, 100000}) {
+                long[] times = new long[n];
+                for (int i = 0; i < n; i++) {
+                    times[i] = min + (long) (random.nextDouble() * (max - min));
+                }
+                for (int pass = 0; pass < 2; pass++) {
+                    if (pass == 1) {
+                        Arrays.sort(times);
+                    }
+                    int[] offsets = new int[n];
+                    repo.getTotalOffsets(tzid, times, offsets);
+                    long[] local = times.clone();
+                    repo.toLocalTimes(tzid, local);
+                    for (int i = 0; i < n; i++) {
+                        int expected = index.getTotalOffset(times[i]);
+                        assertThat(tzid + "@" + times[i], offsets[i], is(expected));
+                        assertThat(tzid + "@" + times[i], local[i], is(times[i] + expected));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void batchOffsetConversionOfUnknownZone() {
+        RepositoryFixture.provider().getTotalOffsets("Unknown/Zone", new long[1], new int[1]);
+    }
+
+}
@@ -0,0 +1,99 @@
+package net.time4j.tz.repo;
+
+import net.time4j.Moment;
+import net.time4j.PlainDate;
+import net.time4j.PlainTimestamp;
+import net.time4j.scale.TimeScale;
+import net.time4j.tz.ZonalTransition;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static net.time4j.tz.repo.RepositoryFixture.STD_VERSION;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+
+@RunWith(JUnit4.class)
+public class ZoneSummaryTableTest {
+
+    @Test
+    public void zoneSummaries() throws Exception {
+        Repository repo = RepositoryFixture.read(STD_VERSION);
+        long start = PlainTimestamp.of(2026, 1, 15, 12, 0).atUTC().getPosixTime();
+        ZoneSummaryTable table = repo.getZoneSummaries(start);
+        assertThat(repo.getZoneSummaries(start + 86400 * 100), is(table));
+        assertThat(table.getValidFrom(), is(PlainDate.of(2026, 1, 15).atStartOfDay().atUTC().getPosixTime()));
+        assertThat(table.size(), is(repo.getPayloads().getZoneIDs().size()));
+
+        int berlin = table.indexOf("Europe/Berlin");
+        int kolkata = table.indexOf("Asia/Kolkata");
+        assertThat(table.getZoneID(berlin), is("Europe/Berlin"));
+        assertThat(table.indexOf("US/Eastern"), is(-1));
+        assertThat(table.observesDaylightSaving(berlin), is(true));
+        assertThat(table.observesDaylightSaving(kolkata), is(false));
+        assertThat(table.getStandardOffset(kolkata, start), is(19800));
+        assertThat(
+            table.getNextTransition(berlin, start),
+            is(PlainTimestamp.of(2026, 3, 29, 1, 0).atUTC().getPosixTime()));
+        assertThat(table.getNextTransition(table.indexOf("Etc/GMT+5"), start), is(Long.MAX_VALUE));
+
+        int[] offsets = new int[table.size()];
+        long end = table.getValidUntil() - 1;
+        for (long t = start; t <= end; t += 86400L * 7 + 3613) {
+            table.getTotalOffsets(t, offsets);
+            for (int i = 0; i < table.size(); i++) {
+                ZoneOffsetIndex index = repo.getOffsetIndex(table.getZoneID(i));
+                assertThat(offsets[i], is(index.getTotalOffset(t)));
+                assertThat(table.getDaylightSavingOffset(i, t), is(index.getDaylightSavingOffset(t)));
+                assertThat(table.getStandardOffset(i, t), is(index.getStandardOffset(t)));
+                ZonalTransition next =
+                    index.getHistory().findNextTransition(Moment.of(t, TimeScale.POSIX)).orElse(null);
+                assertThat(table.getNextTransition(i, t), is((next == null) ? Long.MAX_VALUE : next.getPosixTime()));
+            }
+        }
+
+        try {
+            table.getTotalOffset(berlin, table.getValidUntil());
+            fail("Posix time beyond period not detected.");
+        } catch (IllegalArgumentException iae) {
+            // ok
+        }
+        ZoneSummaryTable later = repo.getZoneSummaries(table.getValidUntil());
+        assertThat(later.getValidFrom(), is(table.getValidUntil()));
+    }
+
+    @Test
+    public void zoneSummariesBuiltOnce() throws Exception {
+        Repository repo = RepositoryFixture.read(STD_VERSION);
+        long now = PlainTimestamp.of(2026, 6, 1, 0, 0).atUTC().getPosixTime();
+        int n = 8;
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(n);
+        try {
+            List<Future<ZoneSummaryTable>> futures = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                futures.add(executor.submit(() -> {
+                    latch.await();
+                    return repo.getZoneSummaries(now);
+                }));
+            }
+            latch.countDown();
+            ZoneSummaryTable table = futures.get(0).get();
+            for (Future<ZoneSummaryTable> future : futures) {
+                assertThat(future.get() == table, is(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package net.time4j.tz.repo;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+
+@RunWith(JUnit4.class)
+public class FlightRecorderTest {
+
+    static {
+        TZDATA.init();
+    }
+
+    @Before
+    public void setUp() {
+        System.setProperty("net.time4j.tz.repository.version", "2026b");
+        System.setProperty("test.environment", "true");
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty("net.time4j.tz.repository.version");
+    }
+
+    @Test
+    public void flightRecorderEvents() throws Exception {
+        RepositoryRegistry.clear();
+        System.setProperty("net.time4j.tz.repository.cache", "strong");
+        File dump = File.createTempFile("tzrepo", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("net.time4j.tz.RepositoryParse");
+            recording.enable("net.time4j.tz.ZoneLoad");
+            recording.start();
+            TimezoneRepositoryProviderSPI repo = new TimezoneRepositoryProviderSPI();
+            repo.load("Europe/Berlin");
+            repo.load("Europe/Berlin");
+            recording.stop();
+            recording.dump(dump.toPath());
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump.toPath());
+            int parses = 0;
+            List<Boolean> hits = new ArrayList<>();
+            for (RecordedEvent event : events) {
+                String type = event.getEventType().getName();
+                if (type.equals("net.time4j.tz.RepositoryParse")) {
+                    assertThat(event.getString("version"), is("2026b"));
+                    assertThat(event.getInt("zoneCount") > 300, is(true));
+                    assertThat(event.getLong("bytes") > 0, is(true));
+                    parses++;
+                } else if (type.equals("net.time4j.tz.ZoneLoad") && event.getString("zoneID").equals("Europe/Berlin")) {
+                    boolean hit = event.getBoolean("cacheHit");
+                    assertThat(event.getInt("payloadSize") > 0, is(!hit));
+                    hits.add(hit);
+                }
+            }
+            assertThat(parses, is(1));
+            assertThat(hits.size(), is(2));
+            assertThat(hits.contains(Boolean.FALSE) && hits.contains(Boolean.TRUE), is(true));
+        } finally {
+            System.clearProperty("net.time4j.tz.repository.cache");
+            RepositoryRegistry.clear();
+            dump.delete();
+        }
+    }
+
+}